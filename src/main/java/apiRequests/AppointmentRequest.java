@@ -1,5 +1,11 @@
 package apiRequests;
 
+import java.util.Map;
+
+/**
+ * Body of {@code POST /Appointment/AddAppointment}, written by
+ * {@link rest.PayloadWriter}.
+ */
 public class AppointmentRequest {
 
 	private int appointmentId;
@@ -20,6 +26,53 @@ public class AppointmentRequest {
 	private String cancelledRemarks;
 	private int departmentId;
 
+	/**
+	 * @param data - Field name to value, e.g. a row of the
+	 *             {@code AddAppointmentData} sheet or a fixture object. Keys use
+	 *             the API's names ({@code FirstName}, {@code Age}, ...).
+	 * @return AppointmentRequest - The request with the given fields set.
+	 */
+	public static AppointmentRequest fromData(Map<String, ?> data) {
+		AppointmentRequest request = new AppointmentRequest();
+		request.setFirstName(text(data, "FirstName"));
+		request.setLastName(text(data, "LastName"));
+		request.setMiddleName(text(data, "MiddleName"));
+		request.setGender(text(data, "Gender"));
+		request.setAge(number(data, "Age"));
+		request.setContactNumber(text(data, "ContactNumber"));
+		request.setAppointmentDate(text(data, "AppointmentDate"));
+		request.setAppointmentTime(text(data, "AppointmentTime"));
+		request.setPerformerName(text(data, "PerformerName"));
+		request.setAppointmentType(text(data, "AppointmentType"));
+		request.setDepartmentId(number(data, "DepartmentId"));
+		return request;
+	}
+
+	/**
+	 * @return AppointmentRequest - A new request with the same field values.
+	 */
+	public AppointmentRequest copy() {
+		AppointmentRequest copy = new AppointmentRequest();
+		copy.appointmentId = appointmentId;
+		copy.patientId = patientId;
+		copy.firstName = firstName;
+		copy.lastName = lastName;
+		copy.middleName = middleName;
+		copy.fullName = fullName;
+		copy.gender = gender;
+		copy.age = age;
+		copy.contactNumber = contactNumber;
+		copy.appointmentDate = appointmentDate;
+		copy.appointmentTime = appointmentTime;
+		copy.performerId = performerId;
+		copy.performerName = performerName;
+		copy.appointmentType = appointmentType;
+		copy.appointmentStatus = appointmentStatus;
+		copy.cancelledRemarks = cancelledRemarks;
+		copy.departmentId = departmentId;
+		return copy;
+	}
+
 	public String getFirstName() {
 		return firstName;
 	}
@@ -156,4 +209,19 @@ public class AppointmentRequest {
 		this.departmentId = departmentId;
 	}
 
+	private static String text(Map<String, ?> data, String key) {
+		Object value = data.get(key);
+		return value == null ? null : value.toString();
+	}
+
+	// Excel cells may hold whole numbers as "60" or "60.0"
+	private static int number(Map<String, ?> data, String key) {
+		Object value = data.get(key);
+		if (value instanceof Number) {
+			return ((Number) value).intValue();
+		}
+		String text = value == null ? "" : value.toString().trim();
+		return text.isEmpty() ? 0 : (int) Double.parseDouble(text);
+	}
+
 }
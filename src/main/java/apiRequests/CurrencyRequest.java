@@ -0,0 +1,47 @@
+package apiRequests;
+
+/**
+ * Body of a currency added under the inventory settings (see
+ * {@code testData/addCurrency.json}), written by {@link rest.PayloadWriter}.
+ * Fields left null are not sent.
+ */
+public class CurrencyRequest {
+
+	private String currencyCode;
+	private String description;
+	private Integer createdBy;
+	private Boolean isActive;
+
+	public String getCurrencyCode() {
+		return currencyCode;
+	}
+
+	public void setCurrencyCode(String currencyCode) {
+		this.currencyCode = currencyCode;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public void setDescription(String description) {
+		this.description = description;
+	}
+
+	public Integer getCreatedBy() {
+		return createdBy;
+	}
+
+	public void setCreatedBy(Integer createdBy) {
+		this.createdBy = createdBy;
+	}
+
+	public Boolean getIsActive() {
+		return isActive;
+	}
+
+	public void setIsActive(Boolean isActive) {
+		this.isActive = isActive;
+	}
+
+}
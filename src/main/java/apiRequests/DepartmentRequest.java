@@ -0,0 +1,91 @@
+package apiRequests;
+
+/**
+ * Body of {@code POST /Settings/Department}, written by
+ * {@link rest.PayloadWriter}. Fields left null are not sent.
+ */
+public class DepartmentRequest {
+
+	private Integer departmentId;
+	private String departmentCode;
+	private String departmentName;
+	private String description;
+	private String noticeText;
+	private String roomNumber;
+	private Boolean isActive;
+	private Boolean isAppointmentApplicable;
+	private Integer createdBy;
+
+	public Integer getDepartmentId() {
+		return departmentId;
+	}
+
+	public void setDepartmentId(Integer departmentId) {
+		this.departmentId = departmentId;
+	}
+
+	public String getDepartmentCode() {
+		return departmentCode;
+	}
+
+	public void setDepartmentCode(String departmentCode) {
+		this.departmentCode = departmentCode;
+	}
+
+	public String getDepartmentName() {
+		return departmentName;
+	}
+
+	public void setDepartmentName(String departmentName) {
+		this.departmentName = departmentName;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public void setDescription(String description) {
+		this.description = description;
+	}
+
+	public String getNoticeText() {
+		return noticeText;
+	}
+
+	public void setNoticeText(String noticeText) {
+		this.noticeText = noticeText;
+	}
+
+	public String getRoomNumber() {
+		return roomNumber;
+	}
+
+	public void setRoomNumber(String roomNumber) {
+		this.roomNumber = roomNumber;
+	}
+
+	public Boolean getIsActive() {
+		return isActive;
+	}
+
+	public void setIsActive(Boolean isActive) {
+		this.isActive = isActive;
+	}
+
+	public Boolean getIsAppointmentApplicable() {
+		return isAppointmentApplicable;
+	}
+
+	public void setIsAppointmentApplicable(Boolean isAppointmentApplicable) {
+		this.isAppointmentApplicable = isAppointmentApplicable;
+	}
+
+	public Integer getCreatedBy() {
+		return createdBy;
+	}
+
+	public void setCreatedBy(Integer createdBy) {
+		this.createdBy = createdBy;
+	}
+
+}
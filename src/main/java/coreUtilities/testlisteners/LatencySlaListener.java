@@ -0,0 +1,203 @@
+package coreUtilities.testlisteners;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import coreUtilities.testutils.LatencySla;
+import coreUtilities.utils.Log;
+import rest.ResponseCacheFilter;
+import rest.metrics.LatencyRecorder;
+import rest.metrics.LatencyRecorder.Sample;
+
+/**
+ * Evaluates the {@link LatencySla} annotations of test methods.
+ *
+ * @description Captures the API calls made on the test thread while an
+ *              annotated test runs, keeps them across invocations of the same
+ *              method and checks each SLA afterwards. The verdicts are attached
+ *              to the {@link ITestResult} under {@link #VERDICTS_ATTRIBUTE} for
+ *              {@link TestListener} to report, and a breached SLA turns a
+ *              passing result into a failure. Calls the test runs through
+ *              {@code AsyncApiUtil} are captured too; calls it starts on
+ *              threads of its own are not. A test that calls the endpoint once
+ *              needs an {@code invocationCount} of at least the warm-up plus
+ *              the required calls. A warning is logged on the first invocation
+ *              of a test that cannot get there, and of one whose endpoint is
+ *              cached by {@link ResponseCacheFilter}, whose hits are not
+ *              measured.
+ */
+public class LatencySlaListener implements IInvokedMethodListener {
+
+	public static final String VERDICTS_ATTRIBUTE = "latency.sla.verdicts";
+
+	private static final Map<String, List<Sample>> samplesByMethod = new ConcurrentHashMap<>();
+
+	@Override
+	public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+		LatencySla[] slas = method.isTestMethod() ? getSlas(method) : new LatencySla[0];
+		if (slas.length == 0) {
+			return;
+		}
+		ITestNGMethod testMethod = method.getTestMethod();
+		if (!samplesByMethod.containsKey(testMethod.getQualifiedName())) {
+			for (LatencySla sla : slas) {
+				if (testMethod.getInvocationCount() < sla.warmup() + requiredCalls(sla)) {
+					Log.warn("{} needs {} calls to {} for a latency verdict but is invoked {} times; set "
+							+ "invocationCount unless each invocation makes several calls",
+							testMethod.getMethodName(), sla.warmup() + requiredCalls(sla), sla.endpoint(),
+							testMethod.getInvocationCount());
+				}
+				if (ResponseCacheFilter.isCached(splitEndpoint(sla.endpoint())[1])) {
+					Log.warn("Responses of {} are cached (cache.endpoints), so the latency SLA of {} only counts "
+							+ "the calls that miss the cache", sla.endpoint(), testMethod.getMethodName());
+				}
+			}
+		}
+		LatencyRecorder.startCapture();
+	}
+
+	@Override
+	public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+		LatencySla[] slas = method.isTestMethod() ? getSlas(method) : new LatencySla[0];
+		if (slas.length == 0) {
+			return;
+		}
+		List<Sample> history = samplesByMethod.computeIfAbsent(method.getTestMethod().getQualifiedName(),
+				key -> Collections.synchronizedList(new ArrayList<>()));
+		history.addAll(LatencyRecorder.stopCapture());
+
+		List<Verdict> verdicts = new ArrayList<>(slas.length);
+		StringBuilder breaches = new StringBuilder();
+		for (LatencySla sla : slas) {
+			Verdict verdict = evaluate(sla, history);
+			verdicts.add(verdict);
+			if (verdict.isBreached()) {
+				breaches.append(breaches.length() == 0 ? "" : "; ").append(verdict.getMessage());
+			}
+		}
+		testResult.setAttribute(VERDICTS_ATTRIBUTE, verdicts);
+		if (breaches.length() > 0 && testResult.getStatus() == ITestResult.SUCCESS) {
+			testResult.setStatus(ITestResult.FAILURE);
+			testResult.setThrowable(new AssertionError("Latency SLA breached: " + breaches));
+		}
+	}
+
+	/**
+	 * @param result - A finished test result.
+	 * @return List - The SLA verdicts of the result; empty when the test has no
+	 *         SLA.
+	 */
+	@SuppressWarnings("unchecked")
+	public static List<Verdict> getVerdicts(ITestResult result) {
+		Object verdicts = result.getAttribute(VERDICTS_ATTRIBUTE);
+		return verdicts == null ? Collections.<Verdict>emptyList() : (List<Verdict>) verdicts;
+	}
+
+	static Verdict evaluate(LatencySla sla, List<Sample> history) {
+		String[] endpoint = splitEndpoint(sla.endpoint());
+		List<Long> measured = new ArrayList<>();
+		int seen = 0;
+		synchronized (history) {
+			for (Sample sample : history) {
+				if (matches(sample.getTemplate(), endpoint[0], endpoint[1]) && seen++ >= sla.warmup()) {
+					measured.add(sample.getNanos());
+				}
+			}
+		}
+		String target = String.format("%s p%s < %dms", sla.endpoint(), formatPercentile(sla.percentile()),
+				sla.maxMillis());
+		int required = requiredCalls(sla);
+		if (measured.size() < required) {
+			return new Verdict(false, false, String.format("%s: %d of %d calls measured after %d warm-up, not evaluated",
+					target, measured.size(), required, sla.warmup()));
+		}
+		Collections.sort(measured);
+		int rank = (int) Math.ceil(sla.percentile() / 100.0 * measured.size());
+		double actualMillis = measured.get(Math.max(0, Math.min(rank, measured.size()) - 1)) / 1_000_000.0;
+		boolean met = actualMillis < sla.maxMillis();
+		return new Verdict(true, met, String.format("%s: %s at %.1fms over %d calls", target,
+				met ? "met" : "BREACHED", actualMillis, measured.size()));
+	}
+
+	// Measured calls needed for a verdict, after the warm-up
+	static int requiredCalls(LatencySla sla) {
+		return Math.max(sla.calls(), minimumCalls(sla.percentile()));
+	}
+
+	// Fewest calls for which the percentile is not simply the slowest call,
+	// e.g. 20 for p95
+	private static int minimumCalls(double percentile) {
+		return percentile >= 100 ? 1 : (int) Math.ceil(100.0 / (100.0 - percentile) - 1e-9);
+	}
+
+	// "PUT /Settings/Department?x={}" -> { "PUT", "/Settings/Department" }
+	private static String[] splitEndpoint(String endpoint) {
+		String value = endpoint.trim();
+		String method = null;
+		int space = value.indexOf(' ');
+		if (space > 0) {
+			method = value.substring(0, space);
+			value = value.substring(space + 1).trim();
+		}
+		int query = value.indexOf('?');
+		return new String[] { method, query < 0 ? value : value.substring(0, query) };
+	}
+
+	private static boolean matches(String template, String method, String path) {
+		int space = template.indexOf(' ');
+		int query = template.indexOf('?');
+		String templatePath = template.substring(space + 1, query < 0 ? template.length() : query);
+		return templatePath.equals(path) && (method == null || template.substring(0, space).equalsIgnoreCase(method));
+	}
+
+	private static String formatPercentile(double percentile) {
+		return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+	}
+
+	private static LatencySla[] getSlas(IInvokedMethod method) {
+		Method javaMethod = method.getTestMethod().getConstructorOrMethod().getMethod();
+		return javaMethod == null ? new LatencySla[0] : javaMethod.getAnnotationsByType(LatencySla.class);
+	}
+
+	/**
+	 * Outcome of one {@link LatencySla} for one test result.
+	 */
+	public static final class Verdict {
+		private final boolean evaluated;
+		private final boolean met;
+		private final String message;
+
+		Verdict(boolean evaluated, boolean met, String message) {
+			this.evaluated = evaluated;
+			this.met = met;
+			this.message = message;
+		}
+
+		// False while fewer than the required calls were measured
+		public boolean isEvaluated() {
+			return evaluated;
+		}
+
+		public boolean isBreached() {
+			return evaluated && !met;
+		}
+
+		public String getMessage() {
+			return message;
+		}
+
+		@Override
+		public String toString() {
+			return message;
+		}
+	}
+}
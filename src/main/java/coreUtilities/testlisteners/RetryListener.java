@@ -1,16 +0,0 @@
-package coreUtilities.testlisteners;
-
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Method;
-
-import org.testng.IAnnotationTransformer;
-import org.testng.annotations.ITestAnnotation;
-
-import coreUtilities.testutils.RetryAnalyzer;
-
-public class RetryListener implements IAnnotationTransformer {
-	public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
-		annotation.setRetryAnalyzer(RetryAnalyzer.class);
-	}
-
-}
\ No newline at end of file
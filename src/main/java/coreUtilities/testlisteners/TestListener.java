@@ -4,74 +4,210 @@ import static coreUtilities.testutils.TestUtils.businessTestFile;
 import static coreUtilities.testutils.TestUtils.yakshaAssert;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 
 import org.testng.ITestContext;
 import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
 import org.testng.ITestResult;
 
 import com.aventstack.extentreports.ExtentReports;
-import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
 
+import coreUtilities.testutils.ResultPublisher;
+import coreUtilities.utils.BodyLogger;
 import coreUtilities.utils.ExtentReportManager;
+import coreUtilities.utils.Log;
+import rest.BaseRequestSpec;
+import rest.CallGuardFilter;
+import rest.HttpClientPool;
+import rest.HttpRetries;
+import rest.ResponseCacheFilter;
+import rest.metrics.LatencyRecorder;
 
 public class TestListener implements ITestListener {
 
+	private static final long RESULT_FLUSH_TIMEOUT_SECONDS = 60;
+
 	// Extent Report Declarations
 	private static ExtentReports extent = ExtentReportManager.createInstance();
-	private static ThreadLocal<ExtentTest> test = new ThreadLocal<ExtentTest>();
+	// Each worker thread buffers its finished tests; they are written to the
+	// report in onFinish, so finishing tests never wait on each other
+	private static final Queue<List<TestOutcome>> buffers = new ConcurrentLinkedQueue<>();
+	private static final ThreadLocal<List<TestOutcome>> buffer = ThreadLocal.withInitial(() -> {
+		List<TestOutcome> outcomes = new ArrayList<>();
+		buffers.add(outcomes);
+		return outcomes;
+	});
+	private static final ThreadLocal<TestOutcome> test = new ThreadLocal<TestOutcome>();
+	private static final Map<String, Invocations> invocationsByMethod = new ConcurrentHashMap<>();
 
-	public synchronized void onStart(ITestContext context) {
+	public void onStart(ITestContext context) {
 		System.out.println("Extent Reports Version 3 Test Suite started!");
+		// Build the shared base request spec once before the worker threads start
+		BaseRequestSpec.get();
+		CallGuardFilter.startSuite();
 	}
 
-	public synchronized void onFinish(ITestContext context) {
+	public void onFinish(ITestContext context) {
 		System.out.println(("Extent Reports Version 3  Test Suite is ending!"));
+		System.out.println(HttpClientPool.getStats());
+		System.out.println(HttpRetries.getStats());
+		System.out.println(ResponseCacheFilter.getStats());
+		LatencyRecorder.dump();
+		// Send the results still queued by yakshaAssert before the JVM exits
+		if (!ResultPublisher.getInstance().flush(RESULT_FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+			System.out.println("Test results were not all published within " + RESULT_FLUSH_TIMEOUT_SECONDS + "s");
+		}
+		writeBufferedOutcomes();
 		extent.flush();
 	}
 
-	public synchronized void onTestStart(ITestResult result) {
+	public void onTestStart(ITestResult result) {
 		System.out.println((result.getMethod().getMethodName() + " started!"));
-		ExtentTest extentTest = extent.createTest(result.getMethod().getMethodName(),
-				result.getMethod().getDescription());
-		test.set(extentTest);
+		BodyLogger.reset();
+		Log.startTest(result.getMethod().getMethodName());
+		HttpRetries.startCapture();
+		test.set(new TestOutcome(result.getMethod().getMethodName(), result.getMethod().getDescription(),
+				result.getStartMillis()));
 	}
 
-	public synchronized void onTestSuccess(ITestResult result) {
+	public void onTestSuccess(ITestResult result) {
 		System.out.println((result.getMethod().getMethodName() + " passed!"));
-		test.get().pass("Test passed");
-		try {
-			yakshaAssert(result.getMethod().getMethodName(), true, businessTestFile);
-		} catch (IOException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
+		TestOutcome outcome = currentOutcome(result);
+		outcome.log(Status.PASS, "Test passed");
+		reportRetries(outcome);
+		reportLatencySla(outcome, result);
+		finish(outcome, result);
+		publish(result, true);
 	}
 
-	public synchronized void onTestFailure(ITestResult result) {
+	public void onTestFailure(ITestResult result) {
 		System.out.println((result.getMethod().getMethodName() + " failed!"));
 		System.out.println(result.getThrowable().toString());
-		try {
-			yakshaAssert(result.getMethod().getMethodName(), false, businessTestFile);
-		} catch (IOException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
-		test.get().fail(result.getThrowable());
+		// Response bodies are only logged for failed tests
+		BodyLogger.logFailure(result.getMethod().getMethodName());
+		publish(result, false);
+		TestOutcome outcome = currentOutcome(result);
+		outcome.log(Status.FAIL, result.getThrowable());
+		reportRetries(outcome);
+		reportLatencySla(outcome, result);
+		finish(outcome, result);
 	}
 
-	public synchronized void onTestSkipped(ITestResult result) {
+	public void onTestSkipped(ITestResult result) {
 		System.out.println((result.getMethod().getMethodName() + " skipped!"));
+		publish(result, false);
+		TestOutcome outcome = currentOutcome(result);
+		if (result.getThrowable() != null) {
+			outcome.log(Status.SKIP, result.getThrowable());
+		} else {
+			outcome.log(Status.SKIP, "Test skipped");
+		}
+		HttpRetries.stopCapture();
+		finish(outcome, result);
+	}
+
+	// A test repeated with invocationCount, e.g. to measure a latency SLA, is
+	// published once after its last invocation and passes if all of them did
+	private static void publish(ITestResult result, boolean passed) {
+		ITestNGMethod method = result.getMethod();
+		if (method.getInvocationCount() > 1) {
+			Invocations invocations = invocationsByMethod.computeIfAbsent(method.getQualifiedName(),
+					key -> new Invocations());
+			if (!invocations.finish(passed, method.getInvocationCount())) {
+				return;
+			}
+			passed = invocations.allPassed();
+		}
 		try {
-			yakshaAssert(result.getMethod().getMethodName(), false, businessTestFile);
+			yakshaAssert(method.getMethodName(), passed, businessTestFile);
 		} catch (IOException e) {
 			// TODO Auto-generated catch block
 			e.printStackTrace();
 		}
-		test.get().skip(result.getThrowable());
+	}
+
+	// A test that only passed thanks to retries is flagged in the report
+	private void reportRetries(TestOutcome outcome) {
+		HttpRetries.Summary retries = HttpRetries.stopCapture();
+		if (retries.getRetries() > 0) {
+			outcome.log(Status.WARNING, retries.toString());
+		}
+	}
+
+	// Latency SLA verdicts are logged next to the functional result
+	private void reportLatencySla(TestOutcome outcome, ITestResult result) {
+		for (LatencySlaListener.Verdict verdict : LatencySlaListener.getVerdicts(result)) {
+			if (!verdict.isEvaluated()) {
+				outcome.log(Status.WARNING, verdict.getMessage());
+			} else if (verdict.isBreached()) {
+				outcome.log(Status.FAIL, verdict.getMessage());
+			} else {
+				outcome.log(Status.PASS, verdict.getMessage());
+			}
+		}
+	}
+
+	// Tests skipped before they start (e.g. failed dependencies) get no
+	// onTestStart, so their outcome is created here
+	private TestOutcome currentOutcome(ITestResult result) {
+		TestOutcome outcome = test.get();
+		test.remove();
+		return outcome != null ? outcome
+				: new TestOutcome(result.getMethod().getMethodName(), result.getMethod().getDescription(),
+						result.getStartMillis());
+	}
+
+	private void finish(TestOutcome outcome, ITestResult result) {
+		Log.endTest();
+		outcome.end(Math.max(result.getEndMillis(), result.getStartMillis()));
+		List<TestOutcome> outcomes = buffer.get();
+		// Only contended while onFinish drains this thread's buffer
+		synchronized (outcomes) {
+			outcomes.add(outcome);
+		}
+	}
+
+	private static void writeBufferedOutcomes() {
+		List<TestOutcome> outcomes = new ArrayList<>();
+		for (List<TestOutcome> threadOutcomes : buffers) {
+			synchronized (threadOutcomes) {
+				outcomes.addAll(threadOutcomes);
+				threadOutcomes.clear();
+			}
+		}
+		outcomes.sort(Comparator.comparingLong(TestOutcome::getStartMillis));
+		for (TestOutcome outcome : outcomes) {
+			outcome.writeTo(extent);
+		}
 	}
 
 	public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
 		System.out.println(("onTestFailedButWithinSuccessPercentage for " + result.getMethod().getMethodName()));
 	}
 
-}
\ No newline at end of file
+	// Finished invocations of one repeated test method
+	private static final class Invocations {
+		private int finished;
+		private boolean failed;
+
+		// True once the last invocation has finished
+		synchronized boolean finish(boolean passed, int invocationCount) {
+			failed |= !passed;
+			return ++finished == invocationCount;
+		}
+
+		synchronized boolean allPassed() {
+			return !failed;
+		}
+	}
+
+}
@@ -0,0 +1,81 @@
+package coreUtilities.testlisteners;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.model.Log;
+
+/**
+ * Result of one test method, buffered on the worker thread until the report
+ * is written.
+ *
+ * @description Only the thread running the test touches an outcome, so
+ *              recording needs no locking. {@link #writeTo(ExtentReports)}
+ *              replays it into Extent with its original start, end and log
+ *              times.
+ */
+final class TestOutcome {
+
+	private final String name;
+	private final String description;
+	private final long startMillis;
+	private long endMillis;
+	private final List<Entry> entries = new ArrayList<>();
+
+	TestOutcome(String name, String description, long startMillis) {
+		this.name = name;
+		this.description = description;
+		this.startMillis = startMillis;
+		this.endMillis = startMillis;
+	}
+
+	long getStartMillis() {
+		return startMillis;
+	}
+
+	void log(Status status, String message) {
+		entries.add(new Entry(status, message, null));
+	}
+
+	void log(Status status, Throwable throwable) {
+		entries.add(new Entry(status, null, throwable));
+	}
+
+	void end(long endMillis) {
+		this.endMillis = endMillis;
+	}
+
+	void writeTo(ExtentReports extent) {
+		ExtentTest test = extent.createTest(name, description);
+		for (Entry entry : entries) {
+			if (entry.throwable != null) {
+				test.log(entry.status, entry.throwable);
+			} else {
+				test.log(entry.status, entry.message);
+			}
+			Log log = test.getModel().getLogContext().getLast();
+			if (log != null) {
+				log.setTimestamp(new Date(entry.timestamp));
+			}
+		}
+		test.getModel().setStartTime(new Date(startMillis));
+		test.getModel().setEndTime(new Date(endMillis));
+	}
+
+	private static final class Entry {
+		private final Status status;
+		private final String message;
+		private final Throwable throwable;
+		private final long timestamp = System.currentTimeMillis();
+
+		private Entry(Status status, String message, Throwable throwable) {
+			this.status = status;
+			this.message = message;
+			this.throwable = throwable;
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package coreUtilities.testlisteners;
+
+import java.util.Comparator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.IDynamicGraph;
+import org.testng.ISuite;
+import org.testng.ITestNGMethod;
+import org.testng.internal.thread.DefaultThreadPoolExecutorFactory;
+import org.testng.internal.thread.graph.GraphThreadPoolExecutor;
+import org.testng.thread.IExecutorFactory;
+import org.testng.thread.ITestNGThreadPoolExecutor;
+import org.testng.thread.IThreadWorkerFactory;
+
+import rest.ApiExecutors;
+
+/**
+ * TestNG executor factory that runs parallel test methods on virtual threads.
+ *
+ * @description TestNG keeps its own dependency-aware scheduler; this factory
+ *              only swaps the threads it runs on. In virtual-thread mode (see
+ *              {@link ApiExecutors}) each worker of a parallel run is a virtual
+ *              thread, so the suite {@code thread-count} can be raised to the
+ *              hundreds without reserving that many platform threads. With the
+ *              mode off the TestNG default executor is returned unchanged.
+ *              Register it with
+ *              {@code -threadpoolfactoryclass coreUtilities.testlisteners.VirtualThreadExecutorFactory}
+ *              or {@code TestNG.setExecutorFactoryClass(...)}. TestNG has no
+ *              public API for either executor, so this class builds on its
+ *              internal {@code org.testng.internal.thread} classes of TestNG
+ *              7.8; they are only touched once the factory is registered, and
+ *              a TestNG release without them fails the run with a message
+ *              naming the cause instead of a bare linkage error.
+ */
+public class VirtualThreadExecutorFactory implements IExecutorFactory {
+
+	private final IExecutorFactory defaults = TestNGInternals.newDefaultFactory();
+
+	@Override
+	public ITestNGThreadPoolExecutor newSuiteExecutor(String name, IDynamicGraph<ISuite> graph,
+			IThreadWorkerFactory<ISuite> factory, int corePoolSize, int maximumPoolSize, long keepAliveTime,
+			TimeUnit unit, BlockingQueue<Runnable> workQueue, Comparator<ISuite> comparator) {
+		return defaults.newSuiteExecutor(name, graph, factory, corePoolSize, maximumPoolSize, keepAliveTime, unit,
+				workQueue, comparator);
+	}
+
+	@Override
+	public ITestNGThreadPoolExecutor newTestMethodExecutor(String name, IDynamicGraph<ITestNGMethod> graph,
+			IThreadWorkerFactory<ITestNGMethod> factory, int corePoolSize, int maximumPoolSize, long keepAliveTime,
+			TimeUnit unit, BlockingQueue<Runnable> workQueue, Comparator<ITestNGMethod> comparator) {
+		if (!ApiExecutors.isVirtualThreadMode()) {
+			return defaults.newTestMethodExecutor(name, graph, factory, corePoolSize, maximumPoolSize, keepAliveTime,
+					unit, workQueue, comparator);
+		}
+		return TestNGInternals.newVirtualThreadMethodExecutor(name, graph, factory, corePoolSize, maximumPoolSize,
+				keepAliveTime, unit, workQueue, comparator);
+	}
+
+	// The only references to TestNG internals, resolved on first use
+	private static final class TestNGInternals {
+
+		static IExecutorFactory newDefaultFactory() {
+			try {
+				return new DefaultThreadPoolExecutorFactory();
+			} catch (LinkageError e) {
+				throw unsupported(e);
+			}
+		}
+
+		static ITestNGThreadPoolExecutor newVirtualThreadMethodExecutor(String name,
+				IDynamicGraph<ITestNGMethod> graph, IThreadWorkerFactory<ITestNGMethod> factory, int corePoolSize,
+				int maximumPoolSize, long keepAliveTime, TimeUnit unit, BlockingQueue<Runnable> workQueue,
+				Comparator<ITestNGMethod> comparator) {
+			GraphThreadPoolExecutor<ITestNGMethod> executor;
+			try {
+				executor = new GraphThreadPoolExecutor<>(name, graph, factory, corePoolSize, maximumPoolSize,
+						keepAliveTime, unit, workQueue, comparator);
+			} catch (LinkageError e) {
+				throw unsupported(e);
+			}
+			// Workers are only started once TestNG calls run(), so they all pick
+			// up the virtual thread factory
+			executor.setThreadFactory(ApiExecutors.newVirtualThreadFactory("testng-vt-"));
+			return executor;
+		}
+
+		private static IllegalStateException unsupported(LinkageError cause) {
+			return new IllegalStateException("VirtualThreadExecutorFactory needs the org.testng.internal.thread "
+					+ "executors of TestNG 7.8, which this TestNG version does not have (" + cause
+					+ "); remove -threadpoolfactoryclass to run on the TestNG default executor", cause);
+		}
+	}
+}
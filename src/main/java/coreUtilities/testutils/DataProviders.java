@@ -0,0 +1,76 @@
+package coreUtilities.testutils;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.testng.annotations.DataProvider;
+
+import coreUtilities.utils.CloseableIterator;
+import coreUtilities.utils.FileOperations;
+
+/**
+ * TestNG data providers that fan a test method out over the records of a
+ * data file.
+ *
+ * @description The file is named by the method's {@link TestData} annotation.
+ *              Each record is read from disk just before its invocation, so
+ *              only one record is held at a time. The invocations therefore
+ *              run one after another: TestNG reads the whole iterator of a
+ *              {@code parallel} provider before it starts, which would load
+ *              every record up front. Parallel tests come from running test
+ *              classes in parallel instead. TestNG reads the iterator to its
+ *              end, which closes the file; it is also closed when reading a
+ *              record fails.
+ */
+public final class DataProviders {
+
+	public static final String RECORDS = "records";
+
+	private DataProviders() {
+	}
+
+	/**
+	 * @param method - The test method, injected by TestNG.
+	 * @return Iterator - One single-element parameter array per record.
+	 */
+	@DataProvider(name = RECORDS)
+	public static Iterator<Object[]> records(Method method) throws IOException {
+		TestData data = method.getAnnotation(TestData.class);
+		if (data == null) {
+			throw new IllegalStateException(method.getName() + " uses the " + RECORDS
+					+ " data provider without a @TestData annotation");
+		}
+		FileOperations fileOperations = new FileOperations();
+		final CloseableIterator<? extends Map<String, ?>> records;
+		if (data.path().toLowerCase().endsWith(".json")) {
+			records = fileOperations.streamJsonRecords(data.path());
+		} else if (data.sheet().isEmpty()) {
+			throw new IllegalStateException("@TestData of " + method.getName() + " needs a sheet for " + data.path());
+		} else {
+			records = fileOperations.streamExcelRecords(data.path(), data.sheet());
+		}
+		return new Iterator<Object[]>() {
+			@Override
+			public boolean hasNext() {
+				try {
+					return records.hasNext();
+				} catch (RuntimeException e) {
+					records.close();
+					throw e;
+				}
+			}
+
+			@Override
+			public Object[] next() {
+				try {
+					return new Object[] { records.next() };
+				} catch (RuntimeException e) {
+					records.close();
+					throw e;
+				}
+			}
+		};
+	}
+}
@@ -0,0 +1,68 @@
+package coreUtilities.testutils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Latency service level a test method's API calls must meet, checked by
+ * {@link coreUtilities.testlisteners.LatencySlaListener}.
+ *
+ * @description Example: {@code @LatencySla(endpoint = "/Billing/Invoices",
+ *              percentile = 95, maxMillis = 800)}. The calls the test makes to
+ *              the endpoint are timed; the first {@link #warmup()} calls are
+ *              ignored and the {@link #percentile()} of the rest must stay
+ *              below {@link #maxMillis()}. The verdict is only given once at
+ *              least {@link #calls()} measured calls exist, counting every
+ *              invocation of the method, and never on fewer calls than the
+ *              percentile needs to differ from the maximum (20 for p95, 100
+ *              for p99). Until then the SLA is reported as not evaluated, so a
+ *              test is never failed on a single cold sample. A test that calls
+ *              the endpoint once per invocation therefore needs
+ *              {@code invocationCount} of at least {@link #warmup()} plus
+ *              those calls, 22 with the defaults; its result is published once,
+ *              after its last invocation.
+ *              A breach fails a functionally passing test, and every verdict is
+ *              logged in the Extent report next to the test result. The
+ *              annotation can be repeated for tests that call several
+ *              endpoints.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Repeatable(LatencySla.List.class)
+public @interface LatencySla {
+
+	/**
+	 * @return String - Endpoint path such as {@code /Billing/Invoices}, matched
+	 *         against the recorded templates without their query string.
+	 *         Prefix it with a method, e.g. {@code PUT /Settings/Department}, to
+	 *         match one HTTP method only.
+	 */
+	String endpoint();
+
+	double percentile() default 95;
+
+	long maxMillis();
+
+	/**
+	 * @return int - Measured calls, after the warm-up, needed for a verdict.
+	 */
+	int calls() default 20;
+
+	/**
+	 * @return int - Leading calls to the endpoint left out, e.g. the one that
+	 *         opens the connection.
+	 */
+	int warmup() default 2;
+
+	/**
+	 * Container of repeated {@link LatencySla} annotations.
+	 */
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.METHOD)
+	@interface List {
+		LatencySla[] value();
+	}
+}
@@ -0,0 +1,231 @@
+package coreUtilities.testutils;
+
+import java.io.BufferedReader;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import restConfig.ConfigManager;
+
+/**
+ * Publishes test results to the results endpoint from a background thread.
+ *
+ * @description {@link TestUtils#yakshaAssert} only enqueues its result, so
+ *              test threads never wait for the remote round trip. A single
+ *              daemon thread drains the bounded queue and sends everything
+ *              that is waiting as one POST: a single result keeps the original
+ *              payload, several are sent as a JSON array of those payloads.
+ *              When the queue is full, or the endpoint cannot be reached,
+ *              results are appended to a local spool file (one JSON payload per
+ *              line) instead; {@link #flush(long, TimeUnit)} at suite end sends
+ *              what is still queued and retries the spool. Queue size, batch
+ *              size, linger time and spool file are read from
+ *              {@code results.publish.*} in {@code config.properties}.
+ *              Payloads are written straight to the connection or spool file by
+ *              {@link ResultSerializer}.
+ */
+public class ResultPublisher {
+
+	private static final int DEFAULT_QUEUE_CAPACITY = 1000;
+	private static final int DEFAULT_MAX_BATCH = 50;
+	private static final long DEFAULT_LINGER_MILLIS = 200;
+	private static final String DEFAULT_SPOOL_FILE = "./result_spool.jsonl";
+	private static final int CONNECT_TIMEOUT_MILLIS = 5000;
+	private static final int READ_TIMEOUT_MILLIS = 15000;
+
+	private static volatile ResultPublisher instance;
+
+	private final String url;
+	private final BlockingQueue<Object> queue;
+	private final int maxBatch;
+	private final long lingerMillis;
+	private final File spoolFile;
+
+	ResultPublisher(String url, int queueCapacity, int maxBatch, long lingerMillis, File spoolFile) {
+		this.url = url;
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.maxBatch = maxBatch;
+		this.lingerMillis = lingerMillis;
+		this.spoolFile = spoolFile;
+		Thread worker = new Thread(this::drainLoop, "result-publisher");
+		worker.setDaemon(true);
+		worker.start();
+	}
+
+	/**
+	 * @return ResultPublisher - The publisher posting to {@link TestUtils#URL}.
+	 */
+	public static ResultPublisher getInstance() {
+		ResultPublisher current = instance;
+		if (current == null) {
+			synchronized (ResultPublisher.class) {
+				current = instance;
+				if (current == null) {
+					current = new ResultPublisher(TestUtils.URL,
+							ConfigManager.getInt("results.publish.queueCapacity", DEFAULT_QUEUE_CAPACITY),
+							ConfigManager.getInt("results.publish.maxBatch", DEFAULT_MAX_BATCH),
+							ConfigManager.getInt("results.publish.lingerMillis", (int) DEFAULT_LINGER_MILLIS),
+							new File(ConfigManager.getString("results.publish.spoolFile", DEFAULT_SPOOL_FILE)));
+					instance = current;
+				}
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * Queues a result without blocking; spools it when the queue is full.
+	 *
+	 * @param testResults - The result payload.
+	 */
+	public void publish(TestResults testResults) {
+		if (!queue.offer(testResults)) {
+			List<TestResults> overflow = new ArrayList<>(1);
+			overflow.add(testResults);
+			spool(overflow);
+		}
+	}
+
+	/**
+	 * Waits until everything queued before this call has been sent or spooled,
+	 * then tries to resend the spool file.
+	 *
+	 * @param timeout - Maximum time to wait.
+	 * @param unit    - Unit of {@code timeout}.
+	 * @return boolean - False when the timeout elapsed first.
+	 */
+	public boolean flush(long timeout, TimeUnit unit) {
+		FlushMarker marker = new FlushMarker();
+		try {
+			return queue.offer(marker, timeout, unit) && marker.done.await(timeout, unit);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private void drainLoop() {
+		List<Object> batch = new ArrayList<>(maxBatch);
+		while (true) {
+			try {
+				batch.add(queue.take());
+				// Give results finishing at the same time a moment to join the batch
+				if (lingerMillis > 0 && !(batch.get(0) instanceof FlushMarker)) {
+					Thread.sleep(lingerMillis);
+				}
+				queue.drainTo(batch, maxBatch - 1);
+				List<FlushMarker> markers = new ArrayList<>();
+				List<TestResults> results = new ArrayList<>(batch.size());
+				for (Object item : batch) {
+					if (item instanceof FlushMarker) {
+						markers.add((FlushMarker) item);
+					} else {
+						results.add((TestResults) item);
+					}
+				}
+				if (!results.isEmpty() && !post(out -> ResultSerializer.write(results, out))) {
+					spool(results);
+				}
+				for (FlushMarker marker : markers) {
+					resendSpool();
+					marker.done.countDown();
+				}
+			} catch (InterruptedException e) {
+				return;
+			} catch (RuntimeException e) {
+				e.printStackTrace();
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+	private boolean post(Payload payload) {
+		HttpURLConnection conn = null;
+		try {
+			conn = (HttpURLConnection) new URL(url).openConnection();
+			conn.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+			conn.setReadTimeout(READ_TIMEOUT_MILLIS);
+			conn.setDoOutput(true);
+			conn.setRequestMethod("POST");
+			conn.setRequestProperty("Content-Type", "application/json");
+			try (OutputStream os = new BufferedOutputStream(conn.getOutputStream())) {
+				payload.writeTo(os);
+			}
+			try (BufferedReader br = new BufferedReader(
+					new InputStreamReader(conn.getInputStream(), StandardCharsets.UTF_8))) {
+				String output;
+				while ((output = br.readLine()) != null) {
+					System.out.println(output);
+				}
+			}
+			return true;
+		} catch (IOException e) {
+			System.out.println("Result endpoint unreachable, spooling results: " + e.getMessage());
+			return false;
+		} finally {
+			if (conn != null) {
+				conn.disconnect();
+			}
+		}
+	}
+
+	private synchronized void spool(List<TestResults> results) {
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(spoolFile, true))) {
+			for (TestResults result : results) {
+				ResultSerializer.write(result, out);
+				out.write('\n');
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	// Spooled lines are already JSON payloads, so they are resent verbatim
+	private synchronized void resendSpool() {
+		if (!spoolFile.isFile()) {
+			return;
+		}
+		try {
+			List<String> lines = Files.readAllLines(spoolFile.toPath(), StandardCharsets.UTF_8);
+			lines.removeIf(String::isEmpty);
+			if (lines.isEmpty()) {
+				Files.delete(spoolFile.toPath());
+				return;
+			}
+			for (int start = 0; start < lines.size(); start += maxBatch) {
+				List<String> chunk = lines.subList(start, Math.min(lines.size(), start + maxBatch));
+				String payload = chunk.size() == 1 ? chunk.get(0) : "[" + String.join(",", chunk) + "]";
+				if (!post(out -> out.write(payload.getBytes(StandardCharsets.UTF_8)))) {
+					// Keep what could not be sent for the next attempt
+					Files.write(spoolFile.toPath(), lines.subList(start, lines.size()), StandardCharsets.UTF_8);
+					return;
+				}
+			}
+			Files.delete(spoolFile.toPath());
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	private interface Payload {
+		void writeTo(OutputStream out) throws IOException;
+	}
+
+	private static final class FlushMarker {
+		private final CountDownLatch done = new CountDownLatch(1);
+	}
+}
@@ -0,0 +1,170 @@
+package coreUtilities.testutils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Serializes test result payloads for the results endpoint.
+ *
+ * @description The custom data file ({@code ../custom.ih}) is read once and
+ *              only re-read when its modification time or size changes, which
+ *              is checked at most once per second. All JSON goes through one
+ *              shared, thread-safe {@link ObjectWriter} and is written straight
+ *              to the target stream. The nested {@code testCaseResults} JSON
+ *              is embedded as UTF-8 bytes instead of being built as a String
+ *              first.
+ */
+public class ResultSerializer {
+
+	public static final String CUSTOM_DATA_FILE = "../custom.ih";
+
+	private static final long RECHECK_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+	private static final ObjectWriter WRITER = MAPPER.writer();
+	private static final JsonFactory FACTORY = MAPPER.getFactory();
+	private static final ThreadLocal<NestedBuffer> nestedBuffer = ThreadLocal.withInitial(NestedBuffer::new);
+
+	private static volatile CustomData customData;
+
+	private ResultSerializer() {
+	}
+
+	/**
+	 * @return ObjectWriter - The shared writer for any other result JSON.
+	 */
+	public static ObjectWriter writer() {
+		return WRITER;
+	}
+
+	/**
+	 * @return String - The contents of {@link #CUSTOM_DATA_FILE}, one
+	 *         {@code \n} terminated line per file line, or an empty string when
+	 *         the file does not exist.
+	 */
+	public static String getCustomData() {
+		CustomData current = customData;
+		long now = System.nanoTime();
+		if (current != null && now - current.checkedAt < RECHECK_INTERVAL_NANOS) {
+			return current.content;
+		}
+		File file = new File(CUSTOM_DATA_FILE);
+		long lastModified = file.lastModified();
+		long length = file.length();
+		if (current == null || current.lastModified != lastModified || current.length != length) {
+			current = new CustomData(read(file), lastModified, length, now);
+		} else {
+			current = new CustomData(current.content, lastModified, length, now);
+		}
+		customData = current;
+		return current.content;
+	}
+
+	/**
+	 * Writes one result payload, or a JSON array when there are several.
+	 *
+	 * @param results - The payloads to write.
+	 * @param out     - The target stream; it is flushed but not closed.
+	 */
+	public static void write(List<TestResults> results, OutputStream out) throws IOException {
+		try (JsonGenerator generator = FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			if (results.size() == 1) {
+				write(results.get(0), generator);
+			} else {
+				generator.writeStartArray();
+				for (TestResults result : results) {
+					write(result, generator);
+				}
+				generator.writeEndArray();
+			}
+		}
+	}
+
+	/**
+	 * @param result - One payload.
+	 * @param out    - The target stream; it is flushed but not closed.
+	 */
+	public static void write(TestResults result, OutputStream out) throws IOException {
+		try (JsonGenerator generator = FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			write(result, generator);
+		}
+	}
+
+	// Same shape as serializing TestResults with Jackson:
+	// {"testCaseResults":"<escaped JSON>","customData":"..."}
+	private static void write(TestResults result, JsonGenerator generator) throws IOException {
+		generator.writeStartObject();
+		generator.writeFieldName("testCaseResults");
+		Map<String, TestCaseResultDto> caseResults = result.getTestCaseResultMap();
+		if (caseResults != null) {
+			NestedBuffer nested = nestedBuffer.get();
+			nested.reset();
+			WRITER.writeValue(nested, caseResults);
+			generator.writeUTF8String(nested.array(), 0, nested.size());
+		} else if (result.getTestCaseResults() != null) {
+			generator.writeString(result.getTestCaseResults());
+		} else {
+			generator.writeNull();
+		}
+		generator.writeStringField("customData", result.getCustomData());
+		generator.writeEndObject();
+	}
+
+	private static String read(File file) {
+		if (!file.isFile()) {
+			System.out.println("Custom data file not found: " + file.getPath());
+			return "";
+		}
+		try {
+			StringBuilder content = new StringBuilder();
+			for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+				content.append(line).append("\n");
+			}
+			return content.toString();
+		} catch (IOException e) {
+			e.printStackTrace();
+			System.out.println(e.getMessage());
+			return "";
+		}
+	}
+
+	// Hands out its backing array, so the nested JSON is not copied again
+	private static final class NestedBuffer extends ByteArrayOutputStream {
+		private NestedBuffer() {
+			super(512);
+		}
+
+		private byte[] array() {
+			return buf;
+		}
+	}
+
+	private static final class CustomData {
+		private final String content;
+		private final long lastModified;
+		private final long length;
+		private final long checkedAt;
+
+		private CustomData(String content, long lastModified, long length, long checkedAt) {
+			this.content = content;
+			this.lastModified = lastModified;
+			this.length = length;
+			this.checkedAt = checkedAt;
+		}
+	}
+}
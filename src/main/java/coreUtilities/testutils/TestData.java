@@ -0,0 +1,35 @@
+package coreUtilities.testutils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Data file a test method is run against, one invocation per record, through
+ * {@link DataProviders#RECORDS}.
+ *
+ * @description Example: {@code @Test(dataProvider = DataProviders.RECORDS,
+ *              dataProviderClass = DataProviders.class)} together with
+ *              {@code @TestData(path =
+ *              "src/main/resources/testData/appointments.json")}. A JSON file
+ *              holds an array of objects (or a single object); an
+ *              {@code .xlsx} sheet has the column names in its first row. The
+ *              test method takes the record as its only parameter, a
+ *              {@code Map<String, Object>} for JSON and a
+ *              {@code Map<String, String>} for Excel.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface TestData {
+
+	/**
+	 * @return String - Path of the {@code .json} or {@code .xlsx} file.
+	 */
+	String path();
+
+	/**
+	 * @return String - Sheet to read; required for {@code .xlsx} files.
+	 */
+	String sheet() default "";
+}
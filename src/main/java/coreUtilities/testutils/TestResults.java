@@ -1,16 +1,33 @@
 package coreUtilities.testutils;
 
+import java.util.Map;
+
 public class TestResults {
 
 	private String testCaseResults;
 	private String customData;
+	// Set by yakshaAssert; serialized directly by ResultSerializer
+	private Map<String, TestCaseResultDto> testCaseResultMap;
 
 	public String getTestCaseResults() {
+		if (testCaseResults == null && testCaseResultMap != null) {
+			testCaseResults = TestUtils.asJsonString(testCaseResultMap);
+		}
 		return testCaseResults;
 	}
 
 	public void setTestCaseResults(String testCaseResults) {
 		this.testCaseResults = testCaseResults;
+		this.testCaseResultMap = null;
+	}
+
+	Map<String, TestCaseResultDto> getTestCaseResultMap() {
+		return testCaseResults == null ? testCaseResultMap : null;
+	}
+
+	void setTestCaseResultMap(Map<String, TestCaseResultDto> testCaseResultMap) {
+		this.testCaseResultMap = testCaseResultMap;
+		this.testCaseResults = null;
 	}
 
 	public String getCustomData() {
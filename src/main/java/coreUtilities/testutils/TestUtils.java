@@ -1,22 +1,12 @@
 package coreUtilities.testutils;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.Stream;
+import java.util.concurrent.atomic.LongAdder;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 // boiler-plate code
 
@@ -30,9 +20,10 @@ public class TestUtils {
 
 	public static String testResult;
 
-	public static int total;
-	public static int passed;
-	public static int failed;
+	// Updated from every test thread without locking
+	public static final LongAdder total = new LongAdder();
+	public static final LongAdder passed = new LongAdder();
+	public static final LongAdder failed = new LongAdder();
 
 	public static File businessTestFile;
 	public static File boundaryTestFile;
@@ -43,10 +34,6 @@ public class TestUtils {
 	public static String customData;
 	public static final String URL = "https://yaksha-prod-sbfn.azurewebsites.net/api/YakshaMFAEnqueue?code=jSTWTxtQ8kZgQ5FC0oLgoSgZG7UoU9Asnmxgp6hLLvYId/GW9ccoLw==";
 	static {
-		total = 0;
-		passed = 0;
-		failed = 0;
-
 		testResult = "";
 
 		businessTestFile = new File("./output_revised.txt");
@@ -59,24 +46,12 @@ public class TestUtils {
 		exceptionTestFile.delete();
 	}
 
-	private static String readData(String filePath) {
-		StringBuilder contentBuilder = new StringBuilder();
-
-		try (Stream<String> stream = Files.lines(Paths.get(filePath), StandardCharsets.UTF_8)) {
-			stream.forEach(s -> contentBuilder.append(s).append("\n"));
-		} catch (IOException e) {
-			e.printStackTrace();
-			System.out.println(e.getMessage());
-		}
-
-		return contentBuilder.toString();
-	}
-
 	public static void yakshaAssert(String testName, Object result, File file) throws IOException {
 		TestResults testResults = new TestResults();
 		Map<String, TestCaseResultDto> testCaseResults = new HashMap<String, TestCaseResultDto>();
 
-		customData = readData("../custom.ih");
+		// Read once and only re-read when the file changes
+		customData = ResultSerializer.getCustomData();
 		String resultStatus = "Failed";
 		int resultScore = 0;
 		if (result.toString().equals("true")) {
@@ -96,66 +71,32 @@ public class TestUtils {
 			e.printStackTrace();
 			System.out.println(e.getMessage());
 		}
-		testResults.setTestCaseResults(asJsonString(testCaseResults));
+		// Serialized straight into the request body by ResultSerializer
+		testResults.setTestCaseResultMap(testCaseResults);
 		testResults.setCustomData(customData);
 
-		try {
-
-			URL url = new URL(URL);
-			HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-			conn.setDoOutput(true);
-			conn.setRequestMethod("POST");
-			conn.setRequestProperty("Content-Type", "application/json");
-
-//	String input = "{\"qty\":100,\"name\":\"iPad 4\"}";
-			String input = asJsonString(testResults);
-			OutputStream os = conn.getOutputStream();
-			os.write(input.getBytes());
-			os.flush();
-
-			BufferedReader br = new BufferedReader(new InputStreamReader((conn.getInputStream())));
-
-			String output;
-			while ((output = br.readLine()) != null) {
-				System.out.println(output);
-			}
-
-			conn.disconnect();
-
-		} catch (MalformedURLException e) {
-
-			e.printStackTrace();
-
-		} catch (IOException e) {
-
-			e.printStackTrace();
-
-		}
-
-		total++;
-		String[] r = testName.split("(?=\\p{Upper})");
-		System.out.print("\n" + BLUE_BOLD_BRIGHT + "=>");
-
-		System.out.print(BLUE_BOLD_BRIGHT + "Test For : ");
-
-		System.out.print(BLUE_BOLD_BRIGHT + testName);
-
-		System.out.print(" : ");
+		// Sent in the background, batched with other results
+		ResultPublisher.getInstance().publish(testResults);
 
+		total.increment();
+		// One println per result so lines of parallel tests do not interleave
+		StringBuilder line = new StringBuilder("\n").append(BLUE_BOLD_BRIGHT).append("=>").append(BLUE_BOLD_BRIGHT)
+				.append("Test For : ").append(BLUE_BOLD_BRIGHT).append(testName).append(" : ");
 		if (result.toString().equals("true")) {
-			System.out.println(GREEN_BOLD_BRIGHT + "PASSED" + TEXT_RESET);
-			passed++;
+			line.append(GREEN_BOLD_BRIGHT).append("PASSED").append(TEXT_RESET);
+			passed.increment();
 		} else {
-			System.out.println(RED_BOLD_BRIGHT + "FAILED" + TEXT_RESET);
-			failed++;
+			line.append(RED_BOLD_BRIGHT).append("FAILED").append(TEXT_RESET);
+			failed.increment();
 		}
+		System.out.println(line);
 	}
 
 	public static void testReport() {
 
-		System.out.print("\n" + BLUE_BOLD_BRIGHT + "TEST CASES EVALUATED : " + total + TEXT_RESET);
-		System.out.print("\n" + GREEN_BOLD_BRIGHT + "PASSED : " + passed + TEXT_RESET);
-		System.out.println("\n" + RED_BOLD_BRIGHT + "FAILED : " + failed + TEXT_RESET);
+		System.out.print("\n" + BLUE_BOLD_BRIGHT + "TEST CASES EVALUATED : " + total.sum() + TEXT_RESET);
+		System.out.print("\n" + GREEN_BOLD_BRIGHT + "PASSED : " + passed.sum() + TEXT_RESET);
+		System.out.println("\n" + RED_BOLD_BRIGHT + "FAILED : " + failed.sum() + TEXT_RESET);
 
 	}
 
@@ -165,10 +106,9 @@ public class TestUtils {
 
 	// convert object into JSON
 	public static String asJsonString(Object obj) {
-		ObjectMapper mapper = new ObjectMapper();
 		String jsonString = "";
 		try {
-			jsonString = mapper.writeValueAsString(obj);
+			jsonString = ResultSerializer.writer().writeValueAsString(obj);
 		} catch (JsonProcessingException e) {
 
 			e.printStackTrace();
@@ -0,0 +1,235 @@
+package coreUtilities.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.ThreadContext;
+
+import io.restassured.response.Response;
+import restConfig.ConfigManager;
+
+/**
+ * Logs API response bodies through {@link Log} without slowing the tests
+ * down.
+ *
+ * @description Bodies are not printed on every call any more. Each response
+ *              is remembered on its test thread (the last
+ *              {@value #REMEMBERED_RESPONSES}), and its body is only written
+ *              when the test fails ({@link #logFailure(String)}) or, at DEBUG
+ *              level, for a sampled share of calls. Bodies are cut to
+ *              {@code log.body.maxBytes} and handed to a background thread, so
+ *              the test thread never formats or writes them. When that
+ *              thread's bounded queue is full the body is dropped and counted
+ *              instead of blocking. The test's logging context (test name,
+ *              thread, endpoint) travels with the body. Limits are read from
+ *              {@code log.body.*} in {@code config.properties}.
+ */
+public class BodyLogger {
+
+	private static final int REMEMBERED_RESPONSES = 3;
+	private static final int DEFAULT_MAX_BYTES = 8192;
+	private static final double DEFAULT_SAMPLE_RATE = 1.0;
+	private static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+	private static final int maxBytes = ConfigManager.getInt("log.body.maxBytes", DEFAULT_MAX_BYTES);
+	private static final double sampleRate = ConfigManager.getDouble("log.body.sampleRate", DEFAULT_SAMPLE_RATE);
+	private static final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(
+			ConfigManager.getInt("log.body.queueCapacity", DEFAULT_QUEUE_CAPACITY));
+	private static final LongAdder dropped = new LongAdder();
+	private static final ThreadLocal<Responses> recent = ThreadLocal.withInitial(Responses::new);
+
+	static {
+		Thread writer = new Thread(BodyLogger::writeLoop, "body-logger");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	private BodyLogger() {
+	}
+
+	/**
+	 * Remembers a response for failure reporting and logs its body at DEBUG
+	 * when sampled.
+	 *
+	 * @param request  - Method and URI of the call, e.g. {@code GET /api/x}.
+	 * @param response - The response.
+	 */
+	public static void record(String request, Response response) {
+		recent.get().add(new Remembered(request, response));
+		if (Log.logger.isDebugEnabled()
+				&& (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+			enqueue(Level.DEBUG, request, response);
+		}
+	}
+
+	/**
+	 * Logs the bodies of the responses remembered on this thread at ERROR and
+	 * forgets them.
+	 *
+	 * @param testName - The failed test.
+	 */
+	public static void logFailure(String testName) {
+		for (Remembered remembered : recent.get().drain()) {
+			enqueue(Level.ERROR, testName + " failed after " + remembered.request, remembered.response);
+		}
+	}
+
+	/**
+	 * Forgets the responses remembered on this thread, e.g. when a new test
+	 * starts.
+	 */
+	public static void reset() {
+		recent.get().drain();
+	}
+
+	/**
+	 * @return Responses - The responses remembered on this thread, to be
+	 *         resumed on another thread with {@link #resumeResponses(Responses)}.
+	 */
+	public static Responses currentResponses() {
+		return recent.get();
+	}
+
+	/**
+	 * Makes the current thread remember its responses for the thread the
+	 * given ones were taken from, so they are logged when that thread's test
+	 * fails.
+	 *
+	 * @param responses - Taken with {@link #currentResponses()}; null gives
+	 *                  this thread a fresh memory.
+	 */
+	public static void resumeResponses(Responses responses) {
+		if (responses == null) {
+			recent.remove();
+		} else {
+			recent.set(responses);
+		}
+	}
+
+	/**
+	 * @return Responses - An empty memory not bound to a thread yet, for
+	 *         {@link #resumeResponses(Responses)}.
+	 */
+	public static Responses newResponses() {
+		return new Responses();
+	}
+
+	/**
+	 * Remembers the given responses on this thread as well, e.g. those of a call
+	 * made ahead for this thread's test.
+	 *
+	 * @param responses - Taken with {@link #newResponses()} or
+	 *                  {@link #currentResponses()}.
+	 */
+	public static void rememberAll(Responses responses) {
+		Responses own = recent.get();
+		if (own != responses) {
+			for (Remembered remembered : responses.snapshot()) {
+				own.add(remembered);
+			}
+		}
+	}
+
+	/**
+	 * @return long - Bodies dropped because the writer queue was full.
+	 */
+	public static long getDropped() {
+		return dropped.sum();
+	}
+
+	// The body is read here, on the thread that owns the response
+	private static void enqueue(Level level, String request, Response response) {
+		byte[] body = response.asByteArray();
+		if (!queue.offer(new Entry(level, request + " -> " + response.getStatusCode(), body,
+				ThreadContext.getImmutableContext()))) {
+			dropped.increment();
+		}
+	}
+
+	private static void writeLoop() {
+		while (true) {
+			try {
+				Entry entry = queue.take();
+				ThreadContext.putAll(entry.context);
+				int length = Math.min(entry.body.length, maxBytes);
+				StringBuilder message = new StringBuilder(entry.header.length() + length + 48).append(entry.header)
+						.append('\n').append(new String(entry.body, 0, length, StandardCharsets.UTF_8));
+				if (length < entry.body.length) {
+					message.append("\n... [truncated, ").append(entry.body.length).append(" bytes in total]");
+				}
+				if (entry.level == Level.DEBUG) {
+					Log.debug(message.toString());
+				} else {
+					Log.error(message.toString());
+				}
+			} catch (InterruptedException e) {
+				return;
+			} catch (RuntimeException e) {
+				e.printStackTrace();
+			} finally {
+				ThreadContext.clearMap();
+			}
+		}
+	}
+
+	/**
+	 * The last responses of one test thread, including those of calls it ran
+	 * on other threads.
+	 */
+	public static final class Responses {
+		private final Deque<Remembered> remembered = new ArrayDeque<>(REMEMBERED_RESPONSES);
+
+		private Responses() {
+		}
+
+		private synchronized void add(Remembered response) {
+			if (remembered.size() == REMEMBERED_RESPONSES) {
+				remembered.removeFirst();
+			}
+			remembered.addLast(response);
+		}
+
+		private synchronized List<Remembered> snapshot() {
+			return new ArrayList<>(remembered);
+		}
+
+		private synchronized List<Remembered> drain() {
+			List<Remembered> responses = new ArrayList<>(remembered);
+			remembered.clear();
+			return responses;
+		}
+	}
+
+	private static final class Remembered {
+		private final String request;
+		private final Response response;
+
+		private Remembered(String request, Response response) {
+			this.request = request;
+			this.response = response;
+		}
+	}
+
+	private static final class Entry {
+		private final Level level;
+		private final String header;
+		private final byte[] body;
+		private final Map<String, String> context;
+
+		private Entry(Level level, String header, byte[] body, Map<String, String> context) {
+			this.level = level;
+			this.header = header;
+			this.body = body;
+			this.context = context;
+		}
+	}
+}
@@ -0,0 +1,20 @@
+package coreUtilities.utils;
+
+import java.util.Iterator;
+
+/**
+ * Iterator over records streamed from an open file.
+ *
+ * @description The file is closed once the last record was read. A caller
+ *              that may stop earlier must close the iterator, best with
+ *              try-with-resources; closing it again, or after the last
+ *              record, does nothing.
+ */
+public interface CloseableIterator<T> extends Iterator<T>, AutoCloseable {
+
+	/**
+	 * Releases the file; {@link #hasNext()} is false afterwards.
+	 */
+	@Override
+	void close();
+}
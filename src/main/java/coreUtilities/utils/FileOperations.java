@@ -2,10 +2,16 @@ package coreUtilities.utils;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.apache.poi.poifs.filesystem.FileMagic;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.Row;
@@ -17,8 +23,15 @@ import org.json.simple.parser.JSONParser;
 
 import com.codoid.products.fillo.Connection;
 import com.codoid.products.fillo.Fillo;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 public class FileOperations {
+	// Sheets already read by readExcelPOI, shared by all instances
+	private static final Map<String, CachedSheet> sheetCache = new ConcurrentHashMap<>();
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
 	public JSONParser jsonParser;
 	public JSONObject jsonObject;
 	public Fillo fillo;
@@ -29,7 +42,9 @@ public class FileOperations {
 	 * This method is useful to read the excel sheet based on the Filename and sheet
 	 * name. It'll return the values for the respective sheet in {@link Map} where
 	 * the first column name as a key and the value as per the value entered in
-	 * second column.
+	 * second column. {@code .xlsx} files are streamed, reading only the requested
+	 * sheet, and each sheet is cached until the file's modification time or size
+	 * changes. The returned map is a copy the caller may modify.
 	 * 
 	 * @param excelFilePath - {@link String} excel sheet location
 	 * @param sheetName     - {@link String} Sheet name to read the excel
@@ -37,6 +52,107 @@ public class FileOperations {
 	 * @throws Exception
 	 */
 	public Map<String, String> readExcelPOI(String excelFilePath, String sheetName) throws Exception {
+		File file = new File(excelFilePath).getAbsoluteFile();
+		String key = file.getPath() + "!" + sheetName;
+		long lastModified = file.lastModified();
+		long length = file.length();
+		CachedSheet cached = sheetCache.get(key);
+		if (cached == null || cached.lastModified != lastModified || cached.length != length) {
+			Map<String, String> values = FileMagic.valueOf(file) == FileMagic.OOXML
+					? XlsxSheetReader.readKeyValues(file, sheetName)
+					: readWorkbook(excelFilePath, sheetName);
+			cached = new CachedSheet(Collections.unmodifiableMap(values), lastModified, length);
+			sheetCache.put(key, cached);
+		}
+		return new HashMap<>(cached.values);
+	}
+
+	/**
+	 * Streams a multi-row sheet, e.g. for a TestNG {@code DataProvider}. The
+	 * first row holds the column names and every following row becomes one
+	 * record. Rows are parsed only as the iterator is advanced, and the file is
+	 * closed after the last one; a caller that stops earlier must close the
+	 * iterator.
+	 * 
+	 * @param excelFilePath - {@link String} .xlsx file location
+	 * @param sheetName     - {@link String} Sheet name to read
+	 * @return {@link CloseableIterator} of column name to cell text maps
+	 * @throws IOException
+	 */
+	public CloseableIterator<Map<String, String>> streamExcelRecords(String excelFilePath, String sheetName)
+			throws IOException {
+		return XlsxSheetReader.readRecords(new File(excelFilePath), sheetName);
+	}
+
+	/**
+	 * Streams the objects of a JSON array file one by one, e.g. for a TestNG
+	 * {@code DataProvider}; a file holding a single object yields one record,
+	 * and the array ends at its first element that is not an object. Each
+	 * object is parsed only as the iterator is advanced, and the file is
+	 * closed after the last one; a caller that stops earlier must close the
+	 * iterator.
+	 * 
+	 * @param jsonFilePath - {@link String} JSON file location
+	 * @return {@link CloseableIterator} of field name to value maps
+	 * @throws IOException
+	 */
+	public CloseableIterator<Map<String, Object>> streamJsonRecords(String jsonFilePath) throws IOException {
+		final JsonParser parser = MAPPER.getFactory().createParser(new File(jsonFilePath));
+		final boolean array;
+		try {
+			array = parser.nextToken() == JsonToken.START_ARRAY;
+		} catch (IOException e) {
+			parser.close();
+			throw e;
+		}
+		return new CloseableIterator<Map<String, Object>>() {
+			// A single object file is already positioned on its object
+			private boolean onObject = !array;
+			private Map<String, Object> next;
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public boolean hasNext() {
+				if (next == null && !parser.isClosed()) {
+					try {
+						JsonToken token = onObject ? parser.currentToken() : parser.nextToken();
+						onObject = false;
+						if (token == JsonToken.START_OBJECT) {
+							next = MAPPER.readValue(parser, Map.class);
+						} else {
+							parser.close();
+						}
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				}
+				return next != null;
+			}
+
+			@Override
+			public Map<String, Object> next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				Map<String, Object> record = next;
+				next = null;
+				return record;
+			}
+
+			@Override
+			public void close() {
+				next = null;
+				try {
+					parser.close();
+				} catch (IOException e) {
+					// Nothing is left to read from it either way
+				}
+			}
+		};
+	}
+
+	// Loads the whole workbook; used for .xls files
+	private Map<String, String> readWorkbook(String excelFilePath, String sheetName) throws Exception {
 		// Create a Map to store key-value pairs from the Excel file
 		Map<String, String> dataMap = new HashMap<>();
 
@@ -78,4 +194,16 @@ public class FileOperations {
 		return dataMap;
 	}
 
+	private static final class CachedSheet {
+		private final Map<String, String> values;
+		private final long lastModified;
+		private final long length;
+
+		private CachedSheet(Map<String, String> values, long lastModified, long length) {
+			this.values = values;
+			this.lastModified = lastModified;
+			this.length = length;
+		}
+	}
+
 }
\ No newline at end of file
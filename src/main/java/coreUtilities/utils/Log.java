@@ -1,149 +1,212 @@
 package coreUtilities.utils;
 
-
-
-
-
 import java.io.File;
-
 import java.lang.reflect.Method;
+import java.util.function.Supplier;
 
- 
-
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
-
 import org.apache.logging.log4j.Logger;
-
+import org.apache.logging.log4j.ThreadContext;
 import org.apache.logging.log4j.core.LoggerContext;
-
+import org.apache.logging.log4j.core.appender.ConsoleAppender;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.apache.logging.log4j.core.config.builder.api.AppenderComponentBuilder;
+import org.apache.logging.log4j.core.config.builder.api.ConfigurationBuilder;
+import org.apache.logging.log4j.core.config.builder.api.ConfigurationBuilderFactory;
+import org.apache.logging.log4j.core.config.builder.impl.BuiltConfiguration;
 import org.testng.ITestContext;
 
- 
-
+import restConfig.ConfigManager;
+
+/**
+ * Test logging on top of Log4j 2.
+ *
+ * @description Logging is configured once per JVM: from
+ *              {@code src/test/Resources/log4j2.xml} (or
+ *              {@code -Dlog4j.configurationFile}) when present, otherwise with
+ *              a console appender (plus {@code log.file} when set) behind a
+ *              non-blocking async appender, at {@code log.level}. Messages are
+ *              passed as parameters or suppliers, so nothing is formatted when
+ *              the level is disabled. {@link #startTest(String)} puts the test
+ *              name and thread in the thread context (MDC), and
+ *              {@link #setEndpoint(String)} the endpoint being called, so lines
+ *              of tests running in parallel stay attributable.
+ */
 public class Log {
 
-    
-
-    public static Logger logger = LogManager.getLogger(Log.class.getName());    
-
- 
-
-    public static void logInitialize() {
-
-        LoggerContext context = (LoggerContext) LogManager.getContext(false);
-
-        File file = new File("src//test//Resources//log4j2.xml");    
-
-        context.setConfigLocation(file.toURI());
-
-    }
-
- 
-
-    public static void startTestSuite(ITestContext testContext) {
-
-        logInitialize();
-
-        logger.info("\n");
-
-        logger.info("-------------------------------------------------------------------------------");
-
-        logger.info(" TEST SUITE : " + testContext.getCurrentXmlTest().getSuite().getName());
-
-        logger.info("-------------------------------------------------------------------------------");
-
-    }
-
- 
-
-    public static void endTestSuite() {
-
-        logger.info("\n");
-
-        logger.info("-------------------------------- TEST SUITE END --------------------------------");
-
-    }
-
- 
-
-    public static void startTestCase(Method method) {
-
-        logger.info("\n");
-
-        logger.info("------------------------------------------------");
-
-        logger.info(" TEST CASE : " + method.getName());
-
-        logger.info("------------------------------------------------");
-
-    }
-
- 
-
-    public static void endTestCase() {
-
-        logger.info("\n");
-
-        logger.info("------------------------------------------------");
-
-    }
-
- 
-
-    public static void info(String message) {
-
-        logger.info("> INFO: " + message);
-
-    }
-
- 
-
-    public static void warn(String message) {
-
-        logger.warn("> WARN: " + message);
-
-    }
-
- 
-
-    public static void error(String message) {
-
-        logger.error("> ERROR: " + message);
-
-    }
-
- 
-
-    public static void fatal(String message) {
-
-        logger.fatal("> FATAL: " + message);
-
-    }
-
- 
-
-    public static void debug(String message) {
-
-        logger.debug("> DEBUG: " + message);
-
-    }
-
- 
-
-    public static void expected(String message) {
-
-        logger.info("> EXPECTED RESULT : " + message);
-
-    }
-
- 
-
-    public static void actual(String message) {
-
-        logger.info("> ACTUAL RESULT : " + message);
-
-    }
-
- 
-
+	public static final String MDC_TEST = "test";
+	public static final String MDC_ENDPOINT = "endpoint";
+	public static final String MDC_THREAD = "thread";
+
+	private static final String CONFIG_FILE = "src//test//Resources//log4j2.xml";
+	private static final String DEFAULT_LEVEL = "info";
+	private static final int DEFAULT_ASYNC_BUFFER_SIZE = 1024;
+	// The MDC thread is the test thread, also for lines written by helper threads
+	private static final String PATTERN = "%d{HH:mm:ss.SSS} %-5level [%equals{%X{thread}}{}{%t}]%notEmpty{ %X{test}}"
+			+ "%notEmpty{ %X{endpoint}} - %msg%n";
+
+	public static Logger logger = LogManager.getLogger(Log.class.getName());
+
+	static {
+		configure();
+	}
+
+	/**
+	 * Kept for existing callers: the configuration is applied once, when this
+	 * class is loaded, and is not reloaded per suite any more.
+	 */
+	public static void logInitialize() {
+	}
+
+	private static void configure() {
+		if (System.getProperty("log4j.configurationFile") != null) {
+			return;
+		}
+		File file = new File(CONFIG_FILE);
+		if (file.isFile()) {
+			((LoggerContext) LogManager.getContext(false)).setConfigLocation(file.toURI());
+			return;
+		}
+		ConfigurationBuilder<BuiltConfiguration> builder = ConfigurationBuilderFactory.newConfigurationBuilder();
+		builder.setConfigurationName("Log");
+		AppenderComponentBuilder async = builder.newAppender("Async", "Async").addAttribute("blocking", false)
+				.addAttribute("bufferSize", ConfigManager.getInt("log.async.bufferSize", DEFAULT_ASYNC_BUFFER_SIZE));
+
+		builder.add(builder.newAppender("Console", "Console")
+				.addAttribute("target", ConsoleAppender.Target.SYSTEM_OUT)
+				.add(builder.newLayout("PatternLayout").addAttribute("pattern", PATTERN)));
+		async.addComponent(builder.newAppenderRef("Console"));
+
+		String logFile = ConfigManager.getProperty("log.file");
+		if (logFile != null && !logFile.trim().isEmpty()) {
+			builder.add(builder.newAppender("File", "File").addAttribute("fileName", logFile.trim())
+					.addAttribute("bufferedIO", true)
+					.add(builder.newLayout("PatternLayout").addAttribute("pattern", PATTERN)));
+			async.addComponent(builder.newAppenderRef("File"));
+		}
+		builder.add(async);
+
+		String level = ConfigManager.getProperty("log.level");
+		builder.add(builder.newRootLogger(Level.toLevel(level == null ? DEFAULT_LEVEL : level.trim(), Level.INFO))
+				.add(builder.newAppenderRef("Async")));
+		Configurator.reconfigure(builder.build());
+	}
+
+	public static void startTestSuite(ITestContext testContext) {
+		logger.info("\n");
+		logger.info("-------------------------------------------------------------------------------");
+		logger.info(" TEST SUITE : {}", testContext.getCurrentXmlTest().getSuite().getName());
+		logger.info("-------------------------------------------------------------------------------");
+	}
+
+	public static void endTestSuite() {
+		logger.info("\n");
+		logger.info("-------------------------------- TEST SUITE END --------------------------------");
+	}
+
+	public static void startTestCase(Method method) {
+		logger.info("\n");
+		logger.info("------------------------------------------------");
+		logger.info(" TEST CASE : {}", method.getName());
+		logger.info("------------------------------------------------");
+	}
+
+	public static void endTestCase() {
+		logger.info("\n");
+		logger.info("------------------------------------------------");
+	}
+
+	/**
+	 * Tags the lines logged on this thread with the test and thread name until
+	 * {@link #endTest()}.
+	 *
+	 * @param testName - The test starting on this thread.
+	 */
+	public static void startTest(String testName) {
+		ThreadContext.put(MDC_TEST, testName);
+		ThreadContext.put(MDC_THREAD, Thread.currentThread().getName());
+		ThreadContext.remove(MDC_ENDPOINT);
+	}
+
+	/**
+	 * @param endpoint - The endpoint this thread is calling, e.g.
+	 *                 {@code GET /api/Patient/SearchRegisteredPatient}.
+	 */
+	public static void setEndpoint(String endpoint) {
+		ThreadContext.put(MDC_ENDPOINT, endpoint);
+	}
+
+	/**
+	 * Clears the test, thread and endpoint tags of this thread.
+	 */
+	public static void endTest() {
+		ThreadContext.remove(MDC_TEST);
+		ThreadContext.remove(MDC_THREAD);
+		ThreadContext.remove(MDC_ENDPOINT);
+	}
+
+	public static void info(String message) {
+		logger.info("> INFO: {}", message);
+	}
+
+	public static void info(String format, Object... params) {
+		if (logger.isInfoEnabled()) {
+			logger.info("> INFO: " + format, params);
+		}
+	}
+
+	public static void info(Supplier<String> message) {
+		if (logger.isInfoEnabled()) {
+			logger.info("> INFO: {}", message.get());
+		}
+	}
+
+	public static void warn(String message) {
+		logger.warn("> WARN: {}", message);
+	}
+
+	public static void warn(String format, Object... params) {
+		if (logger.isWarnEnabled()) {
+			logger.warn("> WARN: " + format, params);
+		}
+	}
+
+	public static void error(String message) {
+		logger.error("> ERROR: {}", message);
+	}
+
+	public static void error(String format, Object... params) {
+		if (logger.isErrorEnabled()) {
+			logger.error("> ERROR: " + format, params);
+		}
+	}
+
+	public static void fatal(String message) {
+		logger.fatal("> FATAL: {}", message);
+	}
+
+	public static void debug(String message) {
+		logger.debug("> DEBUG: {}", message);
+	}
+
+	public static void debug(String format, Object... params) {
+		if (logger.isDebugEnabled()) {
+			logger.debug("> DEBUG: " + format, params);
+		}
+	}
+
+	public static void debug(Supplier<String> message) {
+		if (logger.isDebugEnabled()) {
+			logger.debug("> DEBUG: {}", message.get());
+		}
+	}
+
+	public static void expected(String message) {
+		logger.info("> EXPECTED RESULT : {}", message);
+	}
+
+	public static void actual(String message) {
+		logger.info("> ACTUAL RESULT : {}", message);
+	}
 }
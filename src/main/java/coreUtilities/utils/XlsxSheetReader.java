@@ -0,0 +1,294 @@
+package coreUtilities.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStrings;
+
+/**
+ * Streams the rows of one sheet of an {@code .xlsx} file.
+ *
+ * @description Only the shared strings and the XML of the requested sheet are
+ *              read, with a StAX pull parser, instead of building the whole
+ *              workbook in memory; rows are parsed one at a time as they are
+ *              asked for. Cell values are returned as text the way
+ *              {@code setCellType(CellType.STRING)} used to convert them: the
+ *              stored value for numbers, errors and formula results,
+ *              {@code TRUE}/{@code FALSE} for booleans and an empty string for
+ *              blank cells.
+ */
+final class XlsxSheetReader implements CloseableIterator<List<String>> {
+
+	private static final XMLInputFactory XML_INPUT = newXmlInputFactory();
+
+	private final OPCPackage pkg;
+	private final InputStream sheet;
+	private final SharedStrings sharedStrings;
+	private final XMLStreamReader xml;
+	private List<String> next;
+	private boolean closed;
+
+	private XlsxSheetReader(File file, String sheetName) throws IOException {
+		OPCPackage opened = null;
+		InputStream stream = null;
+		try {
+			opened = OPCPackage.open(file, PackageAccess.READ);
+			XSSFReader reader = new XSSFReader(opened);
+			XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+			while (stream == null && sheets.hasNext()) {
+				InputStream candidate = sheets.next();
+				if (sheets.getSheetName().equals(sheetName)) {
+					stream = candidate;
+				} else {
+					candidate.close();
+				}
+			}
+			if (stream == null) {
+				throw new IllegalArgumentException("Sheet " + sheetName + " not found in " + file.getPath());
+			}
+			this.sharedStrings = reader.getSharedStringsTable();
+			this.xml = XML_INPUT.createXMLStreamReader(stream);
+			this.pkg = opened;
+			this.sheet = stream;
+		} catch (IOException | RuntimeException e) {
+			closeQuietly(stream, opened);
+			throw e;
+		} catch (Exception e) {
+			closeQuietly(stream, opened);
+			throw new IOException("Cannot read sheet " + sheetName + " of " + file.getPath(), e);
+		}
+	}
+
+	/**
+	 * @param file      - The {@code .xlsx} file.
+	 * @param sheetName - Sheet to read.
+	 * @return XlsxSheetReader - Iterator over the rows of the sheet, each a list
+	 *         of cell texts by column with null for missing cells. It closes the
+	 *         file once the last row was read.
+	 */
+	static XlsxSheetReader open(File file, String sheetName) throws IOException {
+		return new XlsxSheetReader(file, sheetName);
+	}
+
+	/**
+	 * @param file      - The {@code .xlsx} file.
+	 * @param sheetName - Sheet to read.
+	 * @return Map - First column value to second column value, for every row
+	 *         where both cells exist.
+	 */
+	static Map<String, String> readKeyValues(File file, String sheetName) throws IOException {
+		Map<String, String> values = new HashMap<>();
+		try (XlsxSheetReader rows = open(file, sheetName)) {
+			while (rows.hasNext()) {
+				List<String> row = rows.next();
+				if (row.size() > 1 && row.get(0) != null && row.get(1) != null) {
+					values.put(row.get(0), row.get(1));
+				}
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * @param file      - The {@code .xlsx} file.
+	 * @param sheetName - Sheet to read; its first row holds the column names.
+	 * @return CloseableIterator - One map of column name to cell text per
+	 *         following row, parsed as it is requested. Rows without any cell
+	 *         are skipped.
+	 */
+	static CloseableIterator<Map<String, String>> readRecords(File file, String sheetName) throws IOException {
+		final XlsxSheetReader rows = open(file, sheetName);
+		final List<String> header = rows.hasNext() ? rows.next() : new ArrayList<String>();
+		return new CloseableIterator<Map<String, String>>() {
+			private Map<String, String> next;
+
+			@Override
+			public boolean hasNext() {
+				while (next == null && rows.hasNext()) {
+					List<String> row = rows.next();
+					Map<String, String> record = new LinkedHashMap<>();
+					for (int column = 0; column < row.size() && column < header.size(); column++) {
+						if (header.get(column) != null && row.get(column) != null) {
+							record.put(header.get(column), row.get(column));
+						}
+					}
+					if (!record.isEmpty()) {
+						next = record;
+					}
+				}
+				return next != null;
+			}
+
+			@Override
+			public Map<String, String> next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				Map<String, String> record = next;
+				next = null;
+				return record;
+			}
+
+			@Override
+			public void close() {
+				next = null;
+				rows.close();
+			}
+		};
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (next == null && !closed) {
+			try {
+				next = readRow();
+			} catch (XMLStreamException e) {
+				close();
+				throw new UncheckedIOException(new IOException("Malformed sheet XML", e));
+			}
+			if (next == null) {
+				close();
+			}
+		}
+		return next != null;
+	}
+
+	@Override
+	public List<String> next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		List<String> row = next;
+		next = null;
+		return row;
+	}
+
+	@Override
+	public void close() {
+		if (!closed) {
+			closed = true;
+			try {
+				xml.close();
+			} catch (XMLStreamException e) {
+				// The streams below are closed regardless
+			}
+			closeQuietly(sheet, pkg);
+		}
+	}
+
+	// Reads up to the end of the next <row>; null once the sheet data ends
+	private List<String> readRow() throws XMLStreamException {
+		List<String> row = null;
+		StringBuilder text = new StringBuilder();
+		String type = null;
+		int column = -1;
+		boolean inValue = false;
+		while (xml.hasNext()) {
+			switch (xml.next()) {
+			case XMLStreamConstants.START_ELEMENT:
+				switch (xml.getLocalName()) {
+				case "row":
+					row = new ArrayList<>();
+					break;
+				case "c":
+					// The reference may be omitted for a cell right after the previous one
+					String reference = xml.getAttributeValue(null, "r");
+					column = reference != null ? columnOf(reference) : row.size();
+					type = xml.getAttributeValue(null, "t");
+					text.setLength(0);
+					break;
+				case "v":
+				case "t":
+					// <t> holds the text of an inline string cell
+					inValue = true;
+					break;
+				default:
+					break;
+				}
+				break;
+			case XMLStreamConstants.CHARACTERS:
+			case XMLStreamConstants.CDATA:
+				if (inValue) {
+					text.append(xml.getTextCharacters(), xml.getTextStart(), xml.getTextLength());
+				}
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				switch (xml.getLocalName()) {
+				case "v":
+				case "t":
+					inValue = false;
+					break;
+				case "c":
+					while (row.size() < column) {
+						row.add(null);
+					}
+					row.add(cellText(text.toString(), type));
+					break;
+				case "row":
+					return row;
+				default:
+					break;
+				}
+				break;
+			default:
+				break;
+			}
+		}
+		return null;
+	}
+
+	private String cellText(String raw, String type) {
+		if ("s".equals(type)) {
+			return raw.isEmpty() ? "" : sharedStrings.getItemAt(Integer.parseInt(raw.trim())).getString();
+		}
+		if ("b".equals(type)) {
+			return raw.isEmpty() ? "" : "1".equals(raw.trim()) ? "TRUE" : "FALSE";
+		}
+		return raw;
+	}
+
+	// "B12" -> 1
+	private static int columnOf(String reference) {
+		int column = 0;
+		for (int i = 0; i < reference.length() && Character.isLetter(reference.charAt(i)); i++) {
+			column = column * 26 + (Character.toUpperCase(reference.charAt(i)) - 'A' + 1);
+		}
+		return column - 1;
+	}
+
+	private static void closeQuietly(InputStream stream, OPCPackage opened) {
+		try {
+			if (stream != null) {
+				stream.close();
+			}
+		} catch (IOException e) {
+			// Nothing left to do with a read-only stream
+		}
+		if (opened != null) {
+			opened.revert();
+		}
+	}
+
+	private static XMLInputFactory newXmlInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		return factory;
+	}
+}
@@ -0,0 +1,143 @@
+package rest;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import restConfig.ConfigManager;
+
+/**
+ * Executors used to run API calls and test methods concurrently.
+ *
+ * @description With {@code execution.virtualThreads=true} (in
+ *              {@code config.properties} or as a {@code -D} system property)
+ *              and a JDK 21+ runtime, every task runs on its own virtual
+ *              thread, so hundreds of blocking Rest Assured calls can be in
+ *              flight without sizing a platform thread pool. The project still
+ *              compiles for Java 8, so the JDK 21 API is looked up
+ *              reflectively; on older runtimes, or with the flag off, the
+ *              named platform-thread pools are used as before.
+ */
+public class ApiExecutors {
+
+	public static final String VIRTUAL_THREADS_PROPERTY = "execution.virtualThreads";
+
+	// Thread.Builder is a public interface, while the builder returned by
+	// Thread.ofVirtual() is a JDK internal class, so its methods are resolved on
+	// the interface to stay accessible
+	private static final Class<?> THREAD_BUILDER = findClass("java.lang.Thread$Builder");
+	private static final Method OF_VIRTUAL = findMethod(Thread.class, "ofVirtual");
+	private static final Method BUILDER_NAME = findMethod(THREAD_BUILDER, "name", String.class, long.class);
+	private static final Method BUILDER_FACTORY = findMethod(THREAD_BUILDER, "factory");
+	private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findMethod(Executors.class,
+			"newVirtualThreadPerTaskExecutor");
+
+	private ApiExecutors() {
+	}
+
+	/**
+	 * @return boolean - True when the virtual-thread mode is switched on and
+	 *         the running JDK supports it.
+	 */
+	public static boolean isVirtualThreadMode() {
+		return ConfigManager.getBoolean(VIRTUAL_THREADS_PROPERTY, false) && virtualThreadsSupported();
+	}
+
+	/**
+	 * @return boolean - True when the running JDK has virtual threads (21+).
+	 */
+	public static boolean virtualThreadsSupported() {
+		return OF_VIRTUAL != null && BUILDER_NAME != null && BUILDER_FACTORY != null
+				&& NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+	}
+
+	/**
+	 * @param namePrefix      - Prefix of the worker thread names, e.g.
+	 *                        {@code api-async-}.
+	 * @param platformThreads - Size of the platform-thread pool used when the
+	 *                        virtual-thread mode is off.
+	 * @return ExecutorService - A virtual-thread-per-task executor in
+	 *         virtual-thread mode, otherwise a fixed pool of daemon threads.
+	 */
+	public static ExecutorService newExecutor(String namePrefix, int platformThreads) {
+		if (isVirtualThreadMode()) {
+			return newVirtualThreadExecutor();
+		}
+		return newPlatformThreadExecutor(namePrefix, platformThreads);
+	}
+
+	/**
+	 * @param namePrefix - Prefix of the thread names.
+	 * @param threads    - Number of worker threads.
+	 * @return ExecutorService - A fixed pool of named daemon platform threads.
+	 */
+	public static ExecutorService newPlatformThreadExecutor(String namePrefix, int threads) {
+		return Executors.newFixedThreadPool(threads, newPlatformThreadFactory(namePrefix));
+	}
+
+	/**
+	 * @return ExecutorService - An executor that starts a new virtual thread
+	 *         per task.
+	 * @throws UnsupportedOperationException when the JDK has no virtual
+	 *                                       threads.
+	 */
+	public static ExecutorService newVirtualThreadExecutor() {
+		if (!virtualThreadsSupported()) {
+			throw new UnsupportedOperationException("Virtual threads require JDK 21 or newer");
+		}
+		try {
+			return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Could not create a virtual thread executor", e);
+		}
+	}
+
+	/**
+	 * @param namePrefix - Prefix of the thread names; a counter is appended.
+	 * @return ThreadFactory - A factory of virtual threads.
+	 * @throws UnsupportedOperationException when the JDK has no virtual
+	 *                                       threads.
+	 */
+	public static ThreadFactory newVirtualThreadFactory(String namePrefix) {
+		if (!virtualThreadsSupported()) {
+			throw new UnsupportedOperationException("Virtual threads require JDK 21 or newer");
+		}
+		try {
+			// Thread.ofVirtual().name(namePrefix, 0).factory()
+			Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), namePrefix, 0L);
+			return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Could not create a virtual thread factory", e);
+		}
+	}
+
+	private static ThreadFactory newPlatformThreadFactory(String namePrefix) {
+		AtomicInteger counter = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, namePrefix + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	private static Class<?> findClass(String name) {
+		try {
+			return Class.forName(name);
+		} catch (ClassNotFoundException e) {
+			return null;
+		}
+	}
+
+	private static Method findMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+		if (type == null) {
+			return null;
+		}
+		try {
+			return type.getMethod(name, parameterTypes);
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+}
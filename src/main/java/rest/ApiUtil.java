@@ -1,40 +1,29 @@
 package rest;
 
-import java.util.List;
-import java.util.Map;
-
 import io.restassured.RestAssured;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 
 public class ApiUtil {
 
-	private static final String BASE_URL = "https://healthapp.yaksha.com/api";
-
 	/**
 	 * @Test1 This method creates a new appointment with authorization.
 	 * 
 	 * @param endpoint - The API endpoint to which the request is sent.
-	 * @param body     - A JSON string containing the appointment details.
+	 * @param body     - The appointment details, as a JSON string or as the
+	 *                 bytes written by {@link PayloadWriter}.
 	 * @description This method sends a POST request to the specified endpoint with
 	 *              the authorization header and the provided JSON payload, and
 	 *              returns the response.
 	 * @return CustomResponse - The API response includes HTTP status code, status
 	 *         message, and appointment details (AppointmentId, etc.).
 	 */
-	public CustomResponse createAppointmentWithAuth(String endpoint, String body) {
+	public CustomResponse createAppointmentWithAuth(String endpoint, Object body) {
 		// Send the POST request
-		Response response = RestAssured.given().header("Authorization", AuthUtil.getAuthHeader())
-				.header("Content-Type", "application/json").body(body).post(BASE_URL + endpoint).then().extract()
-				.response();
-
-		// Extract required data from the response
-		int statusCode = response.statusCode();
-		String status = response.jsonPath().getString("Status");
-		Integer appointmentId = response.jsonPath().getInt("Results.AppointmentId");
+		Response response = withBody(RestAssured.given().spec(BaseRequestSpec.get()), body).post(endpoint).then()
+				.extract().response();
 
-		// Return a CustomResponse object
-		return new CustomResponse(response, statusCode, status, appointmentId);
+		return new CustomResponse(response);
 	}
 
 	/**
@@ -52,8 +41,7 @@ public class ApiUtil {
 	 *         the appointment, including status and result details.
 	 */
 	public CustomResponse cancelAppointmentWithAuth(String endpoint, Object body) {
-		RequestSpecification request = RestAssured.given().header("Authorization", AuthUtil.getAuthHeader())
-				.header("Content-Type", "application/json");
+		RequestSpecification request = RestAssured.given().spec(BaseRequestSpec.get());
 
 		// Only add the body if it's not null
 		if (body != null) {
@@ -61,19 +49,9 @@ public class ApiUtil {
 		}
 
 		// Send the PUT request
-		Response response = request.put(BASE_URL + endpoint).then().extract().response();
-
-		System.out.println("URL");
-		System.out.println(BASE_URL + endpoint);
-		System.out.println(response.prettyPrint());
-
-		// Extract the necessary details from the response
-		int statusCode = response.statusCode();
-		String status = response.jsonPath().getString("Status");
-		String resultMessage = response.jsonPath().getString("Results");
+		Response response = request.put(endpoint).then().extract().response();
 
-		// Return a CustomResponse object with the necessary information
-		return new CustomResponse(response, statusCode, status, resultMessage);
+		return new CustomResponse(response);
 	}
 
 	/**
@@ -92,8 +70,7 @@ public class ApiUtil {
 	 *         the list of matching patients in the "Results" field.
 	 */
 	public CustomResponse searchPatientWithAuth(String endpoint, Object body) {
-		RequestSpecification request = RestAssured.given().header("Authorization", AuthUtil.getAuthHeader())
-				.header("Content-Type", "application/json");
+		RequestSpecification request = RestAssured.given().spec(BaseRequestSpec.get());
 
 		// Only add the body if it's not null
 		if (body != null) {
@@ -101,15 +78,9 @@ public class ApiUtil {
 		}
 
 		// Send the GET request
-		Response response = request.get(BASE_URL + endpoint).then().extract().response();
+		Response response = request.get(endpoint).then().extract().response();
 
-		// Extract the necessary details from the response
-		int statusCode = response.statusCode();
-		String status = response.jsonPath().getString("Status");
-		List<Map<String, Object>> results = response.jsonPath().getList("Results");
-
-		// Return a CustomResponse object with the necessary information
-		return new CustomResponse(response, statusCode, status, results);
+		return new CustomResponse(response);
 	}
 
 	/**
@@ -130,8 +101,7 @@ public class ApiUtil {
 	 *         field, each containing appointment and patient details.
 	 */
 	public CustomResponse bookingListWithAuthInRange(String endpoint, Object body) {
-		RequestSpecification request = RestAssured.given().header("Authorization", AuthUtil.getAuthHeader())
-				.header("Content-Type", "application/json");
+		RequestSpecification request = RestAssured.given().spec(BaseRequestSpec.get());
 
 		// Only add the body if it's not null
 		if (body != null) {
@@ -139,15 +109,9 @@ public class ApiUtil {
 		}
 
 		// Send the GET request
-		Response response = request.get(BASE_URL + endpoint).then().extract().response();
-
-		// Extract necessary details from the response
-		int statusCode = response.statusCode();
-		String status = response.jsonPath().getString("Status");
-		List<Map<String, Object>> results = response.jsonPath().getList("Results");
+		Response response = request.get(endpoint).then().extract().response();
 
-		// Return a CustomResponse object with the necessary information
-		return new CustomResponse(response, statusCode, status, results);
+		return new CustomResponse(response);
 	}
 
 	/**
@@ -171,8 +135,7 @@ public class ApiUtil {
 	 *         field.
 	 */
 	public CustomResponse MainStoreDetailsWithAuth(String endpoint, Object body) {
-		RequestSpecification request = RestAssured.given().header("Authorization", AuthUtil.getAuthHeader())
-				.header("Content-Type", "application/json");
+		RequestSpecification request = RestAssured.given().spec(BaseRequestSpec.get());
 
 		// Only add the body if it's not null
 		if (body != null) {
@@ -180,15 +143,9 @@ public class ApiUtil {
 		}
 
 		// Send the GET request
-		Response response = request.get(BASE_URL + endpoint).then().extract().response();
-
-		// Extract necessary details from the response
-		int statusCode = response.statusCode();
-		String status = response.jsonPath().getString("Status");
-		Map<String, Object> results = response.jsonPath().getMap("Results");
+		Response response = request.get(endpoint).then().extract().response();
 
-		// Return a CustomResponse object with the necessary information
-		return new CustomResponse(response, statusCode, status, results);
+		return new CustomResponse(response);
 	}
 
 	/**
@@ -213,8 +170,7 @@ public class ApiUtil {
 	 *         message, and store details within the "Results" field.
 	 */
 	public CustomResponse PharmacyStoresWithAuth(String endpoint, Object body) {
-		RequestSpecification request = RestAssured.given().header("Authorization", AuthUtil.getAuthHeader())
-				.header("Content-Type", "application/json");
+		RequestSpecification request = RestAssured.given().spec(BaseRequestSpec.get());
 
 		// Only add the body if it's not null
 		if (body != null) {
@@ -222,15 +178,9 @@ public class ApiUtil {
 		}
 
 		// Send the GET request
-		Response response = request.get(BASE_URL + endpoint).then().extract().response();
+		Response response = request.get(endpoint).then().extract().response();
 
-		// Extract necessary details from the response
-		int statusCode = response.statusCode();
-		String status = response.jsonPath().getString("Status");
-		List<Map<String, Object>> results = response.jsonPath().getList("Results");
-
-		// Return a CustomResponse object with the necessary information
-		return new CustomResponse(response, statusCode, status, results);
+		return new CustomResponse(response);
 	}
 
 	/**
@@ -255,8 +205,7 @@ public class ApiUtil {
 	 *         "Results" field.
 	 */
 	public CustomResponse ActivatePharmCount(String endpoint, Object body) {
-		RequestSpecification request = RestAssured.given().header("Authorization", AuthUtil.getAuthHeader())
-				.header("Content-Type", "application/json");
+		RequestSpecification request = RestAssured.given().spec(BaseRequestSpec.get());
 
 		// Only add the body if it's not null
 		if (body != null) {
@@ -264,15 +213,9 @@ public class ApiUtil {
 		}
 
 		// Send the PUT request
-		Response response = request.put(BASE_URL + endpoint).then().extract().response();
-
-		// Extract necessary details from the response
-		int statusCode = response.statusCode();
-		String status = response.jsonPath().getString("Status");
-		Map<String, Object> results = response.jsonPath().getMap("Results");
+		Response response = request.put(endpoint).then().extract().response();
 
-		// Return a CustomResponse object with the necessary information
-		return new CustomResponse(response, statusCode, status, results);
+		return new CustomResponse(response);
 	}
 
 	/**
@@ -294,8 +237,7 @@ public class ApiUtil {
 	 *         field.
 	 */
 	public CustomResponse DeactivatePharmCount(String endpoint, Object body) {
-		RequestSpecification request = RestAssured.given().header("Authorization", AuthUtil.getAuthHeader())
-				.header("Content-Type", "application/json");
+		RequestSpecification request = RestAssured.given().spec(BaseRequestSpec.get());
 
 		// Only add the body if it's not null
 		if (body != null) {
@@ -303,15 +245,9 @@ public class ApiUtil {
 		}
 
 		// Send the PUT request
-		Response response = request.put(BASE_URL + endpoint).then().extract().response();
+		Response response = request.put(endpoint).then().extract().response();
 
-		// Extract necessary details from the response
-		int statusCode = response.statusCode();
-		String status = response.jsonPath().getString("Status");
-		Map<String, Object> results = response.jsonPath().getMap("Results");
-
-		// Return a CustomResponse object with the necessary information
-		return new CustomResponse(response, statusCode, status, results);
+		return new CustomResponse(response);
 	}
 
 	/**
@@ -334,8 +270,7 @@ public class ApiUtil {
 	 *         field.
 	 */
 	public CustomResponse AppointApplicDept(String endpoint, Object body) {
-		RequestSpecification request = RestAssured.given().header("Authorization", AuthUtil.getAuthHeader())
-				.header("Content-Type", "application/json");
+		RequestSpecification request = RestAssured.given().spec(BaseRequestSpec.get());
 
 		// Only add the body if it's not null
 		if (body != null) {
@@ -343,15 +278,9 @@ public class ApiUtil {
 		}
 
 		// Send the GET request
-		Response response = request.get(BASE_URL + endpoint).then().extract().response();
-
-		// Extract necessary details from the response
-		int statusCode = response.statusCode();
-		String status = response.jsonPath().getString("Status");
-		List<Map<String, Object>> results = response.jsonPath().getList("Results");
+		Response response = request.get(endpoint).then().extract().response();
 
-		// Return a CustomResponse object with the necessary information
-		return new CustomResponse(response, statusCode, status, results);
+		return new CustomResponse(response);
 	}
 
 	/**
@@ -376,8 +305,7 @@ public class ApiUtil {
 	 *         field.
 	 */
 	public CustomResponse admittedPatientData(String endpoint, Object body) {
-		RequestSpecification request = RestAssured.given().header("Authorization", AuthUtil.getAuthHeader())
-				.header("Content-Type", "application/json");
+		RequestSpecification request = RestAssured.given().spec(BaseRequestSpec.get());
 
 		// Only add the body if it's not null
 		if (body != null) {
@@ -385,15 +313,9 @@ public class ApiUtil {
 		}
 
 		// Send the GET request
-		Response response = request.get(BASE_URL + endpoint).then().extract().response();
-
-		// Extract necessary details from the response
-		int statusCode = response.statusCode();
-		String status = response.jsonPath().getString("Status");
-		List<Map<String, Object>> results = response.jsonPath().getList("Results");
+		Response response = request.get(endpoint).then().extract().response();
 
-		// Return a CustomResponse object with the necessary information
-		return new CustomResponse(response, statusCode, status, results);
+		return new CustomResponse(response);
 	}
 
 	/**
@@ -413,8 +335,7 @@ public class ApiUtil {
 	 *         "Results" field.
 	 */
 	public CustomResponse getProfileDetails(String endpoint, Object body) {
-		RequestSpecification request = RestAssured.given().header("Authorization", AuthUtil.getAuthHeader())
-				.header("Content-Type", "application/json");
+		RequestSpecification request = RestAssured.given().spec(BaseRequestSpec.get());
 
 		// Only add the body if it's not null
 		if (body != null) {
@@ -422,15 +343,9 @@ public class ApiUtil {
 		}
 
 		// Send the GET request
-		Response response = request.get(BASE_URL + endpoint).then().extract().response();
+		Response response = request.get(endpoint).then().extract().response();
 
-		// Extract necessary details from the response
-		int statusCode = response.statusCode();
-		String status = response.jsonPath().getString("Status");
-		Map<String, Object> results = response.jsonPath().getMap("Results");
-
-		// Return a CustomResponse object with the necessary information
-		return new CustomResponse(response, statusCode, status, results);
+		return new CustomResponse(response);
 	}
 
 	/**
@@ -438,9 +353,10 @@ public class ApiUtil {
 	 *         details.
 	 * 
 	 * @param endpoint - The API endpoint to which the request is sent.
-	 * @param body     - A map containing the department details (DepartmentCode,
-	 *                 DepartmentName, etc.).
-	 * @description This method constructs a JSON payload from the given map, sends
+	 * @param body     - The department details (DepartmentCode, DepartmentName,
+	 *                 etc.), as a JSON string, a map or the bytes written by
+	 *                 {@link PayloadWriter}.
+	 * @description This method constructs a JSON payload from the given body, sends
 	 *              a POST request to the specified endpoint with the authorization
 	 *              header, and returns the response.
 	 * @return CustomResponse - The response from the API after attempting to add a
@@ -448,19 +364,11 @@ public class ApiUtil {
 	 */
 	public CustomResponse addDepartment(String endpoint, Object body) {
 		// Send the POST request
-		Response response = RestAssured.given().header("Authorization", AuthUtil.getAuthHeader())
-				.header("Content-Type", "application/json") // Setting content type as JSON
-				.body(body) // Adding the request payload as a JSON string
-				.post(BASE_URL + endpoint) // Sending POST request to the specified endpoint
+		Response response = withBody(RestAssured.given().spec(BaseRequestSpec.get()), body) // Base URI, auth, payload
+				.post(endpoint) // Sending POST request to the specified endpoint
 				.then().extract().response(); // Extracting the response
 
-		// Extract necessary details from the response
-		int statusCode = response.statusCode();
-		String status = response.jsonPath().getString("Status");
-		Map<String, Object> results = response.jsonPath().getMap("Results");
-
-		// Return a CustomResponse object with the necessary information
-		return new CustomResponse(response, statusCode, status, results);
+		return new CustomResponse(response);
 	}
 
 	/**
@@ -481,8 +389,7 @@ public class ApiUtil {
 	 *         status message, and a list of departments in the "Results" field.
 	 */
 	public CustomResponse getDepartmentsList(String endpoint, Object body) {
-		RequestSpecification request = RestAssured.given().header("Authorization", AuthUtil.getAuthHeader())
-				.header("Content-Type", "application/json");
+		RequestSpecification request = RestAssured.given().spec(BaseRequestSpec.get());
 
 		// Only add the body if it's not null
 		if (body != null) {
@@ -490,15 +397,9 @@ public class ApiUtil {
 		}
 
 		// Send the GET request
-		Response response = request.get(BASE_URL + endpoint).then().extract().response();
+		Response response = request.get(endpoint).then().extract().response();
 
-		// Extract necessary details from the response
-		int statusCode = response.statusCode();
-		String status = response.jsonPath().getString("Status");
-		List<Map<String, Object>> results = response.jsonPath().getList("Results");
-
-		// Return a CustomResponse object with the necessary information
-		return new CustomResponse(response, statusCode, status, results);
+		return new CustomResponse(response);
 	}
 
 	/**
@@ -513,8 +414,7 @@ public class ApiUtil {
 	 */
 	public CustomResponse editDepartmentDetails(String endpoint, Object body) {
 
-		RequestSpecification request = RestAssured.given().header("Authorization", AuthUtil.getAuthHeader())
-				.header("Content-Type", "application/json");
+		RequestSpecification request = RestAssured.given().spec(BaseRequestSpec.get());
 
 		// Only add the body if it's not null
 		if (body != null) {
@@ -522,15 +422,9 @@ public class ApiUtil {
 		}
 
 		// Send the PUT request
-		Response response = request.put(BASE_URL + endpoint).then().extract().response();
-
-		// Extract necessary details from the response
-		int statusCode = response.statusCode();
-		String status = response.jsonPath().getString("Status");
-		Map<String, Object> results = response.jsonPath().getMap("Results");
+		Response response = request.put(endpoint).then().extract().response();
 
-		// Return a CustomResponse object with the necessary information
-		return new CustomResponse(response, statusCode, status, results);
+		return new CustomResponse(response);
 	}
 
 	/**
@@ -544,8 +438,7 @@ public class ApiUtil {
 	 *         containing details such as ImagingTypeId and ImagingTypeName.
 	 */
 	public CustomResponse getImagingDataResponse(String endpoint, Object body) {
-		RequestSpecification request = RestAssured.given().header("Authorization", AuthUtil.getAuthHeader())
-				.header("Content-Type", "application/json");
+		RequestSpecification request = RestAssured.given().spec(BaseRequestSpec.get());
 
 		// Only add the body if it's not null
 		if (body != null) {
@@ -553,15 +446,9 @@ public class ApiUtil {
 		}
 
 		// Send the GET request
-		Response response = request.get(BASE_URL + endpoint).then().extract().response();
-
-		// Extract necessary details from the response
-		int statusCode = response.statusCode();
-		String status = response.jsonPath().getString("Status");
-		List<Map<String, Object>> results = response.jsonPath().getList("Results");
+		Response response = request.get(endpoint).then().extract().response();
 
-		// Return a CustomResponse object with the necessary information
-		return new CustomResponse(response, statusCode, status, results);
+		return new CustomResponse(response);
 	}
 
 	/**
@@ -575,8 +462,7 @@ public class ApiUtil {
 	 *         containing details such as EmployeeId, FirstName, and LastName.
 	 */
 	public CustomResponse getsignatoriesDetails(String endpoint, Object body) {
-		RequestSpecification request = RestAssured.given().header("Authorization", AuthUtil.getAuthHeader())
-				.header("Content-Type", "application/json");
+		RequestSpecification request = RestAssured.given().spec(BaseRequestSpec.get());
 
 		// Only add the body if it's not null
 		if (body != null) {
@@ -584,15 +470,14 @@ public class ApiUtil {
 		}
 
 		// Send the GET request
-		Response response = request.get(BASE_URL + endpoint).then().extract().response();
+		Response response = request.get(endpoint).then().extract().response();
 
-		// Extract necessary details from the response
-		int statusCode = response.statusCode();
-		String status = response.jsonPath().getString("Status");
-		List<Map<String, Object>> results = response.jsonPath().getList("Results");
-
-		// Return a CustomResponse object with the necessary information
-		return new CustomResponse(response, statusCode, status, results);
+		return new CustomResponse(response);
 	}
 
+	// Bytes from PayloadWriter are sent as they are; Rest Assured would
+	// serialize a byte[] passed as an Object to a Base64 string
+	private static RequestSpecification withBody(RequestSpecification request, Object body) {
+		return body instanceof byte[] ? request.body((byte[]) body) : request.body(body);
+	}
 }
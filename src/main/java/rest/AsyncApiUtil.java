@@ -0,0 +1,179 @@
+package rest;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import restConfig.ConfigManager;
+
+/**
+ * Non-blocking counterpart of {@link ApiUtil}.
+ *
+ * @description Every method submits the matching {@link ApiUtil} call to a
+ *              shared executor and returns a {@link CompletableFuture}, so
+ *              independent reads can be fired together and joined, e.g.
+ *              {@code CompletableFuture.allOf(a, b, c).join()}. The requests
+ *              still go through Rest Assured, the shared base spec and the
+ *              pooled connections, so the in-flight count is bounded by the
+ *              executor size ({@code async.threads}) and the pool's
+ *              max-per-route. In virtual-thread mode (see {@link ApiExecutors})
+ *              each call gets its own virtual thread and only the pool bounds
+ *              the in-flight count.
+ */
+public class AsyncApiUtil {
+
+	private static final int DEFAULT_THREADS = 16;
+	private static final ExecutorService sharedExecutor = createSharedExecutor();
+
+	private final ApiUtil apiUtil;
+	private final ExecutorService executor;
+
+	public AsyncApiUtil() {
+		this(new ApiUtil(), sharedExecutor);
+	}
+
+	public AsyncApiUtil(ApiUtil apiUtil, ExecutorService executor) {
+		this.apiUtil = apiUtil;
+		this.executor = executor;
+	}
+
+	/**
+	 * Runs any blocking API call on the async executor, with the calling
+	 * thread's account, logging context, retry and latency captures and
+	 * failure bodies (see {@link CallerContext}).
+	 * 
+	 * @param call - The call to run, e.g.
+	 *             {@code () -> apiUtil.getProviderList(endpoint, null)}.
+	 * @return CompletableFuture - Completes with the call's response, or
+	 *         exceptionally with whatever the call threw.
+	 */
+	public <T> CompletableFuture<T> submit(Supplier<T> call) {
+		CallerContext context = CallerContext.capture();
+		return CompletableFuture.supplyAsync(() -> context.call(call), executor);
+	}
+
+	/**
+	 * Starts a call now for a test that runs later, e.g. to fire the
+	 * independent reads of several tests together.
+	 * 
+	 * @param call - The call to run, e.g.
+	 *             {@code () -> apiUtil.getUsersList(endpoint, null)}.
+	 * @return Prefetch - The running call. It uses the calling thread's account
+	 *         but records its retries, latency and failure bodies for the test
+	 *         that calls {@link Prefetch#join()}.
+	 */
+	public <T> Prefetch<T> prefetch(Supplier<T> call) {
+		CallerContext context = CallerContext.detached();
+		return new Prefetch<>(context, CompletableFuture.supplyAsync(() -> context.call(call), executor));
+	}
+
+	public CompletableFuture<CustomResponse> createAppointmentWithAuth(String endpoint, Object body) {
+		return submit(() -> apiUtil.createAppointmentWithAuth(endpoint, body));
+	}
+
+	public CompletableFuture<CustomResponse> cancelAppointmentWithAuth(String endpoint, Object body) {
+		return submit(() -> apiUtil.cancelAppointmentWithAuth(endpoint, body));
+	}
+
+	public CompletableFuture<CustomResponse> searchPatientWithAuth(String endpoint, Object body) {
+		return submit(() -> apiUtil.searchPatientWithAuth(endpoint, body));
+	}
+
+	public CompletableFuture<CustomResponse> bookingListWithAuthInRange(String endpoint, Object body) {
+		return submit(() -> apiUtil.bookingListWithAuthInRange(endpoint, body));
+	}
+
+	public CompletableFuture<CustomResponse> MainStoreDetailsWithAuth(String endpoint, Object body) {
+		return submit(() -> apiUtil.MainStoreDetailsWithAuth(endpoint, body));
+	}
+
+	public CompletableFuture<CustomResponse> PharmacyStoresWithAuth(String endpoint, Object body) {
+		return submit(() -> apiUtil.PharmacyStoresWithAuth(endpoint, body));
+	}
+
+	public CompletableFuture<CustomResponse> ActivatePharmCount(String endpoint, Object body) {
+		return submit(() -> apiUtil.ActivatePharmCount(endpoint, body));
+	}
+
+	public CompletableFuture<CustomResponse> DeactivatePharmCount(String endpoint, Object body) {
+		return submit(() -> apiUtil.DeactivatePharmCount(endpoint, body));
+	}
+
+	public CompletableFuture<CustomResponse> AppointApplicDept(String endpoint, Object body) {
+		return submit(() -> apiUtil.AppointApplicDept(endpoint, body));
+	}
+
+	public CompletableFuture<CustomResponse> admittedPatientData(String endpoint, Object body) {
+		return submit(() -> apiUtil.admittedPatientData(endpoint, body));
+	}
+
+	public CompletableFuture<CustomResponse> getProfileDetails(String endpoint, Object body) {
+		return submit(() -> apiUtil.getProfileDetails(endpoint, body));
+	}
+
+	public CompletableFuture<CustomResponse> addDepartment(String endpoint, Object body) {
+		return submit(() -> apiUtil.addDepartment(endpoint, body));
+	}
+
+	public CompletableFuture<CustomResponse> getDepartmentsList(String endpoint, Object body) {
+		return submit(() -> apiUtil.getDepartmentsList(endpoint, body));
+	}
+
+	public CompletableFuture<CustomResponse> editDepartmentDetails(String endpoint, Object body) {
+		return submit(() -> apiUtil.editDepartmentDetails(endpoint, body));
+	}
+
+	public CompletableFuture<CustomResponse> getImagingDataResponse(String endpoint, Object body) {
+		return submit(() -> apiUtil.getImagingDataResponse(endpoint, body));
+	}
+
+	public CompletableFuture<CustomResponse> getsignatoriesDetails(String endpoint, Object body) {
+		return submit(() -> apiUtil.getsignatoriesDetails(endpoint, body));
+	}
+
+	private static ExecutorService createSharedExecutor() {
+		return ApiExecutors.newExecutor("api-async-", ConfigManager.getInt("async.threads", DEFAULT_THREADS));
+	}
+
+	/**
+	 * A call started with {@link AsyncApiUtil#prefetch(Supplier)}.
+	 */
+	public static final class Prefetch<T> {
+		private final CallerContext context;
+		private final CompletableFuture<T> future;
+		private final AtomicBoolean adopted = new AtomicBoolean();
+
+		private Prefetch(CallerContext context, CompletableFuture<T> future) {
+			this.context = context;
+			this.future = future;
+		}
+
+		/**
+		 * Waits for the call and counts its retries, latency and response
+		 * bodies for the current thread's test.
+		 * 
+		 * @return T - What the call returned.
+		 * @throws RuntimeException - Whatever the call threw, unwrapped.
+		 */
+		public T join() {
+			try {
+				return future.join();
+			} catch (CompletionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw e;
+			} finally {
+				if (future.isDone() && adopted.compareAndSet(false, true)) {
+					context.adopt();
+				}
+			}
+		}
+	}
+}
@@ -1,17 +1,282 @@
 package rest;
 
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import coreUtilities.utils.Log;
 import restConfig.ConfigManager;
 
+/**
+ * Bearer tokens and the {@code Authorization} header of every call.
+ *
+ * @description Tokens come from a login supplier, by default the
+ *              {@code auth.bearer.token} of {@code config.properties}; tests and
+ *              load runs can plug in a real login with
+ *              {@link #setLoginSupplier(Supplier)}. The {@code exp} claim of
+ *              each JWT is decoded once and the header string is cached with
+ *              it. {@code auth.refreshAheadSeconds} before the token expires
+ *              the first caller logs in again while the other threads keep
+ *              using the current token, so only one login is in flight per
+ *              account; threads only wait when they have no valid token at
+ *              all. A supplier that cannot give a newer token is asked again
+ *              at most every {@code auth.retrySeconds}.
+ *              {@link #setLoginSuppliers(List)} spreads the calls over several
+ *              accounts: each thread acts as a virtual user, numbered in the
+ *              order threads first call the API or set with
+ *              {@link #setVirtualUser(long)}, and uses account
+ *              {@code user % accounts}. {@code auth.bearer.tokens} (comma
+ *              separated) gives such a pool of fixed tokens in the config.
+ */
 public class AuthUtil {
 
-	// Method to get Bearer Token from config file
+	private static final long DEFAULT_REFRESH_AHEAD_SECONDS = 60;
+	private static final long DEFAULT_RETRY_SECONDS = 30;
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+	private static final long refreshAheadMillis = ConfigManager.getLong("auth.refreshAheadSeconds",
+			DEFAULT_REFRESH_AHEAD_SECONDS) * 1000;
+	private static final long retryMillis = ConfigManager.getLong("auth.retrySeconds", DEFAULT_RETRY_SECONDS) * 1000;
+
+	private static final AtomicLong nextVirtualUser = new AtomicLong();
+	private static final ThreadLocal<Long> virtualUser = new ThreadLocal<>();
+	private static volatile Account[] accounts = configuredAccounts();
+
+	private AuthUtil() {
+	}
+
+	// Method to get Bearer Token of this thread's account
 	public static String getBearerToken() {
-		return ConfigManager.getProperty("auth.bearer.token"); // Fetch from config
+		return account(getAccount()).token().value;
 	}
 
-	// Method to set Authorization header
+	// Method to get the cached Authorization header of this thread's account
 	public static String getAuthHeader() {
-		return "Bearer " + getBearerToken();
+		return getAuthHeader(getAccount());
+	}
+
+	static String getAuthHeader(int account) {
+		return account(account).token().header;
+	}
+
+	/**
+	 * @return int - Index of the account this thread's calls are made with.
+	 */
+	public static int getAccount() {
+		return (int) Math.floorMod(getVirtualUser(), (long) accounts.length);
+	}
+
+	/**
+	 * @return long - The virtual user this thread acts as; numbered now when the
+	 *         thread had none yet.
+	 */
+	public static long getVirtualUser() {
+		Long user = virtualUser.get();
+		if (user == null) {
+			user = nextVirtualUser.getAndIncrement();
+			virtualUser.set(user);
+		}
+		return user;
+	}
+
+	/**
+	 * Makes this thread act as the given virtual user until it is set again.
+	 *
+	 * @param user - Virtual user number; user {@code n} uses account
+	 *             {@code n % accounts}.
+	 */
+	public static void setVirtualUser(long user) {
+		virtualUser.set(user);
+	}
+
+	// The virtual user of this thread without numbering it, null when none
+	static Long currentVirtualUser() {
+		return virtualUser.get();
+	}
+
+	static void resumeVirtualUser(Long user) {
+		if (user == null) {
+			virtualUser.remove();
+		} else {
+			virtualUser.set(user);
+		}
 	}
 
+	/**
+	 * Logs every call in with one account.
+	 *
+	 * @param login - Returns a fresh JWT each time it is called.
+	 */
+	public static void setLoginSupplier(Supplier<String> login) {
+		setLoginSuppliers(Collections.singletonList(login));
+	}
+
+	/**
+	 * Spreads the calls over a pool of accounts, one per virtual user modulo
+	 * the pool size. Tokens of the previous pool are dropped.
+	 *
+	 * @param logins - One login per account, each returning a fresh JWT.
+	 */
+	public static void setLoginSuppliers(List<? extends Supplier<String>> logins) {
+		if (logins.isEmpty()) {
+			throw new IllegalArgumentException("At least one login is needed");
+		}
+		Account[] pool = new Account[logins.size()];
+		for (int i = 0; i < pool.length; i++) {
+			pool[i] = new Account(i, logins.get(i));
+		}
+		accounts = pool;
+	}
+
+	/**
+	 * @param jwt - A JSON Web Token.
+	 * @return long - Its {@code exp} claim in epoch milliseconds;
+	 *         {@link Long#MAX_VALUE} when the token has none or is not a JWT.
+	 */
+	public static long getExpiryMillis(String jwt) {
+		int start = jwt.indexOf('.');
+		int end = start < 0 ? -1 : jwt.indexOf('.', start + 1);
+		if (end < 0) {
+			return Long.MAX_VALUE;
+		}
+		try {
+			byte[] claims = Base64.getUrlDecoder().decode(jwt.substring(start + 1, end));
+			long exp = MAPPER.readTree(claims).path("exp").asLong(0);
+			return exp <= 0 ? Long.MAX_VALUE : exp * 1000;
+		} catch (IOException | IllegalArgumentException e) {
+			return Long.MAX_VALUE;
+		}
+	}
+
+	private static Account account(int index) {
+		Account[] pool = accounts;
+		return pool[index < pool.length ? index : 0];
+	}
+
+	private static Account[] configuredAccounts() {
+		List<Supplier<String>> logins = new ArrayList<>();
+		String tokens = ConfigManager.getProperty("auth.bearer.tokens");
+		if (tokens != null) {
+			for (String token : tokens.split(",")) {
+				final String value = token.trim();
+				if (!value.isEmpty()) {
+					logins.add(() -> value);
+				}
+			}
+		}
+		if (logins.isEmpty()) {
+			// Read on every login, so a changed config value is picked up
+			logins.add(() -> ConfigManager.getProperty("auth.bearer.token"));
+		}
+		Account[] pool = new Account[logins.size()];
+		for (int i = 0; i < pool.length; i++) {
+			pool[i] = new Account(i, logins.get(i));
+		}
+		return pool;
+	}
+
+	private static final class Account {
+		private final int index;
+		private final Supplier<String> login;
+		private final AtomicReference<CompletableFuture<Token>> refresh = new AtomicReference<>();
+		private volatile Token token;
+
+		private Account(int index, Supplier<String> login) {
+			this.index = index;
+			this.login = login;
+		}
+
+		private Token token() {
+			Token current = token;
+			long now = System.currentTimeMillis();
+			if (current != null && now < current.refreshAt) {
+				return current;
+			}
+			CompletableFuture<Token> running = refresh.get();
+			if (running == null) {
+				CompletableFuture<Token> started = new CompletableFuture<>();
+				if (refresh.compareAndSet(null, started)) {
+					return login(started, current);
+				}
+				running = refresh.get();
+			}
+			// Another thread is logging in; keep the current token while it is valid
+			if (current != null && now < current.expiresAt) {
+				return current;
+			}
+			if (running == null) {
+				return token();
+			}
+			try {
+				return running.join();
+			} catch (CompletionException e) {
+				throw new IllegalStateException("Login of account " + index + " failed", e.getCause());
+			}
+		}
+
+		private Token login(CompletableFuture<Token> started, Token previous) {
+			try {
+				String value = login.get();
+				if (value == null || value.trim().isEmpty()) {
+					throw new IllegalStateException("Login of account " + index + " returned no token");
+				}
+				Token fresh = new Token(value.trim(), System.currentTimeMillis());
+				if (fresh.expiresAt <= System.currentTimeMillis()) {
+					Log.warn("Token of account {} expired at {}; no newer token is available",
+							index, Instant.ofEpochMilli(fresh.expiresAt));
+				}
+				token = fresh;
+				started.complete(fresh);
+				return fresh;
+			} catch (RuntimeException e) {
+				started.completeExceptionally(e);
+				if (previous != null && System.currentTimeMillis() < previous.expiresAt) {
+					Log.warn("Refreshing the token of account {} failed, the current one is kept: {}", index,
+							e.toString());
+					token = previous.retryLater(System.currentTimeMillis());
+					return previous;
+				}
+				throw e;
+			} finally {
+				refresh.set(null);
+			}
+		}
+	}
+
+	private static final class Token {
+		private final String value;
+		private final String header;
+		private final long expiresAt;
+		private final long refreshAt;
+
+		private Token(String value, long now) {
+			this.value = value;
+			this.header = "Bearer " + value;
+			this.expiresAt = getExpiryMillis(value);
+			// A token that is already due is not asked for again before the retry interval
+			long due = expiresAt == Long.MAX_VALUE ? Long.MAX_VALUE : expiresAt - refreshAheadMillis;
+			this.refreshAt = due > now ? due : now + retryMillis;
+		}
+
+		private Token(Token token, long refreshAt) {
+			this.value = token.value;
+			this.header = token.header;
+			this.expiresAt = token.expiresAt;
+			this.refreshAt = refreshAt;
+		}
+
+		private Token retryLater(long now) {
+			return new Token(this, Math.min(now + retryMillis, expiresAt));
+		}
+	}
 }
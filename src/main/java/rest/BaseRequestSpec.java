@@ -0,0 +1,93 @@
+package rest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import rest.metrics.LatencyFilter;
+import restConfig.ConfigManager;
+
+/**
+ * Immutable base {@link RequestSpecification} shared by every {@link ApiUtil}
+ * call.
+ *
+ * @description The base URI, authorization header, JSON content type and
+ *              connection pool are assembled once and then merged into each
+ *              request with {@code given().spec(...)}, instead of rebuilding
+ *              the same headers and concatenating the base URL in every method.
+ *              There is one spec per {@link AuthUtil} account, rebuilt only when
+ *              its authorization header changes or a reload of
+ *              {@code config.properties} changes the base URL. It also carries
+ *              the {@link ResponseCacheFilter} for reference data, the
+ *              {@link CallGuardFilter} that applies the timeouts and circuit
+ *              breakers, and the {@link LatencyFilter} that records the latency
+ *              of every call.
+ */
+public class BaseRequestSpec {
+
+	private static final String DEFAULT_BASE_URL = "https://healthapp.yaksha.com/api";
+
+	// One spec per account of AuthUtil, as each has its own header
+	private static final Map<Integer, Holder> holders = new ConcurrentHashMap<>();
+
+	static {
+		ConfigManager.addChangeListener(changed -> {
+			if (changed.contains("base.url")) {
+				holders.clear();
+			}
+		});
+	}
+
+	private BaseRequestSpec() {
+	}
+
+	/**
+	 * @return RequestSpecification - The shared base spec for the authorization
+	 *         header of this thread's account. Callers must only merge it into a
+	 *         new request and never modify it.
+	 */
+	public static RequestSpecification get() {
+		int account = AuthUtil.getAccount();
+		String authHeader = AuthUtil.getAuthHeader(account);
+		Holder current = holders.get(account);
+		if (current == null || !current.authHeader.equals(authHeader)) {
+			synchronized (BaseRequestSpec.class) {
+				current = holders.get(account);
+				if (current == null || !current.authHeader.equals(authHeader)) {
+					current = new Holder(authHeader, build(authHeader));
+					holders.put(account, current);
+				}
+			}
+		}
+		return current.spec;
+	}
+
+	/**
+	 * @return String - The base URI every endpoint is resolved against.
+	 */
+	public static String getBaseUri() {
+		return ConfigManager.getString("base.url", DEFAULT_BASE_URL);
+	}
+
+	private static RequestSpecification build(String authHeader) {
+		String baseUri = getBaseUri();
+		// Cache hits skip all other filters; the guard's limits cover the rest
+		return new RequestSpecBuilder().setBaseUri(baseUri).setConfig(HttpClientPool.getConfig())
+				.addHeader("Authorization", authHeader).setContentType(ContentType.JSON)
+				.addFilter(new ResponseCacheFilter(baseUri)).addFilter(new CallGuardFilter(baseUri))
+				.addFilter(new ResponseLogFilter())
+				.addFilter(new LatencyFilter(baseUri)).build();
+	}
+
+	private static final class Holder {
+		private final String authHeader;
+		private final RequestSpecification spec;
+
+		private Holder(String authHeader, RequestSpecification spec) {
+			this.authHeader = authHeader;
+			this.spec = spec;
+		}
+	}
+}
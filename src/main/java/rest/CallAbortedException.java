@@ -0,0 +1,19 @@
+package rest;
+
+/**
+ * Thrown by {@link CallGuardFilter} when a call is not sent or is cut off: its
+ * endpoint's circuit is open, the call ran past its overall timeout, or the
+ * suite deadline passed.
+ */
+public class CallAbortedException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public CallAbortedException(String message) {
+		super(message);
+	}
+
+	public CallAbortedException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
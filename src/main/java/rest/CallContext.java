@@ -0,0 +1,106 @@
+package rest;
+
+import java.io.IOException;
+
+/**
+ * Limits of the call running on the current thread, shared between
+ * {@link CallGuardFilter} and {@link HttpClientPool}.
+ *
+ * @description Rest Assured creates the HTTP client before the filters run,
+ *              so the per-endpoint connect and read timeouts are handed to the
+ *              client through this thread-bound context and applied as
+ *              override parameters when the request executes. The pooled
+ *              connection leased for the call is registered here, so that
+ *              {@link #abort(String)} can shut it down from the watchdog
+ *              thread and unblock a call stuck reading.
+ */
+// Rest Assured 5 only accepts the deprecated HttpClient 4 DefaultHttpClient API;
+// its types are named in full as Java 8 cannot suppress warnings on imports
+@SuppressWarnings("deprecation")
+final class CallContext {
+
+	private static final ThreadLocal<CallContext> current = new ThreadLocal<>();
+
+	private final String endpoint;
+	private final org.apache.http.params.HttpParams params = new org.apache.http.params.BasicHttpParams();
+	private final long deadlineNanos;
+	private org.apache.http.conn.ManagedClientConnection connection;
+	private volatile String abortReason;
+
+	CallContext(String endpoint, int connectTimeoutMillis, int readTimeoutMillis, long deadlineNanos) {
+		this.endpoint = endpoint;
+		params.setIntParameter(org.apache.http.params.CoreConnectionPNames.CONNECTION_TIMEOUT, connectTimeoutMillis);
+		params.setIntParameter(org.apache.http.params.CoreConnectionPNames.SO_TIMEOUT, readTimeoutMillis);
+		this.deadlineNanos = deadlineNanos;
+	}
+
+	/**
+	 * @return CallContext - The call running on this thread, or null outside
+	 *         of {@link CallGuardFilter}.
+	 */
+	static CallContext current() {
+		return current.get();
+	}
+
+	void attach() {
+		current.set(this);
+	}
+
+	void detach() {
+		current.remove();
+	}
+
+	// Endpoint template, e.g. GET /Settings/Departments
+	String getEndpoint() {
+		return endpoint;
+	}
+
+	org.apache.http.params.HttpParams getParams() {
+		return params;
+	}
+
+	/**
+	 * @return long - Nanoseconds left until the call is aborted;
+	 *         {@link Long#MAX_VALUE} when it has no overall limit.
+	 */
+	long remainingNanos() {
+		return deadlineNanos == Long.MAX_VALUE ? Long.MAX_VALUE : deadlineNanos - System.nanoTime();
+	}
+
+	String getAbortReason() {
+		return abortReason;
+	}
+
+	synchronized void onLease(org.apache.http.conn.ManagedClientConnection leased) {
+		connection = leased;
+		if (abortReason != null) {
+			shutdown(leased);
+		}
+	}
+
+	synchronized void onRelease(org.apache.http.conn.ManagedClientConnection released) {
+		if (connection == released) {
+			connection = null;
+		}
+	}
+
+	/**
+	 * Marks the call as aborted and closes its connection, if one is leased.
+	 *
+	 * @param reason - Why the call is aborted, for the exception message.
+	 */
+	synchronized void abort(String reason) {
+		abortReason = reason;
+		if (connection != null) {
+			shutdown(connection);
+		}
+	}
+
+	private static void shutdown(org.apache.http.conn.ManagedClientConnection connection) {
+		try {
+			connection.shutdown();
+		} catch (IOException e) {
+			// The blocked read fails either way
+		}
+	}
+}
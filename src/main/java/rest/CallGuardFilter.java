@@ -0,0 +1,167 @@
+package rest;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import rest.metrics.EndpointTemplates;
+import restConfig.ConfigManager;
+
+/**
+ * Rest Assured filter that bounds how long an {@link ApiUtil} call may take.
+ *
+ * @description Added to the shared base spec right after
+ *              {@link ResponseCacheFilter}, so it wraps the logging and latency
+ *              filters and the call itself; a cache hit makes no call and does
+ *              not reach it. Each call gets the
+ *              connect and read timeouts of its endpoint and an overall limit,
+ *              {@code http.connectTimeoutMillis},
+ *              {@code http.readTimeoutMillis} and
+ *              {@code http.callTimeoutMillis}, each of which can be overridden
+ *              for one endpoint by appending its path to the key, e.g.
+ *              {@code http.readTimeoutMillis./Billing/Invoices}. With
+ *              {@code suite.deadlineSeconds} set, the run has a deadline
+ *              counted from {@link #startSuite()} (or the first call): calls in
+ *              flight at that moment are cancelled and later ones fail at
+ *              once. A call past its limit has its connection closed and fails
+ *              with a {@link CallAbortedException}. Every call also passes the
+ *              {@link CircuitBreaker} of its host and endpoint, so an endpoint
+ *              that is down makes the following tests fail fast.
+ */
+public class CallGuardFilter implements Filter {
+
+	private static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = 10000;
+	private static final int DEFAULT_READ_TIMEOUT_MILLIS = 60000;
+	private static final long DEFAULT_CALL_TIMEOUT_MILLIS = 90000;
+	private static final String SUITE_DEADLINE_PASSED = "Suite deadline passed";
+
+	private static final AtomicLong suiteDeadlineNanos = new AtomicLong();
+	private static final Map<String, Limits> limits = new ConcurrentHashMap<>();
+	private static final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "http-call-watchdog");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	static {
+		ConfigManager.addChangeListener(changed -> limits.clear());
+	}
+
+	private final String basePath;
+
+	/**
+	 * @param baseUri - The base URI of the API; its path (e.g. {@code /api}) is
+	 *                left out of the endpoint names.
+	 */
+	public CallGuardFilter(String baseUri) {
+		this.basePath = URI.create(baseUri).getRawPath();
+	}
+
+	/**
+	 * Starts the suite deadline, if one is configured and it has not started
+	 * yet.
+	 */
+	public static void startSuite() {
+		long seconds = ConfigManager.getLong("suite.deadlineSeconds", 0);
+		if (seconds > 0) {
+			suiteDeadlineNanos.compareAndSet(0, System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds));
+		}
+	}
+
+	@Override
+	public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+			FilterContext ctx) {
+		String endpoint = EndpointTemplates.of(requestSpec.getMethod(), requestSpec.getURI(), basePath);
+		CircuitBreaker breaker = CircuitBreaker.of(URI.create(requestSpec.getURI()).getHost() + " " + endpoint);
+		breaker.acquire();
+
+		startSuite();
+		long now = System.nanoTime();
+		long suiteDeadline = suiteDeadlineNanos.get();
+		if (suiteDeadline != 0 && now - suiteDeadline >= 0) {
+			breaker.onCancelled();
+			throw new CallAbortedException(SUITE_DEADLINE_PASSED + "; " + endpoint + " was not sent");
+		}
+		Limits endpointLimits = limitsOf(endpoint);
+		long deadline = endpointLimits.callNanos > 0 ? now + endpointLimits.callNanos : Long.MAX_VALUE;
+		String reason = "Call exceeded its overall timeout of "
+				+ TimeUnit.NANOSECONDS.toMillis(endpointLimits.callNanos) + "ms";
+		if (suiteDeadline != 0 && (deadline == Long.MAX_VALUE || suiteDeadline - deadline < 0)) {
+			deadline = suiteDeadline;
+			reason = SUITE_DEADLINE_PASSED;
+		}
+
+		CallContext call = new CallContext(endpoint, endpointLimits.connectMillis, endpointLimits.readMillis, deadline);
+		final String abortReason = reason;
+		ScheduledFuture<?> timer = deadline == Long.MAX_VALUE ? null
+				: watchdog.schedule(() -> call.abort(abortReason), deadline - now, TimeUnit.NANOSECONDS);
+		call.attach();
+		boolean failed = true;
+		try {
+			Response response = ctx.next(requestSpec, responseSpec);
+			// Read the body here so that the limits cover it too
+			response.asByteArray();
+			failed = response.getStatusCode() >= 500;
+			return response;
+		} catch (Exception e) {
+			if (call.getAbortReason() != null) {
+				throw new CallAbortedException(call.getAbortReason() + ": " + endpoint, e);
+			}
+			throw e;
+		} finally {
+			call.detach();
+			if (timer != null) {
+				timer.cancel(false);
+			}
+			if (failed && SUITE_DEADLINE_PASSED.equals(call.getAbortReason())) {
+				breaker.onCancelled();
+			} else if (failed) {
+				breaker.onFailure();
+			} else {
+				breaker.onSuccess();
+			}
+		}
+	}
+
+	private static Limits limitsOf(String endpoint) {
+		Limits cached = limits.get(endpoint);
+		if (cached == null) {
+			// Path of the template, e.g. /Billing/Invoices
+			int start = endpoint.indexOf(' ') + 1;
+			int end = endpoint.indexOf('?');
+			String path = endpoint.substring(start, end < 0 ? endpoint.length() : end);
+			cached = new Limits(readEndpointInt("http.connectTimeoutMillis", path, DEFAULT_CONNECT_TIMEOUT_MILLIS),
+					readEndpointInt("http.readTimeoutMillis", path, DEFAULT_READ_TIMEOUT_MILLIS),
+					TimeUnit.MILLISECONDS.toNanos(ConfigManager.getLong("http.callTimeoutMillis." + path,
+							ConfigManager.getLong("http.callTimeoutMillis", DEFAULT_CALL_TIMEOUT_MILLIS))));
+			limits.put(endpoint, cached);
+		}
+		return cached;
+	}
+
+	private static int readEndpointInt(String key, String path, int defaultValue) {
+		return ConfigManager.getInt(key + "." + path, ConfigManager.getInt(key, defaultValue));
+	}
+
+	private static final class Limits {
+		private final int connectMillis;
+		private final int readMillis;
+		private final long callNanos;
+
+		private Limits(int connectMillis, int readMillis, long callNanos) {
+			this.connectMillis = connectMillis;
+			this.readMillis = readMillis;
+			this.callNanos = callNanos;
+		}
+	}
+}
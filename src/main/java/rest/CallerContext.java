@@ -0,0 +1,116 @@
+package rest;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.ThreadContext;
+
+import coreUtilities.utils.BodyLogger;
+import coreUtilities.utils.Log;
+import rest.metrics.LatencyRecorder;
+
+/**
+ * Thread-bound state of a test thread that its API calls rely on, carried to
+ * the thread that runs a call for {@link AsyncApiUtil}.
+ *
+ * @description The virtual user and so the account ({@link AuthUtil}), the
+ *              logging context (test, thread, endpoint), the retry and latency
+ *              captures of the running test ({@link HttpRetries},
+ *              {@link LatencyRecorder}) and the responses remembered for
+ *              failure reporting ({@link BodyLogger}) all live in thread
+ *              locals of the caller. {@link #capture()} takes them on the
+ *              calling thread and {@link #call(Supplier)} installs them around
+ *              the call on the worker, then puts the worker's own state back so
+ *              a pooled thread does not carry one test's state into the next
+ *              task. Captures and remembered responses are shared, not copied,
+ *              so whatever the call records counts for the caller's test. A
+ *              {@link #detached()} context records into fresh captures instead,
+ *              which {@link #adopt()} later adds to the test that uses the
+ *              result.
+ */
+final class CallerContext {
+
+	private final long virtualUser;
+	private final Map<String, String> logContext;
+	private final HttpRetries.Summary retries;
+	private final List<LatencyRecorder.Sample> latencies;
+	private final BodyLogger.Responses responses;
+
+	private CallerContext(long virtualUser, Map<String, String> logContext, HttpRetries.Summary retries,
+			List<LatencyRecorder.Sample> latencies, BodyLogger.Responses responses) {
+		this.virtualUser = virtualUser;
+		this.logContext = logContext;
+		this.retries = retries;
+		this.latencies = latencies;
+		this.responses = responses;
+	}
+
+	/**
+	 * @return CallerContext - The state of the current thread.
+	 */
+	static CallerContext capture() {
+		return new CallerContext(AuthUtil.getVirtualUser(), ThreadContext.getImmutableContext(),
+				HttpRetries.currentCapture(), LatencyRecorder.currentCapture(), BodyLogger.currentResponses());
+	}
+
+	/**
+	 * @return CallerContext - The account and logging context of the current
+	 *         thread, without its test name, with empty captures of its own.
+	 */
+	static CallerContext detached() {
+		Map<String, String> logContext = new HashMap<>(ThreadContext.getImmutableContext());
+		logContext.remove(Log.MDC_TEST);
+		return new CallerContext(AuthUtil.getVirtualUser(), logContext, HttpRetries.newCapture(),
+				LatencyRecorder.newCapture(), BodyLogger.newResponses());
+	}
+
+	/**
+	 * Adds what was recorded in this context to the captures of the current
+	 * thread; meant for a {@link #detached()} context whose call has finished.
+	 */
+	void adopt() {
+		HttpRetries.Summary ownRetries = HttpRetries.currentCapture();
+		if (ownRetries != null && ownRetries != retries) {
+			ownRetries.addAll(retries);
+		}
+		List<LatencyRecorder.Sample> ownLatencies = LatencyRecorder.currentCapture();
+		if (ownLatencies != null && ownLatencies != latencies) {
+			synchronized (latencies) {
+				ownLatencies.addAll(latencies);
+			}
+		}
+		BodyLogger.rememberAll(responses);
+	}
+
+	/**
+	 * Runs the call on the current thread as if on the captured one.
+	 *
+	 * @param call - The call.
+	 * @return T - What the call returned.
+	 */
+	<T> T call(Supplier<T> call) {
+		Long ownVirtualUser = AuthUtil.currentVirtualUser();
+		Map<String, String> ownLogContext = ThreadContext.getImmutableContext();
+		HttpRetries.Summary ownRetries = HttpRetries.currentCapture();
+		List<LatencyRecorder.Sample> ownLatencies = LatencyRecorder.currentCapture();
+		BodyLogger.Responses ownResponses = BodyLogger.currentResponses();
+		install(virtualUser, logContext, retries, latencies, responses);
+		try {
+			return call.get();
+		} finally {
+			install(ownVirtualUser, ownLogContext, ownRetries, ownLatencies, ownResponses);
+		}
+	}
+
+	private static void install(Long virtualUser, Map<String, String> logContext, HttpRetries.Summary retries,
+			List<LatencyRecorder.Sample> latencies, BodyLogger.Responses responses) {
+		AuthUtil.resumeVirtualUser(virtualUser);
+		ThreadContext.clearMap();
+		ThreadContext.putAll(logContext);
+		HttpRetries.resumeCapture(retries);
+		LatencyRecorder.resumeCapture(latencies);
+		BodyLogger.resumeResponses(responses);
+	}
+}
@@ -0,0 +1,96 @@
+package rest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import coreUtilities.utils.Log;
+import restConfig.ConfigManager;
+
+/**
+ * Circuit breaker of one endpoint on one host.
+ *
+ * @description After {@code circuit.failureThreshold} consecutive failures
+ *              (5xx responses, timeouts, I/O errors) the circuit opens and
+ *              calls fail at once with a {@link CallAbortedException} instead
+ *              of each waiting out a timeout. After {@code circuit.openSeconds}
+ *              one trial call is let through: its success closes the circuit,
+ *              its failure opens it again. A threshold of 0 switches the
+ *              breakers off.
+ */
+public final class CircuitBreaker {
+
+	private static final int DEFAULT_FAILURE_THRESHOLD = 5;
+	private static final long DEFAULT_OPEN_SECONDS = 30;
+
+	private static final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+	private static final int failureThreshold = ConfigManager.getInt("circuit.failureThreshold",
+			DEFAULT_FAILURE_THRESHOLD);
+	private static final long openNanos = TimeUnit.SECONDS
+			.toNanos(ConfigManager.getLong("circuit.openSeconds", DEFAULT_OPEN_SECONDS));
+
+	private final String key;
+	private int consecutiveFailures;
+	private boolean open;
+	private long openUntilNanos;
+	private boolean trialInFlight;
+
+	private CircuitBreaker(String key) {
+		this.key = key;
+	}
+
+	/**
+	 * @param key - Host and endpoint template, e.g.
+	 *            {@code healthapp.yaksha.com GET /Settings/Departments}.
+	 * @return CircuitBreaker - The breaker of that endpoint.
+	 */
+	public static CircuitBreaker of(String key) {
+		CircuitBreaker breaker = breakers.get(key);
+		return breaker != null ? breaker : breakers.computeIfAbsent(key, CircuitBreaker::new);
+	}
+
+	/**
+	 * @throws CallAbortedException when the circuit is open, or half open with
+	 *                              its trial call still running.
+	 */
+	public synchronized void acquire() {
+		if (failureThreshold <= 0 || !open) {
+			return;
+		}
+		long now = System.nanoTime();
+		if (now - openUntilNanos < 0 || trialInFlight) {
+			throw new CallAbortedException("Circuit open for " + key + " after " + consecutiveFailures
+					+ " consecutive failures; failing fast for "
+					+ Math.max(0, TimeUnit.NANOSECONDS.toSeconds(openUntilNanos - now)) + "s more");
+		}
+		trialInFlight = true;
+	}
+
+	public synchronized void onSuccess() {
+		if (open) {
+			Log.info("Circuit closed for {}", key);
+		}
+		consecutiveFailures = 0;
+		open = false;
+		trialInFlight = false;
+	}
+
+	public synchronized void onFailure() {
+		consecutiveFailures++;
+		if (failureThreshold > 0 && (trialInFlight || !open && consecutiveFailures >= failureThreshold)) {
+			open = true;
+			trialInFlight = false;
+			openUntilNanos = System.nanoTime() + openNanos;
+			Log.warn("Circuit opened for {} after {} consecutive failures", key, consecutiveFailures);
+		}
+	}
+
+	// For a call that ended without telling anything about the endpoint
+	public synchronized void onCancelled() {
+		trialInFlight = false;
+	}
+
+	public synchronized boolean isOpen() {
+		return open;
+	}
+}
@@ -1,7 +1,10 @@
 package rest;
 
-import java.util.List;
-import java.util.Map;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.JsonNode;
 
 import io.restassured.response.Response;
 
@@ -9,203 +12,123 @@ public class CustomResponse {
 	private Response response;
 	private int statusCode;
 	private String status;
-	private Integer appointmentId;
-	private List<Map<String, Object>> listResults;
 	private String resultMessage;
-	private Map<String, Object> mapResults;
-	private List<Object> itemIds;
-	private List<Object> itemNames;
-	private List<Object> genericNames;
-	private Object storeId;
-	private Object category;
-	private Object isActive;
-	private Object patientId;
-	private Object totalDue;
-	private List<Object> patientIds;
-	private List<Object> patientCodes;
-
-	public CustomResponse(Response response, int statusCode, String status, Integer appointmentId) {
-		this.response = response;
-		this.statusCode = statusCode;
-		this.status = status;
-		this.appointmentId = appointmentId;
-	}
-
-	public CustomResponse(Response response, int statusCode, String status, Map<String, Object> mapResults) {
-		this.response = response;
-		this.statusCode = statusCode;
-		this.status = status;
-		this.mapResults = mapResults;
-	}
-
-	public CustomResponse(Response response, int statusCode, String status, String resultMessage) {
-		this.response = response;
-		this.statusCode = statusCode;
-		this.status = status;
-		this.resultMessage = resultMessage;
-	}
-
-	public CustomResponse(Response response, int statusCode, String status, List<Map<String, Object>> listResults) {
-		this.response = response;
-		this.statusCode = statusCode;
-		this.status = status;
-		this.listResults = listResults;
-	}
-
-	public CustomResponse(Response response, int statusCode, String status, List<Object> patientIds,
-			List<Object> patientCodes) {
+	private ResponseBody body;
+	private long responseTimeMillis;
+
+	/**
+	 * Wraps a response whose fields are read on demand from the body.
+	 * 
+	 * @description Every {@link ApiUtil} method returns its response through
+	 *              this constructor. Status and Results are not extracted up
+	 *              front: the body is parsed once, on the first lookup, and all
+	 *              later lookups read the same tree.
+	 * @param response - The extracted Rest Assured response.
+	 */
+	public CustomResponse(Response response) {
 		this.response = response;
-		this.statusCode = statusCode;
-		this.status = status;
-		this.patientIds = patientIds;
-		this.patientCodes = patientCodes;
-	}
-
-	public CustomResponse(Response response, int statusCode, String status, List<Object> itemIds,
-			List<Object> itemNames, List<Object> genericNames) {
-		this.response = response;
-		this.statusCode = statusCode;
-		this.status = status;
-		this.itemIds = itemIds;
-		this.itemNames = itemNames;
-		this.genericNames = genericNames;
-	}
-
-	public CustomResponse(Response response, int statusCode, String status, Object storeId, Object category,
-			Object isActive) {
-		this.response = response;
-		this.statusCode = statusCode;
-		this.status = status;
-		this.storeId = storeId;
-		this.category = category;
-		this.isActive = isActive;
-	}
-
-	public CustomResponse(Response response, int statusCode, String status, Object patientId, Object totalDue) {
-		this.response = response;
-		this.statusCode = statusCode;
-		this.status = status;
-		this.patientId = patientId;
-		this.totalDue = totalDue;
+		this.statusCode = response.statusCode();
+		// Buffer the body now so the pooled connection is released right away
+		response.asByteArray();
+		this.responseTimeMillis = response.time();
 	}
 
 	public Response getResponse() {
 		return response;
 	}
 
-	public int getStatusCode() {
-		return statusCode;
+	/**
+	 * @return ResponseBody - The response body, parsed once on first access and
+	 *         reused by every later lookup.
+	 */
+	public ResponseBody getBody() {
+		if (body == null) {
+			body = ResponseBody.parse(response.asByteArray());
+		}
+		return body;
 	}
 
-	public String getStatus() {
-		return status;
+	public Object get(String path) {
+		return getBody().get(path);
 	}
 
-	public Integer getAppointmentId() {
-		return appointmentId;
-	}
-
-	public String getResultMessage() {
-		return resultMessage;
-	}
-
-	public void setResultMessage(String resultMessage) {
-		this.resultMessage = resultMessage;
+	public String getString(String path) {
+		return getBody().getString(path);
 	}
 
-	public List<Map<String, Object>> getListResults() {
-		return listResults;
+	public Integer getInteger(String path) {
+		return getBody().getInteger(path);
 	}
 
-	public void setListResults(List<Map<String, Object>> listResults) {
-		this.listResults = listResults;
+	/**
+	 * Streams the elements of {@code Results} one at a time without building the
+	 * full result list.
+	 * 
+	 * @param consumer - Called once per result element.
+	 * @return int - The number of elements visited.
+	 */
+	public int forEachResult(Consumer<JsonNode> consumer) {
+		return ResultsStream.forEach(response.asByteArray(), consumer);
 	}
 
-	public Map<String, Object> getMapResults() {
-		return mapResults;
+	public Iterator<JsonNode> resultIterator() {
+		return ResultsStream.iterator(response.asByteArray());
 	}
 
-	public void setMapResults(Map<String, Object> mapResults) {
-		this.mapResults = mapResults;
+	/**
+	 * @param field - Field of each result element, e.g. {@code PatientId}.
+	 * @return int[] - The field's values streamed straight from the body.
+	 */
+	public int[] collectResultInts(String field) {
+		return ResultsStream.collectInts(response.asByteArray(), field);
 	}
 
-	public List<Object> getItemIds() {
-		return itemIds;
+	/**
+	 * @param field - Field of each result element, e.g. {@code PatientCode}.
+	 * @return String[] - The field's values as text, one per element; null where
+	 *         an element lacks the field.
+	 */
+	public String[] collectResultTexts(String field) {
+		return ResultsStream.collectTexts(response.asByteArray(), field);
 	}
 
-	public void setItemIds(List<Object> itemIds) {
-		this.itemIds = itemIds;
+	/**
+	 * Binds {@code Results} to a typed model straight from the JSON tokens, e.g.
+	 * {@code getResults(Departments::bind)}.
+	 * 
+	 * @param binder - The model's {@code bind} method.
+	 * @return T - The bound model.
+	 */
+	public <T> T getResults(Function<byte[], T> binder) {
+		return binder.apply(response.asByteArray());
 	}
 
-	public List<Object> getItemNames() {
-		return itemNames;
-	}
-
-	public void setItemNames(List<Object> itemNames) {
-		this.itemNames = itemNames;
-	}
-
-	public List<Object> getGenericNames() {
-		return genericNames;
-	}
-
-	public void setGenericNames(List<Object> genericNames) {
-		this.genericNames = genericNames;
-	}
-
-	public Object getStoreId() {
-		return storeId;
-	}
-
-	public void setStoreId(Object storeId) {
-		this.storeId = storeId;
-	}
-
-	public Object getCategory() {
-		return category;
-	}
-
-	public void setCategory(Object category) {
-		this.category = category;
-	}
-
-	public Object getIsActive() {
-		return isActive;
-	}
-
-	public void setIsActive(Object isActive) {
-		this.isActive = isActive;
-	}
-
-	public Object getPatientId() {
-		return patientId;
-	}
-
-	public void setPatientId(Object patientId) {
-		this.patientId = patientId;
-	}
-
-	public Object getTotalDue() {
-		return totalDue;
-	}
-
-	public void setTotalDue(Object totalDue) {
-		this.totalDue = totalDue;
+	public int getStatusCode() {
+		return statusCode;
 	}
 
-	public List<Object> getPatientIds() {
-		return patientIds;
+	/**
+	 * @return long - Time Rest Assured measured for the call in milliseconds.
+	 */
+	public long getResponseTimeMillis() {
+		return responseTimeMillis;
 	}
 
-	public void setPatientIds(List<Object> patientIds) {
-		this.patientIds = patientIds;
+	public String getStatus() {
+		if (status == null) {
+			status = getBody().getString("Status");
+		}
+		return status;
 	}
 
-	public List<Object> getPatientCodes() {
-		return patientCodes;
+	public String getResultMessage() {
+		if (resultMessage == null) {
+			resultMessage = getBody().getString("Results");
+		}
+		return resultMessage;
 	}
 
-	public void setPatientCodes(List<Object> patientCodes) {
-		this.patientCodes = patientCodes;
+	public void setResultMessage(String resultMessage) {
+		this.resultMessage = resultMessage;
 	}
 }
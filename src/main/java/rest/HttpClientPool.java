@@ -0,0 +1,328 @@
+package rest;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.apache.http.ConnectionReuseStrategy;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.client.AuthenticationStrategy;
+import org.apache.http.client.HttpRequestRetryHandler;
+import org.apache.http.client.RedirectStrategy;
+import org.apache.http.client.UserTokenHandler;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.routing.HttpRoutePlanner;
+import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpProcessor;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+import coreUtilities.utils.Log;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import restConfig.ConfigManager;
+
+/**
+ * Shared, thread-safe keep-alive connection pool behind every {@link ApiUtil}
+ * request.
+ *
+ * @description Rest Assured builds a new Apache {@code HttpClient} for each
+ *              request, and by default every client owns its own connection
+ *              manager, so each call pays a fresh TCP/TLS handshake. This class
+ *              keeps a single {@code PoolingClientConnectionManager} for the
+ *              whole JVM and hands Rest Assured a lightweight client bound to
+ *              it, so sockets to healthapp are reused across requests and
+ *              parallel TestNG threads. Pool sizes and the idle eviction
+ *              timeout are read from {@code config.properties}; the sizes
+ *              follow changes of the file while the JVM runs.
+ */
+// Rest Assured 5 only accepts the deprecated HttpClient 4 DefaultHttpClient API;
+// its types are named in full as Java 8 cannot suppress warnings on imports
+@SuppressWarnings("deprecation")
+public class HttpClientPool {
+
+	private static final int DEFAULT_MAX_TOTAL = 50;
+	private static final int DEFAULT_MAX_PER_ROUTE = 20;
+	private static final long DEFAULT_IDLE_TIMEOUT_SECONDS = 30;
+
+	private static final AtomicLong leases = new AtomicLong();
+	private static final AtomicLong connectionsOpened = new AtomicLong();
+	private static final AtomicLong leaseWaitNanos = new AtomicLong();
+
+	private static final long idleTimeoutSeconds = ConfigManager.getLong("http.pool.idleTimeoutSeconds",
+			DEFAULT_IDLE_TIMEOUT_SECONDS);
+	private static final org.apache.http.impl.conn.PoolingClientConnectionManager connectionManager =
+			createConnectionManager();
+	// Apache HttpClient waits for a free connection inside a synchronized block,
+	// which pins a virtual thread to its carrier. When every carrier is pinned
+	// that way, the threads holding connections can never resume to release
+	// them, so callers queue here first, where they park without holding a
+	// monitor. All requests go to the one base URL, so this is the same limit
+	// the pool enforces per route.
+	private static final ResizableSemaphore leasePermits = new ResizableSemaphore(
+			Math.min(connectionManager.getMaxTotal(), connectionManager.getDefaultMaxPerRoute()), true);
+	private static final RestAssuredConfig config = RestAssuredConfig.config()
+			.httpClient(HttpClientConfig.httpClientConfig().httpClientFactory(HttpClientPool::createHttpClient));
+
+	static {
+		startIdleConnectionEvictor();
+		ConfigManager.addChangeListener(changed -> {
+			if (changed.contains("http.pool.maxTotal") || changed.contains("http.pool.maxPerRoute")) {
+				resize();
+			}
+		});
+	}
+
+	private HttpClientPool() {
+	}
+
+	/**
+	 * @return RestAssuredConfig - The configuration to pass to
+	 *         {@code given().config(...)} so the request is served from the
+	 *         shared pool.
+	 */
+	public static RestAssuredConfig getConfig() {
+		return config;
+	}
+
+	/**
+	 * @return int - Connections one route, i.e. the API host, may hold; the
+	 *         upper bound of concurrent calls to the API.
+	 */
+	public static int getMaxPerRoute() {
+		return connectionManager.getDefaultMaxPerRoute();
+	}
+
+	/**
+	 * @return Stats - A point-in-time snapshot of the pool counters.
+	 */
+	public static Stats getStats() {
+		return new Stats(connectionManager.getTotalStats(), leases.get(), connectionsOpened.get(),
+				leaseWaitNanos.get());
+	}
+
+	// Each request gets its own client object so Rest Assured can freely mutate
+	// params and interceptors, but all of them share the same pooled sockets.
+	private static org.apache.http.impl.client.DefaultHttpClient createHttpClient() {
+		org.apache.http.impl.client.DefaultHttpClient client = new org.apache.http.impl.client.DefaultHttpClient(
+				connectionManager) {
+			// The timeouts of the call guarded by CallGuardFilter override the
+			// client's; the filter only runs after Rest Assured created the client
+			@Override
+			protected org.apache.http.params.HttpParams determineParams(HttpRequest request) {
+				CallContext call = CallContext.current();
+				return call == null ? super.determineParams(request)
+						: new org.apache.http.impl.client.ClientParamsStack(null, getParams(), request.getParams(),
+								call.getParams());
+			}
+
+			// Wraps every execution, whichever execute method Rest Assured calls
+			@Override
+			protected org.apache.http.client.RequestDirector createClientRequestDirector(
+					HttpRequestExecutor requestExec, org.apache.http.conn.ClientConnectionManager conman,
+					ConnectionReuseStrategy reustrat,
+					ConnectionKeepAliveStrategy kastrat, HttpRoutePlanner rouplan, HttpProcessor httpProcessor,
+					HttpRequestRetryHandler retryHandler, RedirectStrategy redirectStrategy,
+					AuthenticationStrategy targetAuthStrategy, AuthenticationStrategy proxyAuthStrategy,
+					UserTokenHandler userTokenHandler, org.apache.http.params.HttpParams params) {
+				// A director runs one execution, so each attempt gets a new one
+				Supplier<org.apache.http.client.RequestDirector> directors = () -> super.createClientRequestDirector(
+						requestExec, conman, reustrat, kastrat, rouplan, httpProcessor, retryHandler, redirectStrategy,
+						targetAuthStrategy, proxyAuthStrategy, userTokenHandler, params);
+				return (target, request, context) -> HttpRetries.execute(directors, target, request, context);
+			}
+		};
+		// HttpRetries retries failed GETs with backoff. The client itself only
+		// resends, once, a request of any method that never left, e.g. one
+		// written to a stale keep-alive connection
+		client.setHttpRequestRetryHandler(new DefaultHttpRequestRetryHandler(1, false) {
+			@Override
+			protected boolean handleAsIdempotent(HttpRequest request) {
+				return false;
+			}
+		});
+		return client;
+	}
+
+	private static org.apache.http.impl.conn.PoolingClientConnectionManager createConnectionManager() {
+		org.apache.http.impl.conn.PoolingClientConnectionManager manager = new InstrumentedConnectionManager(
+				org.apache.http.impl.conn.SchemeRegistryFactory.createSystemDefault());
+		manager.setMaxTotal(ConfigManager.getInt("http.pool.maxTotal", DEFAULT_MAX_TOTAL));
+		manager.setDefaultMaxPerRoute(ConfigManager.getInt("http.pool.maxPerRoute", DEFAULT_MAX_PER_ROUTE));
+		return manager;
+	}
+
+	// Applies changed pool sizes; connections above a lowered limit are closed
+	// as they are released
+	private static void resize() {
+		connectionManager.setMaxTotal(ConfigManager.getInt("http.pool.maxTotal", DEFAULT_MAX_TOTAL));
+		connectionManager.setDefaultMaxPerRoute(ConfigManager.getInt("http.pool.maxPerRoute", DEFAULT_MAX_PER_ROUTE));
+		leasePermits.setLimit(Math.min(connectionManager.getMaxTotal(), connectionManager.getDefaultMaxPerRoute()));
+		Log.info("HTTP pool resized: maxTotal={}, maxPerRoute={}", connectionManager.getMaxTotal(),
+				connectionManager.getDefaultMaxPerRoute());
+	}
+
+	private static void startIdleConnectionEvictor() {
+		ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "http-pool-idle-evictor");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long period = Math.max(1, idleTimeoutSeconds / 2);
+		evictor.scheduleWithFixedDelay(() -> {
+			connectionManager.closeExpiredConnections();
+			connectionManager.closeIdleConnections(idleTimeoutSeconds, TimeUnit.SECONDS);
+		}, period, period, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Connection manager that counts leases, newly opened sockets and the time
+	 * callers spend blocked waiting for a free connection.
+	 */
+	private static class InstrumentedConnectionManager
+			extends org.apache.http.impl.conn.PoolingClientConnectionManager {
+
+		InstrumentedConnectionManager(org.apache.http.conn.scheme.SchemeRegistry schemeRegistry) {
+			super(schemeRegistry);
+		}
+
+		@Override
+		protected org.apache.http.conn.ClientConnectionOperator createConnectionOperator(
+				org.apache.http.conn.scheme.SchemeRegistry schemeRegistry) {
+			return new org.apache.http.impl.conn.DefaultClientConnectionOperator(schemeRegistry) {
+				@Override
+				public void openConnection(org.apache.http.conn.OperatedClientConnection conn, HttpHost target,
+						InetAddress local, HttpContext context, org.apache.http.params.HttpParams params)
+						throws IOException {
+					connectionsOpened.incrementAndGet();
+					super.openConnection(conn, target, local, context, params);
+				}
+			};
+		}
+
+		@Override
+		public org.apache.http.conn.ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+			final org.apache.http.conn.ClientConnectionRequest request = super.requestConnection(route, state);
+			return new org.apache.http.conn.ClientConnectionRequest() {
+				@Override
+				public org.apache.http.conn.ManagedClientConnection getConnection(long timeout, TimeUnit unit)
+						throws InterruptedException, ConnectionPoolTimeoutException {
+					long start = System.nanoTime();
+					boolean leased = false;
+					CallContext call = CallContext.current();
+					try {
+						// A guarded call only waits for a connection until its deadline
+						if (call == null) {
+							leasePermits.acquire();
+						} else if (!leasePermits.tryAcquire(call.remainingNanos(), TimeUnit.NANOSECONDS)) {
+							throw new ConnectionPoolTimeoutException("No connection free before the call deadline");
+						}
+						org.apache.http.conn.ManagedClientConnection connection = request.getConnection(timeout,
+								unit);
+						leased = true;
+						if (call != null) {
+							call.onLease(connection);
+						}
+						return connection;
+					} finally {
+						if (!leased) {
+							leasePermits.release();
+						}
+						leaseWaitNanos.addAndGet(System.nanoTime() - start);
+						leases.incrementAndGet();
+					}
+				}
+
+				@Override
+				public void abortRequest() {
+					request.abortRequest();
+				}
+			};
+		}
+
+		@Override
+		public void releaseConnection(org.apache.http.conn.ManagedClientConnection conn, long keepalive,
+				TimeUnit unit) {
+			CallContext call = CallContext.current();
+			if (call != null) {
+				call.onRelease(conn);
+			}
+			try {
+				super.releaseConnection(conn, keepalive, unit);
+			} finally {
+				leasePermits.release();
+			}
+		}
+	}
+
+	/**
+	 * Snapshot of the pool counters, used to check connection reuse and
+	 * contention after a run.
+	 */
+	public static final class Stats {
+		private final PoolStats poolStats;
+		private final long leases;
+		private final long connectionsOpened;
+		private final long leaseWaitNanos;
+
+		private Stats(PoolStats poolStats, long leases, long connectionsOpened, long leaseWaitNanos) {
+			this.poolStats = poolStats;
+			this.leases = leases;
+			this.connectionsOpened = connectionsOpened;
+			this.leaseWaitNanos = leaseWaitNanos;
+		}
+
+		public int getLeased() {
+			return poolStats.getLeased();
+		}
+
+		public int getAvailable() {
+			return poolStats.getAvailable();
+		}
+
+		public int getPending() {
+			return poolStats.getPending();
+		}
+
+		public int getMax() {
+			return poolStats.getMax();
+		}
+
+		public long getLeases() {
+			return leases;
+		}
+
+		public long getConnectionsOpened() {
+			return connectionsOpened;
+		}
+
+		// Share of leases that were served by an already open connection
+		public double getReuseRatio() {
+			return leases == 0 ? 0.0 : Math.max(0, leases - connectionsOpened) / (double) leases;
+		}
+
+		public long getTotalLeaseWaitMillis() {
+			return TimeUnit.NANOSECONDS.toMillis(leaseWaitNanos);
+		}
+
+		public double getAverageLeaseWaitMillis() {
+			return leases == 0 ? 0.0 : leaseWaitNanos / 1_000_000.0 / leases;
+		}
+
+		@Override
+		public String toString() {
+			return String.format(
+					"HTTP pool: leases=%d, opened=%d, reuse=%.1f%%, wait total=%dms avg=%.2fms, leased=%d, available=%d, pending=%d, max=%d",
+					leases, connectionsOpened, getReuseRatio() * 100, getTotalLeaseWaitMillis(),
+					getAverageLeaseWaitMillis(), getLeased(), getAvailable(), getPending(), getMax());
+		}
+	}
+}
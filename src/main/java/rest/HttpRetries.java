@@ -0,0 +1,247 @@
+package rest;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.apache.http.HttpException;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.EntityUtils;
+
+import coreUtilities.utils.Log;
+import restConfig.ConfigManager;
+
+/**
+ * Retries of idempotent requests at the HTTP layer.
+ *
+ * @description A GET that gets a 5xx response or loses its connection (reset,
+ *              refused, closed without a response) is sent again, up to
+ *              {@code http.retry.maxAttempts} attempts in all. The wait before
+ *              attempt n is drawn between half and all of
+ *              {@code http.retry.baseDelayMillis * 2^(n-2)}, capped at
+ *              {@code http.retry.maxDelayMillis}, so that parallel tests do
+ *              not retry in lockstep. The whole run may retry at most
+ *              {@code http.retry.budget} times, so an API that is down does
+ *              not get a storm of retries. Timeouts are not retried, and a
+ *              retry is not started when the wait would run past the deadline
+ *              of the call set by {@link CallGuardFilter}, which sees the
+ *              attempts as one call. The retries and the latency they added
+ *              are counted for the run ({@link #getStats()}) and for the calls
+ *              of a thread between {@link #startCapture()} and
+ *              {@link #stopCapture()}, which is how they reach the test report.
+ *              Requests of other methods are not retried here; like any
+ *              request, they are only resent once by the client when they
+ *              could not be sent at all.
+ */
+// Rest Assured 5 only accepts the deprecated HttpClient 4 DefaultHttpClient API;
+// its types are named in full as Java 8 cannot suppress warnings on imports
+@SuppressWarnings("deprecation")
+public final class HttpRetries {
+
+	private static final int DEFAULT_MAX_ATTEMPTS = 3;
+	private static final long DEFAULT_BASE_DELAY_MILLIS = 200;
+	private static final long DEFAULT_MAX_DELAY_MILLIS = 5000;
+	private static final int DEFAULT_BUDGET = 50;
+
+	private static final int maxAttempts = ConfigManager.getInt("http.retry.maxAttempts", DEFAULT_MAX_ATTEMPTS);
+	private static final long baseDelayNanos = TimeUnit.MILLISECONDS
+			.toNanos(ConfigManager.getLong("http.retry.baseDelayMillis", DEFAULT_BASE_DELAY_MILLIS));
+	private static final long maxDelayNanos = TimeUnit.MILLISECONDS
+			.toNanos(ConfigManager.getLong("http.retry.maxDelayMillis", DEFAULT_MAX_DELAY_MILLIS));
+	private static final int budget = ConfigManager.getInt("http.retry.budget", DEFAULT_BUDGET);
+
+	private static final AtomicInteger budgetLeft = new AtomicInteger(budget);
+	private static final AtomicLong retries = new AtomicLong();
+	private static final AtomicLong retriedCalls = new AtomicLong();
+	private static final AtomicLong addedNanos = new AtomicLong();
+	private static final AtomicLong denied = new AtomicLong();
+	private static final ThreadLocal<Summary> captured = new ThreadLocal<>();
+
+	private HttpRetries() {
+	}
+
+	/**
+	 * Runs the request through a new director of the client, again as long as
+	 * it may be retried.
+	 */
+	static HttpResponse execute(Supplier<org.apache.http.client.RequestDirector> directors, HttpHost target,
+			HttpRequest request, HttpContext context) throws HttpException, IOException {
+		if (maxAttempts <= 1 || !"GET".equalsIgnoreCase(request.getRequestLine().getMethod())) {
+			return directors.get().execute(target, request, context);
+		}
+		CallContext call = CallContext.current();
+		String endpoint = call != null ? call.getEndpoint() : request.getRequestLine().getUri();
+		long start = System.nanoTime();
+		for (int attempt = 1;; attempt++) {
+			long attemptStart = System.nanoTime();
+			long delay = delayBefore(attempt + 1);
+			String failure;
+			try {
+				HttpResponse response = directors.get().execute(target, request, context);
+				int status = response.getStatusLine().getStatusCode();
+				if (status < 500 || !mayRetry(call, attempt, delay)) {
+					record(endpoint, attempt, attemptStart - start);
+					return response;
+				}
+				// Frees the connection for the next attempt
+				EntityUtils.consumeQuietly(response.getEntity());
+				failure = "status " + status;
+			} catch (NoHttpResponseException | SocketException e) {
+				if (!mayRetry(call, attempt, delay)) {
+					record(endpoint, attempt, attemptStart - start);
+					throw e;
+				}
+				failure = e.toString();
+			}
+			Log.warn("Retrying {} after {} (attempt {} of {}) in {}ms", endpoint, failure, attempt + 1, maxAttempts,
+					TimeUnit.NANOSECONDS.toMillis(delay));
+			try {
+				TimeUnit.NANOSECONDS.sleep(delay);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				record(endpoint, attempt, System.nanoTime() - start);
+				throw new InterruptedIOException("Interrupted while waiting to retry " + endpoint);
+			}
+		}
+	}
+
+	/**
+	 * Starts counting the retries of the current thread's calls, until
+	 * {@link #stopCapture()}. Any earlier capture on the thread is discarded.
+	 */
+	public static void startCapture() {
+		captured.set(new Summary());
+	}
+
+	/**
+	 * @return Summary - The retries of the current thread since
+	 *         {@link #startCapture()}; empty when no capture was started.
+	 */
+	public static Summary stopCapture() {
+		Summary summary = captured.get();
+		captured.remove();
+		return summary == null ? new Summary() : summary;
+	}
+
+	// A capture not bound to a thread yet, for resumeCapture
+	static Summary newCapture() {
+		return new Summary();
+	}
+
+	// The capture of this thread, null when none was started
+	static Summary currentCapture() {
+		return captured.get();
+	}
+
+	// Makes this thread count into the given capture, e.g. one taken on
+	// another thread; null stops counting
+	static void resumeCapture(Summary summary) {
+		if (summary == null) {
+			captured.remove();
+		} else {
+			captured.set(summary);
+		}
+	}
+
+	/**
+	 * @return String - The retries of the run so far, for the end of the
+	 *         suite.
+	 */
+	public static String getStats() {
+		return String.format("HTTP retries: retries=%d on %d calls, added=%dms, budget left=%d/%d, denied=%d",
+				retries.get(), retriedCalls.get(), TimeUnit.NANOSECONDS.toMillis(addedNanos.get()),
+				budgetLeft.get(), budget, denied.get());
+	}
+
+	// Wait before the given attempt, with jitter
+	private static long delayBefore(int attempt) {
+		long cap = Math.min(maxDelayNanos, baseDelayNanos << Math.min(attempt - 2, 20));
+		return cap / 2 + ThreadLocalRandom.current().nextLong(cap / 2 + 1);
+	}
+
+	private static boolean mayRetry(CallContext call, int attempt, long delay) {
+		if (attempt >= maxAttempts) {
+			return false;
+		}
+		if (call != null && (call.getAbortReason() != null || call.remainingNanos() <= delay)) {
+			return false;
+		}
+		// The budget is only spent on retries that are made
+		if (budgetLeft.getAndUpdate(left -> left > 0 ? left - 1 : 0) > 0) {
+			return true;
+		}
+		if (denied.getAndIncrement() == 0) {
+			Log.warn("Retry budget of {} retries used up; failures are no longer retried", budget);
+		}
+		return false;
+	}
+
+	private static void record(String endpoint, int attempts, long added) {
+		if (attempts <= 1) {
+			return;
+		}
+		retries.addAndGet(attempts - 1);
+		retriedCalls.incrementAndGet();
+		addedNanos.addAndGet(added);
+		Summary summary = captured.get();
+		if (summary != null) {
+			summary.add(endpoint, attempts - 1, added);
+		}
+	}
+
+	/**
+	 * Retries of the calls of one thread, and of the calls it ran through
+	 * {@link AsyncApiUtil}.
+	 */
+	public static final class Summary {
+		private final Map<String, Integer> retriesByEndpoint = new TreeMap<>();
+		private int retries;
+		private long addedNanos;
+
+		private synchronized void add(String endpoint, int callRetries, long callAddedNanos) {
+			retriesByEndpoint.merge(endpoint, callRetries, Integer::sum);
+			retries += callRetries;
+			addedNanos += callAddedNanos;
+		}
+
+		// Counts the retries of another capture into this one
+		void addAll(Summary other) {
+			Map<String, Integer> otherRetries;
+			long otherAddedNanos;
+			synchronized (other) {
+				otherRetries = new TreeMap<>(other.retriesByEndpoint);
+				otherAddedNanos = other.addedNanos;
+			}
+			synchronized (this) {
+				for (Map.Entry<String, Integer> entry : otherRetries.entrySet()) {
+					add(entry.getKey(), entry.getValue(), 0);
+				}
+				addedNanos += otherAddedNanos;
+			}
+		}
+
+		public synchronized int getRetries() {
+			return retries;
+		}
+
+		public synchronized long getAddedMillis() {
+			return TimeUnit.NANOSECONDS.toMillis(addedNanos);
+		}
+
+		@Override
+		public synchronized String toString() {
+			return "HTTP retries: " + retries + " " + retriesByEndpoint + ", added " + getAddedMillis() + "ms";
+		}
+	}
+}
@@ -0,0 +1,233 @@
+package rest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import apiRequests.AppointmentRequest;
+import apiRequests.CurrencyRequest;
+import apiRequests.DepartmentRequest;
+
+/**
+ * Writes request DTOs as JSON request bodies.
+ *
+ * @description Bodies are streamed field by field with a Jackson generator, so
+ *              text values are escaped properly (quotes, backslashes, control
+ *              characters) and encoded as UTF-8, without building a tree, a
+ *              {@code Map} or intermediate strings. Field names are encoded
+ *              once. Each thread writes into its own reusable buffer and only
+ *              the finished body is copied out, so generating many payloads,
+ *              e.g. appointments during a load run, allocates little more than
+ *              the bodies themselves. Fields left null are not written. Pass
+ *              the returned bytes to an {@link ApiUtil} method, which sends them
+ *              unchanged.
+ */
+public class PayloadWriter {
+
+	// A thread's buffer is dropped instead of kept once a body outgrew this
+	private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+	private static final JsonFactory FACTORY = new ObjectMapper().getFactory()
+			.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+	private static final ThreadLocal<PayloadBuffer> buffers = ThreadLocal.withInitial(PayloadBuffer::new);
+
+	private static final SerializableString APPOINTMENT_ID = name("AppointmentId");
+	private static final SerializableString PATIENT_ID = name("PatientId");
+	private static final SerializableString FIRST_NAME = name("FirstName");
+	private static final SerializableString MIDDLE_NAME = name("MiddleName");
+	private static final SerializableString LAST_NAME = name("LastName");
+	private static final SerializableString FULL_NAME = name("FullName");
+	private static final SerializableString GENDER = name("Gender");
+	private static final SerializableString AGE = name("Age");
+	private static final SerializableString CONTACT_NUMBER = name("ContactNumber");
+	private static final SerializableString APPOINTMENT_DATE = name("AppointmentDate");
+	private static final SerializableString APPOINTMENT_TIME = name("AppointmentTime");
+	private static final SerializableString PERFORMER_ID = name("PerformerId");
+	private static final SerializableString PERFORMER_NAME = name("PerformerName");
+	private static final SerializableString APPOINTMENT_TYPE = name("AppointmentType");
+	private static final SerializableString APPOINTMENT_STATUS = name("AppointmentStatus");
+	private static final SerializableString CANCELLED_REMARKS = name("CancelledRemarks");
+	private static final SerializableString DEPARTMENT_ID = name("DepartmentId");
+	private static final SerializableString DEPARTMENT_CODE = name("DepartmentCode");
+	private static final SerializableString DEPARTMENT_NAME = name("DepartmentName");
+	private static final SerializableString DESCRIPTION = name("Description");
+	private static final SerializableString NOTICE_TEXT = name("NoticeText");
+	private static final SerializableString ROOM_NUMBER = name("RoomNumber");
+	private static final SerializableString IS_ACTIVE = name("IsActive");
+	private static final SerializableString IS_APPOINTMENT_APPLICABLE = name("IsAppointmentApplicable");
+	private static final SerializableString CREATED_BY = name("CreatedBy");
+	private static final SerializableString CURRENCY_CODE = name("CurrencyCode");
+
+	private PayloadWriter() {
+	}
+
+	/**
+	 * @param appointment - The appointment to book.
+	 * @return byte[] - The UTF-8 JSON body of
+	 *         {@code POST /Appointment/AddAppointment}. {@code AppointmentId} is
+	 *         only written once assigned (non-zero).
+	 */
+	public static byte[] write(AppointmentRequest appointment) {
+		PayloadBuffer buffer = buffers.get();
+		buffer.reset();
+		writeTo(appointment, buffer);
+		return buffer.release();
+	}
+
+	/**
+	 * @param department - The department to add or edit.
+	 * @return byte[] - The UTF-8 JSON body of {@code /Settings/Department}.
+	 */
+	public static byte[] write(DepartmentRequest department) {
+		PayloadBuffer buffer = buffers.get();
+		buffer.reset();
+		writeTo(department, buffer);
+		return buffer.release();
+	}
+
+	/**
+	 * @param currency - The currency to add.
+	 * @return byte[] - The UTF-8 JSON body of the request.
+	 */
+	public static byte[] write(CurrencyRequest currency) {
+		PayloadBuffer buffer = buffers.get();
+		buffer.reset();
+		writeTo(currency, buffer);
+		return buffer.release();
+	}
+
+	/**
+	 * Writes the appointment as UTF-8 JSON to the stream, which is left open.
+	 *
+	 * @param appointment - The appointment to book.
+	 * @param out         - Where the body is written.
+	 */
+	public static void writeTo(AppointmentRequest appointment, OutputStream out) {
+		try (JsonGenerator generator = FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+			generator.writeStartObject();
+			if (appointment.getAppointmentId() != 0) {
+				generator.writeFieldName(APPOINTMENT_ID);
+				generator.writeNumber(appointment.getAppointmentId());
+			}
+			writeNumber(generator, PATIENT_ID, appointment.getPatientId());
+			writeText(generator, FIRST_NAME, appointment.getFirstName());
+			writeText(generator, MIDDLE_NAME, appointment.getMiddleName());
+			writeText(generator, LAST_NAME, appointment.getLastName());
+			writeText(generator, FULL_NAME, appointment.getFullName());
+			writeText(generator, GENDER, appointment.getGender());
+			generator.writeFieldName(AGE);
+			generator.writeNumber(appointment.getAge());
+			writeText(generator, CONTACT_NUMBER, appointment.getContactNumber());
+			writeText(generator, APPOINTMENT_DATE, appointment.getAppointmentDate());
+			writeText(generator, APPOINTMENT_TIME, appointment.getAppointmentTime());
+			writeNumber(generator, PERFORMER_ID, appointment.getPerformerId());
+			writeText(generator, PERFORMER_NAME, appointment.getPerformerName());
+			writeText(generator, APPOINTMENT_TYPE, appointment.getAppointmentType());
+			writeText(generator, APPOINTMENT_STATUS, appointment.getAppointmentStatus());
+			writeText(generator, CANCELLED_REMARKS, appointment.getCancelledRemarks());
+			generator.writeFieldName(DEPARTMENT_ID);
+			generator.writeNumber(appointment.getDepartmentId());
+			generator.writeEndObject();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Writes the department as UTF-8 JSON to the stream, which is left open.
+	 *
+	 * @param department - The department to add or edit.
+	 * @param out        - Where the body is written.
+	 */
+	public static void writeTo(DepartmentRequest department, OutputStream out) {
+		try (JsonGenerator generator = FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+			generator.writeStartObject();
+			writeNumber(generator, DEPARTMENT_ID, department.getDepartmentId());
+			writeText(generator, DEPARTMENT_CODE, department.getDepartmentCode());
+			writeText(generator, DEPARTMENT_NAME, department.getDepartmentName());
+			writeText(generator, DESCRIPTION, department.getDescription());
+			writeText(generator, NOTICE_TEXT, department.getNoticeText());
+			writeText(generator, ROOM_NUMBER, department.getRoomNumber());
+			writeBoolean(generator, IS_ACTIVE, department.getIsActive());
+			writeBoolean(generator, IS_APPOINTMENT_APPLICABLE, department.getIsAppointmentApplicable());
+			writeNumber(generator, CREATED_BY, department.getCreatedBy());
+			generator.writeEndObject();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Writes the currency as UTF-8 JSON to the stream, which is left open.
+	 *
+	 * @param currency - The currency to add.
+	 * @param out      - Where the body is written.
+	 */
+	public static void writeTo(CurrencyRequest currency, OutputStream out) {
+		try (JsonGenerator generator = FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+			generator.writeStartObject();
+			writeText(generator, CURRENCY_CODE, currency.getCurrencyCode());
+			writeText(generator, DESCRIPTION, currency.getDescription());
+			writeNumber(generator, CREATED_BY, currency.getCreatedBy());
+			writeBoolean(generator, IS_ACTIVE, currency.getIsActive());
+			generator.writeEndObject();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void writeText(JsonGenerator generator, SerializableString field, String value)
+			throws IOException {
+		if (value != null) {
+			generator.writeFieldName(field);
+			generator.writeString(value);
+		}
+	}
+
+	private static void writeNumber(JsonGenerator generator, SerializableString field, Integer value)
+			throws IOException {
+		if (value != null) {
+			generator.writeFieldName(field);
+			generator.writeNumber(value.intValue());
+		}
+	}
+
+	private static void writeBoolean(JsonGenerator generator, SerializableString field, Boolean value)
+			throws IOException {
+		if (value != null) {
+			generator.writeFieldName(field);
+			generator.writeBoolean(value.booleanValue());
+		}
+	}
+
+	private static SerializableString name(String field) {
+		SerializedString name = new SerializedString(field);
+		// Encodes the name now instead of on first use
+		name.asQuotedUTF8();
+		return name;
+	}
+
+	private static final class PayloadBuffer extends ByteArrayOutputStream {
+		private PayloadBuffer() {
+			super(512);
+		}
+
+		// Copies the body out; an oversized buffer is not kept for the thread
+		private byte[] release() {
+			byte[] body = Arrays.copyOf(buf, count);
+			if (buf.length > MAX_RETAINED_BUFFER) {
+				buffers.remove();
+			}
+			return body;
+		}
+	}
+}
@@ -0,0 +1,39 @@
+package rest;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Semaphore whose number of permits can be changed while permits are held,
+ * e.g. when a concurrency limit is retuned by a config reload. Lowering the
+ * limit takes effect as held permits are released.
+ */
+public class ResizableSemaphore extends Semaphore {
+
+	private static final long serialVersionUID = 1L;
+
+	private int limit;
+
+	public ResizableSemaphore(int limit, boolean fair) {
+		super(limit, fair);
+		this.limit = limit;
+	}
+
+	public synchronized int getLimit() {
+		return limit;
+	}
+
+	/**
+	 * @param newLimit - The number of permits from now on; at least 1.
+	 */
+	public synchronized void setLimit(int newLimit) {
+		if (newLimit < 1) {
+			throw new IllegalArgumentException("The limit must be at least 1");
+		}
+		if (newLimit > limit) {
+			release(newLimit - limit);
+		} else if (newLimit < limit) {
+			reducePermits(limit - newLimit);
+		}
+		limit = newLimit;
+	}
+}
@@ -0,0 +1,199 @@
+package rest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+
+/**
+ * Parsed JSON body of an API response.
+ *
+ * @description The body is parsed a single time into a Jackson tree and every
+ *              lookup afterwards walks that tree, so reading {@code Status},
+ *              {@code Results} and nested fields no longer re-parses the whole
+ *              payload through GPath for each call. Paths use the same dotted
+ *              notation the tests already use with {@code jsonPath()}, e.g.
+ *              {@code Results.AppointmentId} or {@code Results[0].FirstName}.
+ *              Values are returned as plain Java types (Integer, Long, Float,
+ *              Double, String, Boolean, List, Map) like GPath does. Unlike
+ *              GPath, paths have no filters, closures or method calls.
+ */
+public class ResponseBody {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private final JsonNode root;
+
+	private ResponseBody(JsonNode root) {
+		this.root = root;
+	}
+
+	/**
+	 * @param content - The raw response body.
+	 * @return ResponseBody - The parsed body; an empty or non-JSON body yields a
+	 *         body where every lookup returns null.
+	 */
+	public static ResponseBody parse(byte[] content) {
+		if (content == null || content.length == 0) {
+			return new ResponseBody(null);
+		}
+		try {
+			return new ResponseBody(MAPPER.readTree(content));
+		} catch (IOException e) {
+			return new ResponseBody(null);
+		}
+	}
+
+	public JsonNode getRoot() {
+		return root;
+	}
+
+	/**
+	 * @param path - Dotted path such as {@code Results[0].FirstName}. A field
+	 *             applied to an array is read from each element and the values
+	 *             are collected into an array of the same shape, as GPath does:
+	 *             {@code Results.PatientId} of an array of patients is the array
+	 *             of their ids, null where an id is missing. A negative index
+	 *             counts from the end.
+	 * @return JsonNode - The node at the path, or null when any segment is
+	 *         missing.
+	 * @throws IllegalArgumentException - When the path has an unclosed or
+	 *                                  non-numeric {@code [index]}.
+	 */
+	public JsonNode getNode(String path) {
+		JsonNode node = root;
+		int length = path.length();
+		int start = 0;
+		while (node != null && start < length) {
+			char c = path.charAt(start);
+			if (c == '.') {
+				start++;
+			} else if (c == '[') {
+				int end = path.indexOf(']', start);
+				if (end < 0) {
+					throw new IllegalArgumentException("Unclosed '[' in path " + path);
+				}
+				node = node.isArray() ? node.get(index(path, path.substring(start + 1, end).trim(), node.size()))
+						: null;
+				start = end + 1;
+			} else {
+				int end = start;
+				while (end < length && path.charAt(end) != '.' && path.charAt(end) != '[') {
+					end++;
+				}
+				node = field(node, path.substring(start, end));
+				start = end;
+			}
+		}
+		return node == null || node.isMissingNode() ? null : node;
+	}
+
+	private static JsonNode field(JsonNode node, String name) {
+		if (node.isObject()) {
+			return node.get(name);
+		}
+		if (!node.isArray()) {
+			return null;
+		}
+		ArrayNode values = MAPPER.createArrayNode();
+		for (JsonNode element : node) {
+			JsonNode value = element.isArray() ? field(element, name) : element.get(name);
+			values.add(value == null ? NullNode.getInstance() : value);
+		}
+		return values;
+	}
+
+	private static int index(String path, String index, int size) {
+		int value;
+		try {
+			value = Integer.parseInt(index);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Index '" + index + "' in path " + path + " is not a number", e);
+		}
+		return value < 0 ? size + value : value;
+	}
+
+	public Object get(String path) {
+		return toJava(getNode(path));
+	}
+
+	public String getString(String path) {
+		JsonNode node = getNode(path);
+		if (node == null || node.isNull()) {
+			return null;
+		}
+		return node.isValueNode() ? node.asText() : node.toString();
+	}
+
+	public Integer getInteger(String path) {
+		JsonNode node = getNode(path);
+		if (node == null || node.isNull()) {
+			return null;
+		}
+		if (node.isNumber()) {
+			return node.intValue();
+		}
+		return node.isTextual() ? Integer.valueOf(node.textValue().trim()) : null;
+	}
+
+	public Boolean getBoolean(String path) {
+		JsonNode node = getNode(path);
+		return node == null || node.isNull() ? null : node.asBoolean();
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T> List<T> getList(String path) {
+		JsonNode node = getNode(path);
+		return node != null && node.isArray() ? (List<T>) toJava(node) : null;
+	}
+
+	@SuppressWarnings("unchecked")
+	public Map<String, Object> getMap(String path) {
+		JsonNode node = getNode(path);
+		return node != null && node.isObject() ? (Map<String, Object>) toJava(node) : null;
+	}
+
+	static Object toJava(JsonNode node) {
+		if (node == null || node.isNull()) {
+			return null;
+		}
+		if (node.isObject()) {
+			Map<String, Object> map = new LinkedHashMap<>(node.size() * 2);
+			Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+			while (fields.hasNext()) {
+				Map.Entry<String, JsonNode> field = fields.next();
+				map.put(field.getKey(), toJava(field.getValue()));
+			}
+			return map;
+		}
+		if (node.isArray()) {
+			List<Object> list = new ArrayList<>(node.size());
+			for (JsonNode element : node) {
+				list.add(toJava(element));
+			}
+			return list;
+		}
+		if (node.isIntegralNumber()) {
+			if (node.canConvertToInt()) {
+				return node.intValue();
+			}
+			return node.canConvertToLong() ? (Object) node.longValue() : node.bigIntegerValue();
+		}
+		if (node.isNumber()) {
+			// Same FLOAT_AND_DOUBLE behaviour as GPath
+			double value = node.doubleValue();
+			return Math.abs(value) <= Float.MAX_VALUE ? (Object) (float) value : (Object) value;
+		}
+		if (node.isBoolean()) {
+			return node.booleanValue();
+		}
+		return node.asText();
+	}
+}
@@ -0,0 +1,197 @@
+package rest;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import restConfig.ConfigManager;
+
+/**
+ * Rest Assured filter that caches the responses of read-only reference
+ * endpoints, such as {@code /PharmacySettings/MainStore} or
+ * {@code /Billing/CurrentFiscalYear}, for the {@link ApiUtil} calls.
+ *
+ * @description Off unless {@code cache.endpoints} lists the paths to cache.
+ *              A 200 response to a GET of such a path is kept for
+ *              {@code cache.ttlSeconds} under its method, URL and
+ *              {@code Authorization} header, so another test of any suite, or
+ *              the load runner, gets the same response without a call, but
+ *              only when it calls as the same user. Keying on the header rather
+ *              than the {@link AuthUtil} account index keeps this true when
+ *              the login pool changes; a refreshed token just starts new
+ *              entries. At most {@code cache.maxEntries} responses are kept,
+ *              the least recently used going first. When an expired response came with an ETag,
+ *              it is revalidated with {@code If-None-Match}, and a 304 keeps it
+ *              for another period. Hits make no call and return before the
+ *              filters added after this one: {@link CallGuardFilter} applies
+ *              no timeout or circuit breaker, {@link ResponseLogFilter} does
+ *              not keep the body for a failure report, and
+ *              {@link rest.metrics.LatencyFilter} records no latency. A
+ *              {@code LatencySla} on a cached endpoint therefore only measures
+ *              the misses, which is logged as a warning by
+ *              {@code LatencySlaListener}.
+ */
+public class ResponseCacheFilter implements Filter {
+
+	private static final long DEFAULT_TTL_SECONDS = 300;
+	private static final int DEFAULT_MAX_ENTRIES = 100;
+
+	private static final AtomicLong hits = new AtomicLong();
+	private static final AtomicLong misses = new AtomicLong();
+	private static final AtomicLong revalidated = new AtomicLong();
+	private static volatile Settings settings = Settings.read();
+	private static volatile Map<String, Entry> entries = newEntries(settings.maxEntries);
+
+	static {
+		ConfigManager.addChangeListener(changed -> {
+			if (changed.contains("cache.endpoints") || changed.contains("cache.ttlSeconds")
+					|| changed.contains("cache.maxEntries") || changed.contains("base.url")) {
+				settings = Settings.read();
+				entries = newEntries(settings.maxEntries);
+			}
+		});
+	}
+
+	private final String basePath;
+
+	/**
+	 * @param baseUri - The base URI of the API; {@code cache.endpoints} are
+	 *                paths below it.
+	 */
+	public ResponseCacheFilter(String baseUri) {
+		this.basePath = URI.create(baseUri).getRawPath();
+	}
+
+	@Override
+	public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+			FilterContext ctx) {
+		Settings current = settings;
+		if (current.endpoints.isEmpty() || !"GET".equalsIgnoreCase(requestSpec.getMethod())
+				|| !current.endpoints.contains(pathOf(requestSpec.getURI()))) {
+			return ctx.next(requestSpec, responseSpec);
+		}
+		Map<String, Entry> cache = entries;
+		String key = requestSpec.getMethod() + " " + requestSpec.getURI() + " "
+				+ requestSpec.getHeaders().getValue("Authorization");
+		Entry cached;
+		synchronized (cache) {
+			cached = cache.get(key);
+		}
+		long now = System.nanoTime();
+		if (cached != null && now - cached.expiresAt < 0) {
+			hits.incrementAndGet();
+			return cached.response;
+		}
+		if (cached != null && cached.etag != null) {
+			requestSpec.header("If-None-Match", cached.etag);
+		}
+
+		Response response = ctx.next(requestSpec, responseSpec);
+		Entry fresh = null;
+		if (cached != null && cached.etag != null && response.getStatusCode() == 304) {
+			revalidated.incrementAndGet();
+			fresh = new Entry(cached.response, cached.etag, now + current.ttlNanos);
+		} else {
+			misses.incrementAndGet();
+			if (response.getStatusCode() == 200) {
+				// Buffered, so every caller reads the same body
+				response.asByteArray();
+				fresh = new Entry(response, response.getHeader("ETag"), now + current.ttlNanos);
+			}
+		}
+		synchronized (cache) {
+			if (fresh != null) {
+				cache.put(key, fresh);
+			} else {
+				cache.remove(key);
+			}
+		}
+		return fresh != null ? fresh.response : response;
+	}
+
+	/**
+	 * @param path - An endpoint path below the base URI, without query string.
+	 * @return boolean - Whether GETs of the path are cached.
+	 */
+	public static boolean isCached(String path) {
+		return settings.endpoints.contains(path);
+	}
+
+	/**
+	 * @return String - Hits, misses and revalidations of the run so far, for
+	 *         the end of the suite.
+	 */
+	public static String getStats() {
+		int size;
+		Map<String, Entry> cache = entries;
+		synchronized (cache) {
+			size = cache.size();
+		}
+		return String.format("Response cache: hits=%d, misses=%d, revalidated=%d, entries=%d/%d", hits.get(),
+				misses.get(), revalidated.get(), size, settings.maxEntries);
+	}
+
+	private String pathOf(String uri) {
+		String path = URI.create(uri).getRawPath();
+		return path.startsWith(basePath) ? path.substring(basePath.length()) : path;
+	}
+
+	// Least recently used first, dropped beyond maxEntries
+	private static Map<String, Entry> newEntries(final int maxEntries) {
+		return new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	private static final class Entry {
+		private final Response response;
+		private final String etag;
+		private final long expiresAt;
+
+		private Entry(Response response, String etag, long expiresAt) {
+			this.response = response;
+			this.etag = etag;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+	private static final class Settings {
+		private final Set<String> endpoints;
+		private final long ttlNanos;
+		private final int maxEntries;
+
+		private Settings(Set<String> endpoints, long ttlNanos, int maxEntries) {
+			this.endpoints = endpoints;
+			this.ttlNanos = ttlNanos;
+			this.maxEntries = maxEntries;
+		}
+
+		private static Settings read() {
+			Set<String> endpoints = new HashSet<>();
+			for (String endpoint : Arrays.asList(ConfigManager.getString("cache.endpoints", "").split(","))) {
+				if (!endpoint.trim().isEmpty()) {
+					endpoints.add(endpoint.trim());
+				}
+			}
+			return new Settings(Collections.unmodifiableSet(endpoints),
+					TimeUnit.SECONDS.toNanos(ConfigManager.getLong("cache.ttlSeconds", DEFAULT_TTL_SECONDS)),
+					ConfigManager.getInt("cache.maxEntries", DEFAULT_MAX_ENTRIES));
+		}
+	}
+}
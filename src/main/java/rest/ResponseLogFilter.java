@@ -0,0 +1,31 @@
+package rest;
+
+import java.net.URI;
+
+import coreUtilities.utils.BodyLogger;
+import coreUtilities.utils.Log;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Rest Assured filter that hands every response to {@link BodyLogger}.
+ *
+ * @description Added once to the shared base spec in place of the
+ *              {@code prettyPrint()} calls, so bodies are only logged when a
+ *              test fails or at DEBUG level. It also puts the endpoint being
+ *              called in the logging thread context (see {@link Log}).
+ */
+public class ResponseLogFilter implements Filter {
+
+	@Override
+	public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+			FilterContext ctx) {
+		Log.setEndpoint(requestSpec.getMethod() + " " + URI.create(requestSpec.getURI()).getRawPath());
+		Response response = ctx.next(requestSpec, responseSpec);
+		BodyLogger.record(requestSpec.getMethod() + " " + requestSpec.getURI(), response);
+		return response;
+	}
+}
@@ -0,0 +1,239 @@
+package rest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Streaming access to the top-level {@code Results} array of a response body.
+ *
+ * @description Large list endpoints such as {@code /PharmacyStock/AllStockDetails},
+ *              {@code /Billing/Invoices} and the admitted patient lists return
+ *              thousands of rows. Instead of converting the whole array into a
+ *              {@code List<Map<String, Object>>} next to the raw body, this class
+ *              walks the JSON tokens and hands over one element at a time, or
+ *              pulls a single field out of every element without building any
+ *              per-row objects. It reads the body {@link CustomResponse} has
+ *              already buffered, so the raw bytes of the whole response are
+ *              still on the heap; what is avoided is the second, much larger
+ *              copy as Java maps and lists, of which at most one element
+ *              exists at a time.
+ */
+public class ResultsStream {
+
+	private static final String RESULTS_FIELD = "Results";
+	private static final JsonFactory FACTORY = new ObjectMapper().getFactory();
+
+	private ResultsStream() {
+	}
+
+	/**
+	 * @param content  - The raw response body.
+	 * @param consumer - Called once per element of {@code Results}, in order.
+	 * @return int - The number of elements visited.
+	 */
+	public static int forEach(byte[] content, Consumer<JsonNode> consumer) {
+		int count = 0;
+		Iterator<JsonNode> results = iterator(content);
+		while (results.hasNext()) {
+			consumer.accept(results.next());
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * @param content - The raw response body.
+	 * @return Iterator - Lazily parses one element of {@code Results} per call to
+	 *         {@code next()}. Empty when the body has no {@code Results} array.
+	 */
+	public static Iterator<JsonNode> iterator(byte[] content) {
+		try {
+			JsonParser parser = openResults(content);
+			if (parser != null && parser.currentToken() != JsonToken.START_ARRAY) {
+				parser.close();
+				parser = null;
+			}
+			return parser == null ? Collections.<JsonNode>emptyIterator() : new ResultIterator(parser);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * @param content - The raw response body.
+	 * @param field   - Top-level field of each element, e.g. {@code ItemId}.
+	 * @return int[] - The numeric values of the field, in element order. Elements
+	 *         where the field is missing or null are skipped.
+	 */
+	public static int[] collectInts(byte[] content, String field) {
+		class IntCollector implements FieldVisitor {
+			int[] values = new int[16];
+			int size;
+
+			@Override
+			public void visit(int row, String name, JsonParser parser) throws IOException {
+				if (name.equals(field) && parser.currentToken().isNumeric()) {
+					if (size == values.length) {
+						values = Arrays.copyOf(values, size * 2);
+					}
+					values[size++] = parser.getIntValue();
+				}
+			}
+		}
+		IntCollector collector = new IntCollector();
+		readFields(content, collector);
+		return Arrays.copyOf(collector.values, collector.size);
+	}
+
+	/**
+	 * @param content - The raw response body.
+	 * @param field   - Top-level field of each element, e.g. {@code PatientCode}.
+	 * @return String[] - The field's scalar values as text, one per element and
+	 *         in element order; null where the field is missing, null or not a
+	 *         scalar.
+	 */
+	public static String[] collectTexts(byte[] content, String field) {
+		class TextCollector implements FieldVisitor {
+			String[] values = new String[16];
+
+			@Override
+			public void visit(int row, String name, JsonParser parser) throws IOException {
+				JsonToken token = parser.currentToken();
+				if (name.equals(field) && token.isScalarValue() && token != JsonToken.VALUE_NULL) {
+					if (row >= values.length) {
+						values = Arrays.copyOf(values, Math.max(row + 1, values.length * 2));
+					}
+					values[row] = parser.getText();
+				}
+			}
+		}
+		TextCollector collector = new TextCollector();
+		int rows = readFields(content, collector);
+		return Arrays.copyOf(collector.values, rows);
+	}
+
+	/**
+	 * Walks every top-level field of every {@code Results} element straight from
+	 * the token stream. A {@code Results} object is treated as a single row.
+	 * 
+	 * @param content - The raw response body.
+	 * @param visitor - Called with the parser positioned on each field value. It
+	 *                may read the value; nested values it leaves unread are
+	 *                skipped.
+	 * @return int - The number of rows visited.
+	 */
+	public static int readFields(byte[] content, FieldVisitor visitor) {
+		int rows = 0;
+		try (JsonParser parser = openResults(content)) {
+			if (parser == null) {
+				return 0;
+			}
+			if (parser.currentToken() == JsonToken.START_OBJECT) {
+				visitFields(parser, 0, visitor);
+				return 1;
+			}
+			JsonToken token;
+			while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+				if (token == JsonToken.START_OBJECT) {
+					visitFields(parser, rows, visitor);
+				} else {
+					parser.skipChildren();
+				}
+				rows++;
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return rows;
+	}
+
+	private static void visitFields(JsonParser parser, int row, FieldVisitor visitor) throws IOException {
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String name = parser.getCurrentName();
+			JsonToken value = parser.nextToken();
+			visitor.visit(row, name, parser);
+			// Skip any object or array the visitor did not consume
+			if (parser.currentToken() == value) {
+				parser.skipChildren();
+			}
+		}
+	}
+
+	// Positions the parser on the Results value, or returns null when there is
+	// no Results array or object
+	private static JsonParser openResults(byte[] content) throws IOException {
+		if (content == null || content.length == 0) {
+			return null;
+		}
+		JsonParser parser = FACTORY.createParser(content);
+		if (parser.nextToken() != JsonToken.START_OBJECT) {
+			parser.close();
+			return null;
+		}
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String name = parser.getCurrentName();
+			JsonToken value = parser.nextToken();
+			if (RESULTS_FIELD.equals(name) && (value == JsonToken.START_ARRAY || value == JsonToken.START_OBJECT)) {
+				return parser;
+			}
+			parser.skipChildren();
+		}
+		parser.close();
+		return null;
+	}
+
+	/**
+	 * Receives each field of a result row while it is being parsed.
+	 */
+	public interface FieldVisitor {
+		void visit(int row, String field, JsonParser parser) throws IOException;
+	}
+
+	private static class ResultIterator implements Iterator<JsonNode> {
+		private final JsonParser parser;
+		private JsonToken next;
+
+		ResultIterator(JsonParser parser) throws IOException {
+			this.parser = parser;
+			advance();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public JsonNode next() {
+			if (next == null) {
+				throw new NoSuchElementException();
+			}
+			try {
+				JsonNode element = parser.readValueAsTree();
+				advance();
+				return element;
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		private void advance() throws IOException {
+			next = parser.nextToken();
+			if (next == JsonToken.END_ARRAY || next == null) {
+				next = null;
+				parser.close();
+			}
+		}
+	}
+}
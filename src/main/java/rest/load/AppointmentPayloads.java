@@ -0,0 +1,36 @@
+package rest.load;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import apiRequests.AppointmentRequest;
+import rest.PayloadWriter;
+
+/**
+ * Generates a distinct {@code AddAppointment} body for every call of a load
+ * run.
+ *
+ * @description Each body is the template appointment with a running number
+ *              appended to its last name, so a run books many different
+ *              appointments instead of repeating one. The bodies are written
+ *              by {@link PayloadWriter} into its reusable per-thread buffer.
+ *              Selected in the mix file with {@code "generator": "appointment"},
+ *              the entry's fixture serving as the template.
+ */
+public final class AppointmentPayloads implements Supplier<byte[]> {
+
+	private final AppointmentRequest template;
+	private final AtomicLong sequence = new AtomicLong();
+
+	public AppointmentPayloads(AppointmentRequest template) {
+		this.template = template.copy();
+	}
+
+	@Override
+	public byte[] get() {
+		AppointmentRequest appointment = template.copy();
+		String lastName = template.getLastName() == null ? "" : template.getLastName();
+		appointment.setLastName(lastName + "_" + sequence.incrementAndGet());
+		return PayloadWriter.write(appointment);
+	}
+}
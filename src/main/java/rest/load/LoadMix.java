@@ -0,0 +1,141 @@
+package rest.load;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import apiRequests.AppointmentRequest;
+import restConfig.ConfigManager;
+
+/**
+ * Weighted endpoint mix and arrival rate of a load run.
+ *
+ * @description Read from a JSON file (by default
+ *              {@code src/main/resources/loadMix.json}) listing each endpoint
+ *              with the {@link rest.ApiUtil} method that calls it, its weight
+ *              and, for POST/PUT calls, a fixture under
+ *              {@code src/main/resources/testData} sent as the body. With
+ *              {@code "generator": "appointment"} the fixture is a template
+ *              and every call sends a new appointment built from it (see
+ *              {@link AppointmentPayloads}). The rate,
+ *              duration and in-flight limit in the file can be overridden with
+ *              the {@code load.targetRps}, {@code load.durationSeconds} and
+ *              {@code load.maxInFlight} keys of {@link ConfigManager} (system
+ *              properties, environment or {@code config.properties}); the rate
+ *              and in-flight limit are re-read when the config is reloaded.
+ */
+public final class LoadMix {
+
+	public static final String DEFAULT_MIX_FILE = "src/main/resources/loadMix.json";
+	public static final String FIXTURE_DIRECTORY = "src/main/resources/testData";
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	// Values of the mix file, used where the config does not override them
+	private final double targetRps;
+	private final long durationSeconds;
+	private final int maxInFlight;
+	private final List<LoadTarget> targets;
+	private final int[] cumulativeWeights;
+
+	private LoadMix(double targetRps, long durationSeconds, int maxInFlight, List<LoadTarget> targets) {
+		if (targetRps <= 0 || durationSeconds <= 0 || maxInFlight <= 0) {
+			throw new IllegalArgumentException("targetRps, durationSeconds and maxInFlight must be positive");
+		}
+		if (targets.isEmpty()) {
+			throw new IllegalArgumentException("The load mix has no endpoints");
+		}
+		this.targetRps = targetRps;
+		this.durationSeconds = durationSeconds;
+		this.maxInFlight = maxInFlight;
+		this.targets = Collections.unmodifiableList(targets);
+		this.cumulativeWeights = new int[targets.size()];
+		int total = 0;
+		for (int i = 0; i < targets.size(); i++) {
+			total += targets.get(i).getWeight();
+			cumulativeWeights[i] = total;
+		}
+	}
+
+	/**
+	 * @param mixFile - Path of the mix JSON file.
+	 * @return LoadMix - The parsed mix with any configured overrides applied.
+	 * @throws IOException when the mix or one of its fixtures cannot be read.
+	 */
+	public static LoadMix load(String mixFile) throws IOException {
+		JsonNode root = MAPPER.readTree(Paths.get(mixFile).toFile());
+		List<LoadTarget> targets = new ArrayList<>();
+		for (JsonNode entry : root.path("endpoints")) {
+			String name = entry.path("name").asText(entry.path("endpoint").asText());
+			String fixture = entry.path("fixture").asText(null);
+			String body = fixture == null ? null : readFixture(fixture);
+			String generator = entry.path("generator").asText(null);
+			if (generator == null) {
+				targets.add(new LoadTarget(name, entry.path("call").asText(), entry.path("endpoint").asText(), body,
+						entry.path("weight").asInt(1)));
+			} else if ("appointment".equals(generator) && body != null) {
+				@SuppressWarnings("unchecked")
+				Map<String, Object> template = MAPPER.readValue(body, Map.class);
+				targets.add(new LoadTarget(name, entry.path("call").asText(), entry.path("endpoint").asText(),
+						new AppointmentPayloads(AppointmentRequest.fromData(template)), byte[].class,
+						entry.path("weight").asInt(1)));
+			} else {
+				throw new IllegalArgumentException("Unknown generator '" + generator + "' of '" + name
+						+ "'; 'appointment' needs a fixture");
+			}
+		}
+		return new LoadMix(root.path("targetRps").asDouble(10), root.path("durationSeconds").asLong(60),
+				root.path("maxInFlight").asInt(500), targets);
+	}
+
+	/**
+	 * @return double - Requests per second, re-read from the config on every
+	 *         call so a reload can change it.
+	 */
+	public double getTargetRps() {
+		return ConfigManager.getDouble("load.targetRps", targetRps);
+	}
+
+	public long getDurationSeconds() {
+		return ConfigManager.getLong("load.durationSeconds", durationSeconds);
+	}
+
+	/**
+	 * @return int - Limit of outstanding requests, re-read from the config on
+	 *         every call so a reload can change it.
+	 */
+	public int getMaxInFlight() {
+		return ConfigManager.getInt("load.maxInFlight", maxInFlight);
+	}
+
+	public List<LoadTarget> getTargets() {
+		return targets;
+	}
+
+	/**
+	 * @param random - A number in {@code [0, 1)}.
+	 * @return LoadTarget - The target whose weight band contains the number.
+	 */
+	public LoadTarget pick(double random) {
+		int point = (int) (random * cumulativeWeights[cumulativeWeights.length - 1]);
+		int index = 0;
+		while (cumulativeWeights[index] <= point) {
+			index++;
+		}
+		return targets.get(index);
+	}
+
+	private static String readFixture(String fixture) throws IOException {
+		Path path = Paths.get(FIXTURE_DIRECTORY, fixture);
+		return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,189 @@
+package rest.load;
+
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import rest.ApiExecutors;
+import rest.ApiUtil;
+import rest.CustomResponse;
+import rest.HttpClientPool;
+import rest.ResizableSemaphore;
+import rest.metrics.LatencyRecorder;
+import restConfig.ConfigManager;
+
+/**
+ * Capacity-test entry point that replays {@link ApiUtil} calls at a target
+ * request rate.
+ *
+ * @description Arrivals follow an open model: requests are started on a fixed
+ *              schedule of {@code targetRps} per second no matter how long
+ *              earlier ones take, so a slow server shows up as growing latency,
+ *              in-flight requests and errors instead of a silently lower send
+ *              rate. Each arrival picks an endpoint from the weighted
+ *              {@link LoadMix}. When {@code maxInFlight} requests are already
+ *              outstanding the arrival is counted as dropped. Requests run on
+ *              virtual threads when the JDK supports them, otherwise on a
+ *              platform pool of {@code maxInFlight} threads. Latency is
+ *              measured from the scheduled arrival, not from the moment the
+ *              request was actually sent, so a send delayed by a busy client
+ *              counts against the response time; the service time from the
+ *              send is reported next to it. At the end the throughput, error
+ *              rate and latency of every endpoint are printed, followed by the
+ *              per-call service time percentiles recorded by
+ *              {@link LatencyRecorder}. Changing {@code load.targetRps} or
+ *              {@code load.maxInFlight} in {@code config.properties} retunes a
+ *              running soak test within the config reload interval. Usage:
+ *              {@code LoadRunner [mixFile]}.
+ */
+public class LoadRunner {
+
+	private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+	private static final long DRAIN_TIMEOUT_SECONDS = 120;
+
+	private final LoadMix mix;
+	private final ApiUtil apiUtil;
+
+	public LoadRunner(LoadMix mix, ApiUtil apiUtil) {
+		this.mix = mix;
+		this.apiUtil = apiUtil;
+	}
+
+	public static void main(String[] args) throws Exception {
+		LoadMix mix = LoadMix.load(args.length > 0 ? args[0] : LoadMix.DEFAULT_MIX_FILE);
+		new LoadRunner(mix, new ApiUtil()).run();
+	}
+
+	/**
+	 * Sends the configured load, waits for the outstanding requests and prints
+	 * the report.
+	 *
+	 * @return long - Wall-clock nanoseconds from the first arrival until the
+	 *         last response.
+	 */
+	public long run() throws InterruptedException {
+		ExecutorService executor = ApiExecutors.virtualThreadsSupported() ? ApiExecutors.newVirtualThreadExecutor()
+				: ApiExecutors.newPlatformThreadExecutor("load-", mix.getMaxInFlight());
+		ResizableSemaphore inFlight = new ResizableSemaphore(mix.getMaxInFlight(), false);
+		AtomicBoolean retuned = new AtomicBoolean();
+		Consumer<Set<String>> listener = changed -> {
+			if (changed.contains("load.targetRps") || changed.contains("load.maxInFlight")) {
+				retuned.set(true);
+			}
+		};
+		ConfigManager.addChangeListener(listener);
+		long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / mix.getTargetRps());
+
+		System.out.println(String.format("Load run: %.1f req/s for %ds over %d endpoints, max in flight %d",
+				mix.getTargetRps(), mix.getDurationSeconds(), mix.getTargets().size(), mix.getMaxInFlight()));
+		long start = System.nanoTime();
+		long end = start + TimeUnit.SECONDS.toNanos(mix.getDurationSeconds());
+		long nextProgress = start + PROGRESS_INTERVAL_NANOS;
+		// The schedule restarts from the next arrival whenever the rate is retuned
+		long scheduleStart = start;
+		long scheduled = 0;
+		while (true) {
+			if (retuned.getAndSet(false)) {
+				scheduleStart += scheduled * intervalNanos;
+				scheduled = 0;
+				intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / mix.getTargetRps());
+				inFlight.setLimit(mix.getMaxInFlight());
+				System.out.println(String.format("Load retuned: %.1f req/s, max in flight %d", mix.getTargetRps(),
+						mix.getMaxInFlight()));
+			}
+			// Arrivals stay on the fixed schedule; when the loop falls behind it
+			// catches up instead of lowering the rate
+			long due = scheduleStart + scheduled++ * intervalNanos;
+			if (due >= end) {
+				break;
+			}
+			long wait;
+			while ((wait = due - System.nanoTime()) > 0) {
+				LockSupport.parkNanos(wait);
+			}
+			LoadTarget target = mix.pick(ThreadLocalRandom.current().nextDouble());
+			if (!inFlight.tryAcquire()) {
+				target.getStats().recordDropped();
+				continue;
+			}
+			target.getStats().recordSent();
+			executor.execute(() -> {
+				long sent = System.nanoTime();
+				boolean success = false;
+				try {
+					success = isSuccess(target.invoke(apiUtil));
+				} catch (RuntimeException e) {
+					success = false;
+				} finally {
+					// Latency counts from the scheduled arrival, so a late send
+					// is not hidden (coordinated omission)
+					long done = System.nanoTime();
+					target.getStats().recordCompletion(success, done - due, done - sent);
+					inFlight.release();
+				}
+			});
+			if (due >= nextProgress) {
+				printProgress(start, inFlight.getLimit() - inFlight.availablePermits());
+				nextProgress += PROGRESS_INTERVAL_NANOS;
+			}
+		}
+		ConfigManager.removeChangeListener(listener);
+		executor.shutdown();
+		if (!executor.awaitTermination(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+			System.out.println("Requests still in flight after " + DRAIN_TIMEOUT_SECONDS + "s were not counted");
+		}
+		long elapsedNanos = System.nanoTime() - start;
+		printReport(elapsedNanos);
+		return elapsedNanos;
+	}
+
+	// A call succeeds on a 2xx status code unless the body reports a failure
+	private static boolean isSuccess(CustomResponse response) {
+		int statusCode = response.getStatusCode();
+		return statusCode >= 200 && statusCode < 300 && !"Failed".equalsIgnoreCase(response.getStatus());
+	}
+
+	private void printProgress(long start, int inFlight) {
+		long completed = 0;
+		long errors = 0;
+		for (LoadTarget target : mix.getTargets()) {
+			completed += target.getStats().getCompleted();
+			errors += target.getStats().getFailed() + target.getStats().getDropped();
+		}
+		double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+		System.out.println(String.format("  %5.0fs: completed=%d (%.1f/s), errors=%d, in flight=%d", seconds,
+				completed, completed / seconds, errors, inFlight));
+	}
+
+	private void printReport(long elapsedNanos) {
+		double seconds = elapsedNanos / 1_000_000_000.0;
+		long sent = 0;
+		long completed = 0;
+		long failed = 0;
+		long dropped = 0;
+		System.out.println(String.format("%-34s %8s %8s %8s %8s %9s %8s %9s %8s %9s", "Endpoint", "Sent", "OK",
+				"Failed", "Dropped", "Req/s", "Error%", "Avg ms", "Max ms", "Svc ms"));
+		for (LoadTarget target : mix.getTargets()) {
+			LoadStats stats = target.getStats();
+			sent += stats.getSent();
+			completed += stats.getCompleted();
+			failed += stats.getFailed();
+			dropped += stats.getDropped();
+			System.out.println(String.format("%-34s %8d %8d %8d %8d %9.1f %7.2f%% %9.1f %8d %9.1f", target.getName(),
+					stats.getSent(), stats.getSucceeded(), stats.getFailed(), stats.getDropped(),
+					stats.getCompleted() / seconds, stats.getErrorRate() * 100, stats.getAverageLatencyMillis(),
+					stats.getMaxLatencyMillis(), stats.getAverageServiceMillis()));
+		}
+		long arrivals = sent + dropped;
+		System.out.println(String.format(
+				"Total: %d arrivals in %.1fs, target %.1f req/s, throughput %.1f req/s, error rate %.2f%% (%d failed, %d dropped)",
+				arrivals, seconds, mix.getTargetRps(), completed / seconds,
+				arrivals == 0 ? 0.0 : (failed + dropped) * 100.0 / arrivals, failed, dropped));
+		System.out.println(HttpClientPool.getStats());
+		LatencyRecorder.dump();
+	}
+}
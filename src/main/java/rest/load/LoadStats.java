@@ -0,0 +1,86 @@
+package rest.load;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free counters of one load target, updated from every worker thread.
+ */
+public final class LoadStats {
+
+	private final LongAdder sent = new LongAdder();
+	private final LongAdder succeeded = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+	private final LongAdder latencyNanos = new LongAdder();
+	private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+	private final LongAdder serviceNanos = new LongAdder();
+
+	void recordSent() {
+		sent.increment();
+	}
+
+	/**
+	 * @param latencyNanos - Time from the scheduled arrival until the response,
+	 *                     including any wait for a worker thread.
+	 * @param serviceNanos - Time from the actual send until the response.
+	 */
+	void recordCompletion(boolean success, long latencyNanos, long serviceNanos) {
+		if (success) {
+			succeeded.increment();
+		} else {
+			failed.increment();
+		}
+		this.latencyNanos.add(latencyNanos);
+		maxLatencyNanos.accumulate(latencyNanos);
+		this.serviceNanos.add(serviceNanos);
+	}
+
+	// Arrival that could not be sent because too many requests were in flight
+	void recordDropped() {
+		dropped.increment();
+	}
+
+	public long getSent() {
+		return sent.sum();
+	}
+
+	public long getSucceeded() {
+		return succeeded.sum();
+	}
+
+	public long getFailed() {
+		return failed.sum();
+	}
+
+	public long getDropped() {
+		return dropped.sum();
+	}
+
+	public long getCompleted() {
+		return getSucceeded() + getFailed();
+	}
+
+	/**
+	 * @return double - Failed and dropped arrivals as a share of all arrivals.
+	 */
+	public double getErrorRate() {
+		long arrivals = getSent() + getDropped();
+		return arrivals == 0 ? 0.0 : (getFailed() + getDropped()) / (double) arrivals;
+	}
+
+	public double getAverageLatencyMillis() {
+		long completed = getCompleted();
+		return completed == 0 ? 0.0 : latencyNanos.sum() / 1_000_000.0 / completed;
+	}
+
+	public double getAverageServiceMillis() {
+		long completed = getCompleted();
+		return completed == 0 ? 0.0 : serviceNanos.sum() / 1_000_000.0 / completed;
+	}
+
+	public long getMaxLatencyMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos.get());
+	}
+}
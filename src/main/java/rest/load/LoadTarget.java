@@ -0,0 +1,87 @@
+package rest.load;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.function.Supplier;
+
+import rest.ApiUtil;
+import rest.CustomResponse;
+
+/**
+ * One weighted entry of a {@link LoadMix}: an {@link ApiUtil} method, the
+ * endpoint it is called with and the optional request body, either fixed or
+ * generated anew for every call.
+ */
+public final class LoadTarget {
+
+	private final String name;
+	private final String endpoint;
+	private final Supplier<?> body;
+	private final int weight;
+	private final Method call;
+	private final LoadStats stats = new LoadStats();
+
+	LoadTarget(String name, String callName, String endpoint, final String body, int weight) {
+		this(name, callName, endpoint, () -> body, String.class, weight);
+	}
+
+	LoadTarget(String name, String callName, String endpoint, Supplier<?> body, Class<?> bodyType, int weight) {
+		if (weight <= 0) {
+			throw new IllegalArgumentException("Weight of '" + name + "' must be positive");
+		}
+		this.name = name;
+		this.endpoint = endpoint;
+		this.body = body;
+		this.weight = weight;
+		this.call = findCall(callName, bodyType);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getEndpoint() {
+		return endpoint;
+	}
+
+	public int getWeight() {
+		return weight;
+	}
+
+	public LoadStats getStats() {
+		return stats;
+	}
+
+	/**
+	 * @param apiUtil - The instance to call.
+	 * @return CustomResponse - The response of the configured ApiUtil method.
+	 */
+	public CustomResponse invoke(ApiUtil apiUtil) {
+		try {
+			return (CustomResponse) call.invoke(apiUtil, endpoint, body.get());
+		} catch (InvocationTargetException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IllegalStateException(name + " failed", cause);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	// Every ApiUtil call takes (endpoint, body); the body is either a String or
+	// an Object, and generated bodies need an Object
+	private static Method findCall(String callName, Class<?> bodyType) {
+		for (Method method : ApiUtil.class.getMethods()) {
+			Class<?>[] parameters = method.getParameterTypes();
+			if (method.getName().equals(callName) && method.getReturnType() == CustomResponse.class
+					&& parameters.length == 2 && parameters[0] == String.class
+					&& parameters[1].isAssignableFrom(bodyType)) {
+				return method;
+			}
+		}
+		throw new IllegalArgumentException("ApiUtil has no method " + callName + "(String endpoint, "
+				+ bodyType.getSimpleName() + " body)");
+	}
+}
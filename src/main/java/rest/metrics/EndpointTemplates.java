@@ -0,0 +1,85 @@
+package rest.metrics;
+
+import java.net.URI;
+
+/**
+ * Reduces concrete request URLs to endpoint templates so that calls to the
+ * same endpoint share one latency histogram.
+ *
+ * @description Query parameter values and numeric path segments are replaced
+ *              with {@code {}}, e.g.
+ *              {@code /Employee/Profile?empId=12} becomes
+ *              {@code /Employee/Profile?empId={}} and
+ *              {@code /Appointment/AppointmentStatus/42} becomes
+ *              {@code /Appointment/AppointmentStatus/{}}. Parameter names and
+ *              their order are kept.
+ */
+public final class EndpointTemplates {
+
+	private static final String PLACEHOLDER = "{}";
+
+	private EndpointTemplates() {
+	}
+
+	/**
+	 * @param method   - HTTP method, e.g. {@code GET}.
+	 * @param uri      - The full request URI.
+	 * @param basePath - Path prefix of the base URL to drop, e.g. {@code /api};
+	 *                 may be null or empty.
+	 * @return String - The template key, e.g.
+	 *         {@code GET /Patient/SearchRegisteredPatient?search={}}.
+	 */
+	public static String of(String method, String uri, String basePath) {
+		URI parsed = URI.create(uri);
+		String path = parsed.getRawPath() == null ? "" : parsed.getRawPath();
+		if (basePath != null && !basePath.isEmpty() && !"/".equals(basePath) && path.startsWith(basePath)) {
+			path = path.substring(basePath.length());
+		}
+		StringBuilder template = new StringBuilder(method.length() + uri.length()).append(method).append(' ');
+		appendPath(template, path.isEmpty() ? "/" : path);
+		appendQuery(template, parsed.getRawQuery());
+		return template.toString();
+	}
+
+	private static void appendPath(StringBuilder template, String path) {
+		int start = 0;
+		while (start < path.length()) {
+			int end = path.indexOf('/', start + 1);
+			if (end < 0) {
+				end = path.length();
+			}
+			String segment = path.substring(start, end);
+			// segment includes its leading slash
+			template.append(isIdentifier(segment) ? "/" + PLACEHOLDER : segment);
+			start = end;
+		}
+	}
+
+	private static void appendQuery(StringBuilder template, String query) {
+		if (query == null || query.isEmpty()) {
+			return;
+		}
+		char separator = '?';
+		for (String parameter : query.split("&")) {
+			if (parameter.isEmpty()) {
+				continue;
+			}
+			int equals = parameter.indexOf('=');
+			template.append(separator).append(equals < 0 ? parameter : parameter.substring(0, equals)).append('=')
+					.append(PLACEHOLDER);
+			separator = '&';
+		}
+	}
+
+	private static boolean isIdentifier(String segment) {
+		if (segment.length() < 2) {
+			return false;
+		}
+		for (int i = 1; i < segment.length(); i++) {
+			if (!Character.isDigit(segment.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
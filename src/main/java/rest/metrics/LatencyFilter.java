@@ -0,0 +1,42 @@
+package rest.metrics;
+
+import java.net.URI;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Rest Assured filter that times every request and records it in
+ * {@link LatencyRecorder} under its endpoint template.
+ *
+ * @description Added once to the shared base spec, so every {@code ApiUtil}
+ *              call is measured without touching the individual methods. The
+ *              time covers sending the request and receiving the response.
+ */
+public class LatencyFilter implements Filter {
+
+	private final String basePath;
+
+	/**
+	 * @param baseUri - The base URI of the API; its path (e.g. {@code /api}) is
+	 *                left out of the templates.
+	 */
+	public LatencyFilter(String baseUri) {
+		this.basePath = URI.create(baseUri).getRawPath();
+	}
+
+	@Override
+	public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+			FilterContext ctx) {
+		long start = System.nanoTime();
+		try {
+			return ctx.next(requestSpec, responseSpec);
+		} finally {
+			LatencyRecorder.record(EndpointTemplates.of(requestSpec.getMethod(), requestSpec.getURI(), basePath),
+					System.nanoTime() - start);
+		}
+	}
+}
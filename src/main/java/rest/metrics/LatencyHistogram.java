@@ -0,0 +1,172 @@
+package rest.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with HDR-style log-linear buckets.
+ *
+ * @description Values are recorded in microseconds. Below 128us every value
+ *              has its own bucket; above that each power of two is split into
+ *              64 equal buckets, so any recorded value is reported within 1.6%
+ *              of its real value, from 1us up to one hour, in under 2 000
+ *              counters. Recording is a single atomic increment, so one
+ *              histogram can be shared by all parallel test threads, and
+ *              histograms of different threads or runs are combined with
+ *              {@link #add(LatencyHistogram)}. The exact maximum is tracked
+ *              separately.
+ */
+public final class LatencyHistogram {
+
+	private static final int LINEAR_BITS = 7;
+	private static final int LINEAR_BUCKETS = 1 << LINEAR_BITS;
+	private static final int HALF_LINEAR = LINEAR_BUCKETS / 2;
+	private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+	private static final int BUCKET_COUNT = indexOf(HIGHEST_TRACKABLE_MICROS) + 1;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+	private final AtomicLong totalCount = new AtomicLong();
+	private final AtomicLong totalMicros = new AtomicLong();
+	private final AtomicLong maxMicros = new AtomicLong();
+
+	/**
+	 * @param elapsed - The measured latency.
+	 * @param unit    - Unit of {@code elapsed}.
+	 */
+	public void record(long elapsed, TimeUnit unit) {
+		recordMicros(unit.toMicros(elapsed));
+	}
+
+	public void recordMicros(long micros) {
+		long value = Math.max(0, micros);
+		counts.incrementAndGet(indexOf(Math.min(value, HIGHEST_TRACKABLE_MICROS)));
+		totalCount.incrementAndGet();
+		totalMicros.addAndGet(value);
+		updateMax(value);
+	}
+
+	/**
+	 * Adds every recorded value of another histogram to this one.
+	 *
+	 * @param other - The histogram to merge in; it is not modified.
+	 */
+	public void add(LatencyHistogram other) {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			long count = other.counts.get(i);
+			if (count != 0) {
+				counts.addAndGet(i, count);
+			}
+		}
+		totalCount.addAndGet(other.totalCount.get());
+		totalMicros.addAndGet(other.totalMicros.get());
+		updateMax(other.maxMicros.get());
+	}
+
+	public long getCount() {
+		return totalCount.get();
+	}
+
+	public long getMaxMicros() {
+		return maxMicros.get();
+	}
+
+	public long getTotalMicros() {
+		return totalMicros.get();
+	}
+
+	public double getMeanMicros() {
+		long count = totalCount.get();
+		return count == 0 ? 0.0 : totalMicros.get() / (double) count;
+	}
+
+	/**
+	 * @param percentile - Between 0 and 100, e.g. {@code 99.9}.
+	 * @return long - The highest latency in microseconds, within the bucket
+	 *         precision, of the fastest {@code percentile} percent of the
+	 *         recorded calls; 0 when nothing was recorded.
+	 */
+	public long getValueAtPercentile(double percentile) {
+		long count = totalCount.get();
+		if (count == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(Math.min(100.0, percentile) / 100.0 * count));
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += counts.get(i);
+			if (seen >= rank) {
+				return Math.min(highestValueAt(i), maxMicros.get());
+			}
+		}
+		return maxMicros.get();
+	}
+
+	/**
+	 * @return Map - Non-empty bucket counts keyed by bucket index, the
+	 *         persisted form used to merge runs.
+	 */
+	public Map<Integer, Long> getBucketCounts() {
+		Map<Integer, Long> buckets = new TreeMap<>();
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			long count = counts.get(i);
+			if (count != 0) {
+				buckets.put(i, count);
+			}
+		}
+		return buckets;
+	}
+
+	/**
+	 * Rebuilds a histogram from its persisted form.
+	 *
+	 * @param buckets     - Bucket counts as returned by
+	 *                    {@link #getBucketCounts()}.
+	 * @param totalMicros - Sum of all recorded values.
+	 * @param maxMicros   - The exact maximum.
+	 * @return LatencyHistogram - The restored histogram.
+	 */
+	public static LatencyHistogram fromBucketCounts(Map<Integer, Long> buckets, long totalMicros, long maxMicros) {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+			int index = bucket.getKey();
+			if (index >= 0 && index < BUCKET_COUNT) {
+				histogram.counts.addAndGet(index, bucket.getValue());
+				histogram.totalCount.addAndGet(bucket.getValue());
+			}
+		}
+		histogram.totalMicros.set(totalMicros);
+		histogram.maxMicros.set(maxMicros);
+		return histogram;
+	}
+
+	private void updateMax(long value) {
+		long current;
+		while (value > (current = maxMicros.get())) {
+			if (maxMicros.compareAndSet(current, value)) {
+				return;
+			}
+		}
+	}
+
+	// Values below 128 map to themselves; larger values keep their top 7 bits,
+	// giving 64 buckets per power of two
+	static int indexOf(long value) {
+		if (value < LINEAR_BUCKETS) {
+			return (int) value;
+		}
+		int shift = 64 - Long.numberOfLeadingZeros(value) - LINEAR_BITS;
+		return shift * HALF_LINEAR + (int) (value >>> shift);
+	}
+
+	static long highestValueAt(int index) {
+		if (index < LINEAR_BUCKETS) {
+			return index;
+		}
+		int shift = index / HALF_LINEAR - 1;
+		long lowest = (long) (index % HALF_LINEAR + HALF_LINEAR) << shift;
+		return lowest + (1L << shift) - 1;
+	}
+}
@@ -0,0 +1,264 @@
+package rest.metrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import restConfig.ConfigManager;
+
+/**
+ * Per-endpoint latency histograms of every API call made in this JVM.
+ *
+ * @description {@link LatencyFilter} records each request under its endpoint
+ *              template (see {@link EndpointTemplates}). At suite end
+ *              {@link #dump()} prints p50/p90/p99/p99.9/max per template and
+ *              writes the raw histograms to {@code metrics.latency.dir}
+ *              (default {@code TestReport/latency}) as one JSON file per run.
+ *              Files of earlier runs can be merged with {@link #merge(File...)}
+ *              or from the command line with
+ *              {@code LatencyRecorder file1.json file2.json ...} to compare
+ *              latency over time. A thread can also capture the individual
+ *              samples of its own calls with {@link #startCapture()}, which is
+ *              how latency SLAs of a single test are evaluated.
+ */
+public final class LatencyRecorder {
+
+	private static final String DEFAULT_DIRECTORY = "TestReport/latency";
+	private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private static final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+	private static final ThreadLocal<List<Sample>> capturedSamples = new ThreadLocal<>();
+
+	private LatencyRecorder() {
+	}
+
+	/**
+	 * @param template - Endpoint template, e.g. {@code GET /Settings/Departments}.
+	 * @param nanos    - The measured latency in nanoseconds.
+	 */
+	public static void record(String template, long nanos) {
+		histogram(template).record(nanos, TimeUnit.NANOSECONDS);
+		List<Sample> samples = capturedSamples.get();
+		if (samples != null) {
+			samples.add(new Sample(template, nanos));
+		}
+	}
+
+	/**
+	 * Starts keeping every call made by the current thread, in order, until
+	 * {@link #stopCapture()}. Any earlier capture on the thread is discarded.
+	 */
+	public static void startCapture() {
+		capturedSamples.set(newCapture());
+	}
+
+	/**
+	 * @return List - An empty capture not bound to a thread yet, for
+	 *         {@link #resumeCapture(List)}. Calls a thread runs through
+	 *         {@code AsyncApiUtil} add to it from other threads, so it is
+	 *         synchronized.
+	 */
+	public static List<Sample> newCapture() {
+		return Collections.synchronizedList(new ArrayList<>());
+	}
+
+	/**
+	 * @return List - The calls of the current thread since
+	 *         {@link #startCapture()}; empty when no capture was started.
+	 */
+	public static List<Sample> stopCapture() {
+		List<Sample> samples = capturedSamples.get();
+		capturedSamples.remove();
+		return samples == null ? Collections.<Sample>emptyList() : new ArrayList<>(samples);
+	}
+
+	/**
+	 * @return List - The capture of the current thread, to be resumed on
+	 *         another thread with {@link #resumeCapture(List)}; null when none
+	 *         was started.
+	 */
+	public static List<Sample> currentCapture() {
+		return capturedSamples.get();
+	}
+
+	/**
+	 * Makes the current thread record into a capture taken with
+	 * {@link #currentCapture()}, possibly on another thread.
+	 *
+	 * @param samples - The capture; null stops capturing on this thread.
+	 */
+	public static void resumeCapture(List<Sample> samples) {
+		if (samples == null) {
+			capturedSamples.remove();
+		} else {
+			capturedSamples.set(samples);
+		}
+	}
+
+	/**
+	 * @param template - Endpoint template.
+	 * @return LatencyHistogram - The live histogram of the template, created on
+	 *         first use.
+	 */
+	public static LatencyHistogram histogram(String template) {
+		LatencyHistogram histogram = histograms.get(template);
+		return histogram != null ? histogram : histograms.computeIfAbsent(template, key -> new LatencyHistogram());
+	}
+
+	/**
+	 * @return Map - A copy of all histograms recorded so far, sorted by
+	 *         template.
+	 */
+	public static Map<String, LatencyHistogram> snapshot() {
+		Map<String, LatencyHistogram> copy = new TreeMap<>();
+		for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+			LatencyHistogram histogram = new LatencyHistogram();
+			histogram.add(entry.getValue());
+			copy.put(entry.getKey(), histogram);
+		}
+		return copy;
+	}
+
+	/**
+	 * Prints the latency table and writes this run's histograms to the latency
+	 * directory. Does nothing when no call was recorded.
+	 *
+	 * @return File - The written file, or null when nothing was written.
+	 */
+	public static File dump() {
+		Map<String, LatencyHistogram> snapshot = snapshot();
+		if (snapshot.isEmpty()) {
+			return null;
+		}
+		System.out.println(format(snapshot));
+		String directory = ConfigManager.getProperty("metrics.latency.dir");
+		File file = new File(directory == null ? DEFAULT_DIRECTORY : directory.trim(),
+				"latency-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".json");
+		try {
+			write(snapshot, file);
+			System.out.println("Latency histograms written to " + file.getAbsolutePath());
+			return file;
+		} catch (IOException e) {
+			System.out.println("Could not write latency histograms: " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * @param files - Histogram files written by {@link #dump()}.
+	 * @return Map - The histograms of all files added together per template.
+	 * @throws IOException when a file cannot be read.
+	 */
+	public static Map<String, LatencyHistogram> merge(File... files) throws IOException {
+		Map<String, LatencyHistogram> merged = new TreeMap<>();
+		for (File file : files) {
+			for (Map.Entry<String, LatencyHistogram> entry : read(file).entrySet()) {
+				merged.computeIfAbsent(entry.getKey(), key -> new LatencyHistogram()).add(entry.getValue());
+			}
+		}
+		return merged;
+	}
+
+	/**
+	 * @param histograms - Histograms keyed by template.
+	 * @return String - One line per template with count, mean, percentiles and
+	 *         max in milliseconds.
+	 */
+	public static String format(Map<String, LatencyHistogram> histograms) {
+		StringBuilder table = new StringBuilder(String.format("%-70s %8s %9s %9s %9s %9s %9s %9s", "Endpoint",
+				"Count", "Mean ms", "p50", "p90", "p99", "p99.9", "Max"));
+		for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+			LatencyHistogram histogram = entry.getValue();
+			table.append(String.format("%n%-70s %8d %9.1f", entry.getKey(), histogram.getCount(),
+					histogram.getMeanMicros() / 1000.0));
+			for (double percentile : PERCENTILES) {
+				table.append(String.format(" %9.1f", histogram.getValueAtPercentile(percentile) / 1000.0));
+			}
+			table.append(String.format(" %9.1f", histogram.getMaxMicros() / 1000.0));
+		}
+		return table.toString();
+	}
+
+	public static void main(String[] args) throws IOException {
+		File[] files = new File[args.length];
+		for (int i = 0; i < args.length; i++) {
+			files[i] = new File(args[i]);
+		}
+		System.out.println(format(merge(files)));
+	}
+
+	private static void write(Map<String, LatencyHistogram> snapshot, File file) throws IOException {
+		ObjectNode root = MAPPER.createObjectNode();
+		root.put("unit", "us");
+		ObjectNode endpoints = root.putObject("endpoints");
+		for (Map.Entry<String, LatencyHistogram> entry : snapshot.entrySet()) {
+			LatencyHistogram histogram = entry.getValue();
+			ObjectNode node = endpoints.putObject(entry.getKey());
+			node.put("count", histogram.getCount());
+			node.put("totalMicros", histogram.getTotalMicros());
+			node.put("maxMicros", histogram.getMaxMicros());
+			ObjectNode buckets = node.putObject("buckets");
+			for (Map.Entry<Integer, Long> bucket : histogram.getBucketCounts().entrySet()) {
+				buckets.put(String.valueOf(bucket.getKey()), bucket.getValue());
+			}
+		}
+		File directory = file.getAbsoluteFile().getParentFile();
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("Cannot create " + directory);
+		}
+		MAPPER.writerWithDefaultPrettyPrinter().writeValue(file, root);
+	}
+
+	private static Map<String, LatencyHistogram> read(File file) throws IOException {
+		Map<String, LatencyHistogram> result = new LinkedHashMap<>();
+		Iterator<Map.Entry<String, JsonNode>> endpoints = MAPPER.readTree(file).path("endpoints").fields();
+		while (endpoints.hasNext()) {
+			Map.Entry<String, JsonNode> endpoint = endpoints.next();
+			Map<Integer, Long> buckets = new TreeMap<>();
+			Iterator<Map.Entry<String, JsonNode>> counts = endpoint.getValue().path("buckets").fields();
+			while (counts.hasNext()) {
+				Map.Entry<String, JsonNode> count = counts.next();
+				buckets.put(Integer.valueOf(count.getKey()), count.getValue().asLong());
+			}
+			result.put(endpoint.getKey(), LatencyHistogram.fromBucketCounts(buckets,
+					endpoint.getValue().path("totalMicros").asLong(), endpoint.getValue().path("maxMicros").asLong()));
+		}
+		return result;
+	}
+
+	/**
+	 * One recorded call: its endpoint template and latency.
+	 */
+	public static final class Sample {
+		private final String template;
+		private final long nanos;
+
+		Sample(String template, long nanos) {
+			this.template = template;
+			this.nanos = nanos;
+		}
+
+		public String getTemplate() {
+			return template;
+		}
+
+		public long getNanos() {
+			return nanos;
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package rest.models;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import rest.ResultsStream;
+
+/**
+ * Rows of {@code /Appointment/Appointments}, held column by column.
+ */
+public final class AppointmentList {
+
+	private final int size;
+	private final Integer[] appointmentIds;
+	private final Integer[] patientIds;
+	private final String[] appointmentDates;
+	private final String[] appointmentTimes;
+
+	private AppointmentList(int size, Integer[] appointmentIds, Integer[] patientIds, String[] appointmentDates,
+			String[] appointmentTimes) {
+		this.size = size;
+		this.appointmentIds = appointmentIds;
+		this.patientIds = patientIds;
+		this.appointmentDates = appointmentDates;
+		this.appointmentTimes = appointmentTimes;
+	}
+
+	public static AppointmentList bind(byte[] content) {
+		Binder binder = new Binder();
+		int rows = ResultsStream.readFields(content, binder);
+		return new AppointmentList(rows, binder.appointmentIds.toArray(rows), binder.patientIds.toArray(rows),
+				binder.appointmentDates.toArray(rows), binder.appointmentTimes.toArray(rows));
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public Integer[] getAppointmentIds() {
+		return appointmentIds;
+	}
+
+	public Integer[] getPatientIds() {
+		return patientIds;
+	}
+
+	public String[] getAppointmentDates() {
+		return appointmentDates;
+	}
+
+	public String[] getAppointmentTimes() {
+		return appointmentTimes;
+	}
+
+	private static final class Binder implements ResultsStream.FieldVisitor {
+		private final Columns.Integers appointmentIds = new Columns.Integers();
+		private final Columns.Integers patientIds = new Columns.Integers();
+		private final Columns.Strings appointmentDates = new Columns.Strings();
+		private final Columns.Strings appointmentTimes = new Columns.Strings();
+
+		@Override
+		public void visit(int row, String field, JsonParser parser) throws IOException {
+			switch (field) {
+			case "AppointmentId":
+				appointmentIds.set(row, Columns.intValue(parser));
+				break;
+			case "PatientId":
+				patientIds.set(row, Columns.intValue(parser));
+				break;
+			case "AppointmentDate":
+				appointmentDates.set(row, Columns.textValue(parser));
+				break;
+			case "AppointmentTime":
+				appointmentTimes.set(row, Columns.textValue(parser));
+				break;
+			default:
+				break;
+			}
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package rest.models;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import rest.ResultsStream;
+
+/**
+ * Result of {@code /Appointment/AddAppointment}.
+ */
+public final class AppointmentResult {
+
+	private final Integer appointmentId;
+
+	private AppointmentResult(Integer appointmentId) {
+		this.appointmentId = appointmentId;
+	}
+
+	public static AppointmentResult bind(byte[] content) {
+		Binder binder = new Binder();
+		ResultsStream.readFields(content, binder);
+		return new AppointmentResult(binder.appointmentId);
+	}
+
+	// null when the response carried no AppointmentId
+	public Integer getAppointmentId() {
+		return appointmentId;
+	}
+
+	private static final class Binder implements ResultsStream.FieldVisitor {
+		private Integer appointmentId;
+
+		@Override
+		public void visit(int row, String field, JsonParser parser) throws IOException {
+			if (field.equals("AppointmentId")) {
+				appointmentId = Columns.intValue(parser);
+			}
+		}
+	}
+}
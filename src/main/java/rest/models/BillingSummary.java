@@ -0,0 +1,54 @@
+package rest.models;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import rest.ResultsStream;
+
+/**
+ * Result of {@code /PharmacySales/PatientBillingSummary}.
+ */
+public final class BillingSummary {
+
+	private final Integer patientId;
+	private final double totalDue;
+
+	private BillingSummary(Integer patientId, double totalDue) {
+		this.patientId = patientId;
+		this.totalDue = totalDue;
+	}
+
+	public static BillingSummary bind(byte[] content) {
+		Binder binder = new Binder();
+		ResultsStream.readFields(content, binder);
+		return new BillingSummary(binder.patientId, binder.totalDue);
+	}
+
+	public Integer getPatientId() {
+		return patientId;
+	}
+
+	public double getTotalDue() {
+		return totalDue;
+	}
+
+	private static final class Binder implements ResultsStream.FieldVisitor {
+		private Integer patientId;
+		private double totalDue;
+
+		@Override
+		public void visit(int row, String field, JsonParser parser) throws IOException {
+			switch (field) {
+			case "PatientId":
+				patientId = Columns.intValue(parser);
+				break;
+			case "TotalDue":
+				totalDue = Columns.doubleValue(parser);
+				break;
+			default:
+				break;
+			}
+		}
+	}
+}
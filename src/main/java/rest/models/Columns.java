@@ -0,0 +1,78 @@
+package rest.models;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Token-level value readers and growable columns shared by the result models.
+ * Ids are bound as {@link Integer}, so a row that lacks an id, or has a null
+ * one, keeps null; other fields keep the column default: 0.0 for amounts,
+ * false for booleans and null for text.
+ */
+final class Columns {
+
+	private Columns() {
+	}
+
+	static Integer intValue(JsonParser parser) throws IOException {
+		JsonToken token = parser.currentToken();
+		if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+			return parser.getIntValue();
+		}
+		return token == JsonToken.VALUE_STRING ? Integer.valueOf(parser.getText().trim()) : null;
+	}
+
+	static double doubleValue(JsonParser parser) throws IOException {
+		JsonToken token = parser.currentToken();
+		if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+			return parser.getDoubleValue();
+		}
+		return token == JsonToken.VALUE_STRING ? Double.parseDouble(parser.getText().trim()) : 0.0;
+	}
+
+	static boolean booleanValue(JsonParser parser) throws IOException {
+		JsonToken token = parser.currentToken();
+		if (token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE) {
+			return parser.getBooleanValue();
+		}
+		return token == JsonToken.VALUE_STRING && Boolean.parseBoolean(parser.getText().trim());
+	}
+
+	static String textValue(JsonParser parser) throws IOException {
+		JsonToken token = parser.currentToken();
+		return token != null && token.isScalarValue() && token != JsonToken.VALUE_NULL ? parser.getText() : null;
+	}
+
+	static final class Integers {
+		private Integer[] values = new Integer[16];
+
+		void set(int row, Integer value) {
+			if (row >= values.length) {
+				values = Arrays.copyOf(values, Math.max(row + 1, values.length * 2));
+			}
+			values[row] = value;
+		}
+
+		Integer[] toArray(int rows) {
+			return Arrays.copyOf(values, rows);
+		}
+	}
+
+	static final class Strings {
+		private String[] values = new String[16];
+
+		void set(int row, String value) {
+			if (row >= values.length) {
+				values = Arrays.copyOf(values, Math.max(row + 1, values.length * 2));
+			}
+			values[row] = value;
+		}
+
+		String[] toArray(int rows) {
+			return Arrays.copyOf(values, rows);
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package rest.models;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import rest.ResultsStream;
+
+/**
+ * Result of adding or editing a department under {@code /Settings/Department}.
+ */
+public final class Department {
+
+	private final Integer departmentId;
+	private final String departmentCode;
+	private final String departmentName;
+
+	private Department(Integer departmentId, String departmentCode, String departmentName) {
+		this.departmentId = departmentId;
+		this.departmentCode = departmentCode;
+		this.departmentName = departmentName;
+	}
+
+	public static Department bind(byte[] content) {
+		Binder binder = new Binder();
+		ResultsStream.readFields(content, binder);
+		return new Department(binder.departmentId, binder.departmentCode, binder.departmentName);
+	}
+
+	public Integer getDepartmentId() {
+		return departmentId;
+	}
+
+	public String getDepartmentCode() {
+		return departmentCode;
+	}
+
+	public String getDepartmentName() {
+		return departmentName;
+	}
+
+	private static final class Binder implements ResultsStream.FieldVisitor {
+		private Integer departmentId;
+		private String departmentCode;
+		private String departmentName;
+
+		@Override
+		public void visit(int row, String field, JsonParser parser) throws IOException {
+			switch (field) {
+			case "DepartmentId":
+				departmentId = Columns.intValue(parser);
+				break;
+			case "DepartmentCode":
+				departmentCode = Columns.textValue(parser);
+				break;
+			case "DepartmentName":
+				departmentName = Columns.textValue(parser);
+				break;
+			default:
+				break;
+			}
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package rest.models;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import rest.ResultsStream;
+
+/**
+ * Rows of the department lists ({@code /Settings/Departments},
+ * {@code /Master/AppointmentApplicableDepartments}), held column by column.
+ */
+public final class Departments {
+
+	private final int size;
+	private final Integer[] departmentIds;
+	private final String[] departmentCodes;
+	private final String[] departmentNames;
+
+	private Departments(int size, Integer[] departmentIds, String[] departmentCodes, String[] departmentNames) {
+		this.size = size;
+		this.departmentIds = departmentIds;
+		this.departmentCodes = departmentCodes;
+		this.departmentNames = departmentNames;
+	}
+
+	public static Departments bind(byte[] content) {
+		Binder binder = new Binder();
+		int rows = ResultsStream.readFields(content, binder);
+		return new Departments(rows, binder.departmentIds.toArray(rows), binder.departmentCodes.toArray(rows),
+				binder.departmentNames.toArray(rows));
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public Integer[] getDepartmentIds() {
+		return departmentIds;
+	}
+
+	public String[] getDepartmentCodes() {
+		return departmentCodes;
+	}
+
+	public String[] getDepartmentNames() {
+		return departmentNames;
+	}
+
+	private static final class Binder implements ResultsStream.FieldVisitor {
+		private final Columns.Integers departmentIds = new Columns.Integers();
+		private final Columns.Strings departmentCodes = new Columns.Strings();
+		private final Columns.Strings departmentNames = new Columns.Strings();
+
+		@Override
+		public void visit(int row, String field, JsonParser parser) throws IOException {
+			switch (field) {
+			case "DepartmentId":
+				departmentIds.set(row, Columns.intValue(parser));
+				break;
+			case "DepartmentCode":
+				departmentCodes.set(row, Columns.textValue(parser));
+				break;
+			case "DepartmentName":
+				departmentNames.set(row, Columns.textValue(parser));
+				break;
+			default:
+				break;
+			}
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package rest.models;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import rest.ResultsStream;
+
+/**
+ * Result of {@code /PharmacySettings/MainStore}.
+ */
+public final class MainStore {
+
+	private final Integer storeId;
+	private final String name;
+	private final String storeDescription;
+	private final String category;
+	private final boolean isActive;
+
+	private MainStore(Integer storeId, String name, String storeDescription, String category, boolean isActive) {
+		this.storeId = storeId;
+		this.name = name;
+		this.storeDescription = storeDescription;
+		this.category = category;
+		this.isActive = isActive;
+	}
+
+	public static MainStore bind(byte[] content) {
+		Binder binder = new Binder();
+		ResultsStream.readFields(content, binder);
+		return new MainStore(binder.storeId, binder.name, binder.storeDescription, binder.category,
+				binder.isActive);
+	}
+
+	public Integer getStoreId() {
+		return storeId;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getStoreDescription() {
+		return storeDescription;
+	}
+
+	public String getCategory() {
+		return category;
+	}
+
+	public boolean isActive() {
+		return isActive;
+	}
+
+	private static final class Binder implements ResultsStream.FieldVisitor {
+		private Integer storeId;
+		private String name;
+		private String storeDescription;
+		private String category;
+		private boolean isActive;
+
+		@Override
+		public void visit(int row, String field, JsonParser parser) throws IOException {
+			switch (field) {
+			case "StoreId":
+				storeId = Columns.intValue(parser);
+				break;
+			case "Name":
+				name = Columns.textValue(parser);
+				break;
+			case "StoreDescription":
+				storeDescription = Columns.textValue(parser);
+				break;
+			case "Category":
+				category = Columns.textValue(parser);
+				break;
+			case "IsActive":
+				isActive = Columns.booleanValue(parser);
+				break;
+			default:
+				break;
+			}
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package rest.models;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import rest.ResultsStream;
+
+/**
+ * Patient rows returned by the billing and IPD patient searches, held column
+ * by column.
+ */
+public final class PatientList {
+
+	private final int size;
+	private final Integer[] patientIds;
+	private final String[] patientCodes;
+
+	private PatientList(int size, Integer[] patientIds, String[] patientCodes) {
+		this.size = size;
+		this.patientIds = patientIds;
+		this.patientCodes = patientCodes;
+	}
+
+	public static PatientList bind(byte[] content) {
+		Binder binder = new Binder();
+		int rows = ResultsStream.readFields(content, binder);
+		return new PatientList(rows, binder.patientIds.toArray(rows), binder.patientCodes.toArray(rows));
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public Integer[] getPatientIds() {
+		return patientIds;
+	}
+
+	public String[] getPatientCodes() {
+		return patientCodes;
+	}
+
+	private static final class Binder implements ResultsStream.FieldVisitor {
+		private final Columns.Integers patientIds = new Columns.Integers();
+		private final Columns.Strings patientCodes = new Columns.Strings();
+
+		@Override
+		public void visit(int row, String field, JsonParser parser) throws IOException {
+			switch (field) {
+			case "PatientId":
+				patientIds.set(row, Columns.intValue(parser));
+				break;
+			case "PatientCode":
+				patientCodes.set(row, Columns.textValue(parser));
+				break;
+			default:
+				break;
+			}
+		}
+	}
+}
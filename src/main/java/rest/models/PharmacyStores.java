@@ -0,0 +1,60 @@
+package rest.models;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import rest.ResultsStream;
+
+/**
+ * Rows of {@code /Dispensary/PharmacyStores}, held column by column.
+ */
+public final class PharmacyStores {
+
+	private final int size;
+	private final Integer[] storeIds;
+	private final String[] names;
+
+	private PharmacyStores(int size, Integer[] storeIds, String[] names) {
+		this.size = size;
+		this.storeIds = storeIds;
+		this.names = names;
+	}
+
+	public static PharmacyStores bind(byte[] content) {
+		Binder binder = new Binder();
+		int rows = ResultsStream.readFields(content, binder);
+		return new PharmacyStores(rows, binder.storeIds.toArray(rows), binder.names.toArray(rows));
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public Integer[] getStoreIds() {
+		return storeIds;
+	}
+
+	public String[] getNames() {
+		return names;
+	}
+
+	private static final class Binder implements ResultsStream.FieldVisitor {
+		private final Columns.Integers storeIds = new Columns.Integers();
+		private final Columns.Strings names = new Columns.Strings();
+
+		@Override
+		public void visit(int row, String field, JsonParser parser) throws IOException {
+			switch (field) {
+			case "StoreId":
+				storeIds.set(row, Columns.intValue(parser));
+				break;
+			case "Name":
+				names.set(row, Columns.textValue(parser));
+				break;
+			default:
+				break;
+			}
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package rest.models;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import rest.ResultsStream;
+
+/**
+ * Rows of {@code /PharmacyStock/AllStockDetails}, held column by column.
+ */
+public final class StockList {
+
+	private final int size;
+	private final Integer[] itemIds;
+	private final String[] itemNames;
+	private final String[] genericNames;
+
+	private StockList(int size, Integer[] itemIds, String[] itemNames, String[] genericNames) {
+		this.size = size;
+		this.itemIds = itemIds;
+		this.itemNames = itemNames;
+		this.genericNames = genericNames;
+	}
+
+	public static StockList bind(byte[] content) {
+		Binder binder = new Binder();
+		int rows = ResultsStream.readFields(content, binder);
+		return new StockList(rows, binder.itemIds.toArray(rows), binder.itemNames.toArray(rows),
+				binder.genericNames.toArray(rows));
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public Integer[] getItemIds() {
+		return itemIds;
+	}
+
+	public String[] getItemNames() {
+		return itemNames;
+	}
+
+	public String[] getGenericNames() {
+		return genericNames;
+	}
+
+	private static final class Binder implements ResultsStream.FieldVisitor {
+		private final Columns.Integers itemIds = new Columns.Integers();
+		private final Columns.Strings itemNames = new Columns.Strings();
+		private final Columns.Strings genericNames = new Columns.Strings();
+
+		@Override
+		public void visit(int row, String field, JsonParser parser) throws IOException {
+			switch (field) {
+			case "ItemId":
+				itemIds.set(row, Columns.intValue(parser));
+				break;
+			case "ItemName":
+				itemNames.set(row, Columns.textValue(parser));
+				break;
+			case "GenericName":
+				genericNames.set(row, Columns.textValue(parser));
+				break;
+			default:
+				break;
+			}
+		}
+	}
+}
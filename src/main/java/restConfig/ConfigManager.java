@@ -1,22 +1,336 @@
 package restConfig;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
+/**
+ * Configuration of the framework, read from {@code config.properties}.
+ *
+ * @description Every key is looked up in three layers: a {@code -D} system
+ *              property, then an environment variable named like the key in
+ *              upper case with dots as underscores ({@code base.url} is
+ *              {@code BASE_URL}), then the file. The file is
+ *              {@code src/main/resources/config.properties} relative to the
+ *              working directory unless {@code config.file} names another one.
+ *              The typed getters parse and trim the value and fail with the
+ *              key in the message. The known keys for the base URL, timeouts,
+ *              pool sizes, concurrency and rate limits are validated when this
+ *              class is loaded, and an invalid value stops the run there. The
+ *              file is checked for changes every {@code config.reloadSeconds}
+ *              (0 switches this off); a valid new version replaces the old one
+ *              and the keys that changed are passed to the listeners added
+ *              with {@link #addChangeListener(Consumer)}, while an invalid one
+ *              is reported and ignored. The HTTP pool sizes and the load
+ *              runner's rate and in-flight limit follow such changes; other
+ *              settings are read once and need a restart.
+ */
 public class ConfigManager {
-	private static Properties props = new Properties();
+
+	public static final String CONFIG_FILE = "src/main/resources/config.properties";
+
+	private static final long DEFAULT_RELOAD_SECONDS = 5;
+
+	private static final Map<String, Check> CHECKS = checks();
+	private static final File file = new File(layered("config.file", null, CONFIG_FILE));
+	private static final List<Consumer<Set<String>>> listeners = new CopyOnWriteArrayList<>();
+	private static volatile Snapshot snapshot;
 
 	static {
-		try {
-			FileInputStream fis = new FileInputStream("src/main/resources/config.properties");
-			props.load(fis);
-		} catch (IOException e) {
-			e.printStackTrace();
+		Snapshot loaded = Snapshot.read(file);
+		List<String> errors = validate(loaded.props);
+		if (!errors.isEmpty()) {
+			throw new IllegalStateException("Invalid configuration in " + file.getPath() + " or the environment:\n - "
+					+ String.join("\n - ", errors));
 		}
+		snapshot = loaded;
+		startWatcher(getLong("config.reloadSeconds", DEFAULT_RELOAD_SECONDS));
 	}
 
+	/**
+	 * @param key - The config key, e.g. {@code base.url}.
+	 * @return String - Its value from the system properties, the environment
+	 *         or the file, in that order; null when none has it.
+	 */
 	public static String getProperty(String key) {
-		return props.getProperty(key);
+		return layered(key, snapshot.props, null);
+	}
+
+	/**
+	 * @return String - Trimmed value of the key, or the default when unset.
+	 */
+	public static String getString(String key, String defaultValue) {
+		String value = getProperty(key);
+		return value == null ? defaultValue : value.trim();
+	}
+
+	public static int getInt(String key, int defaultValue) {
+		String value = getProperty(key);
+		try {
+			return value == null ? defaultValue : Integer.parseInt(value.trim());
+		} catch (NumberFormatException e) {
+			throw invalid(key, value, "an integer");
+		}
+	}
+
+	public static long getLong(String key, long defaultValue) {
+		String value = getProperty(key);
+		try {
+			return value == null ? defaultValue : Long.parseLong(value.trim());
+		} catch (NumberFormatException e) {
+			throw invalid(key, value, "an integer");
+		}
+	}
+
+	public static double getDouble(String key, double defaultValue) {
+		String value = getProperty(key);
+		try {
+			return value == null ? defaultValue : Double.parseDouble(value.trim());
+		} catch (NumberFormatException e) {
+			throw invalid(key, value, "a number");
+		}
+	}
+
+	public static boolean getBoolean(String key, boolean defaultValue) {
+		String value = getProperty(key);
+		if (value == null) {
+			return defaultValue;
+		}
+		if (!isBoolean(value.trim())) {
+			throw invalid(key, value, "true or false");
+		}
+		return Boolean.parseBoolean(value.trim());
+	}
+
+	/**
+	 * @param listener - Called on the reload thread with the keys whose file
+	 *                 value changed, after a reload.
+	 */
+	public static void addChangeListener(Consumer<Set<String>> listener) {
+		listeners.add(listener);
+	}
+
+	public static void removeChangeListener(Consumer<Set<String>> listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Re-reads the file now if it changed since it was last read.
+	 *
+	 * @return Set - The keys whose value changed; empty when the file is
+	 *         unchanged or the new version is invalid.
+	 */
+	public static synchronized Set<String> reload() {
+		Snapshot current = snapshot;
+		// A file deleted or being replaced keeps the values read last
+		if (!file.isFile() || file.lastModified() == current.lastModified && file.length() == current.length) {
+			return Collections.emptySet();
+		}
+		Snapshot loaded;
+		try {
+			loaded = Snapshot.read(file);
+		} catch (IllegalStateException e) {
+			System.err.println("Config reload skipped: " + e.getMessage());
+			return Collections.emptySet();
+		}
+		List<String> errors = validate(loaded.props);
+		if (!errors.isEmpty()) {
+			// Remember this version so the same invalid file is reported once
+			snapshot = new Snapshot(current.props, loaded.lastModified, loaded.length);
+			System.err.println("Config reload skipped, " + file.getPath() + " is invalid:\n - "
+					+ String.join("\n - ", errors));
+			return Collections.emptySet();
+		}
+		Set<String> changed = new TreeSet<>();
+		Set<String> keys = new HashSet<>(current.props.stringPropertyNames());
+		keys.addAll(loaded.props.stringPropertyNames());
+		for (String key : keys) {
+			String before = current.props.getProperty(key);
+			String after = loaded.props.getProperty(key);
+			if (before == null ? after != null : !before.equals(after)) {
+				changed.add(key);
+			}
+		}
+		snapshot = loaded;
+		if (!changed.isEmpty()) {
+			System.out.println("Reloaded " + file.getPath() + ", changed: " + changed);
+			Set<String> keysChanged = Collections.unmodifiableSet(changed);
+			for (Consumer<Set<String>> listener : listeners) {
+				try {
+					listener.accept(keysChanged);
+				} catch (RuntimeException e) {
+					e.printStackTrace();
+				}
+			}
+		}
+		return changed;
+	}
+
+	// System property, then environment variable, then the given properties
+	private static String layered(String key, Properties props, String defaultValue) {
+		String value = System.getProperty(key);
+		if (value == null) {
+			value = System.getenv(key.toUpperCase(Locale.ROOT).replace('.', '_'));
+		}
+		if (value == null && props != null) {
+			value = props.getProperty(key);
+		}
+		return value == null ? defaultValue : value;
+	}
+
+	private static List<String> validate(Properties props) {
+		List<String> errors = new ArrayList<>();
+		for (Map.Entry<String, Check> check : CHECKS.entrySet()) {
+			String value = layered(check.getKey(), props, null);
+			if (value != null) {
+				String error = check.getValue().check(value.trim());
+				if (error != null) {
+					errors.add(check.getKey() + "=" + value + ": " + error);
+				}
+			}
+		}
+		return errors;
+	}
+
+	private static void startWatcher(long periodSeconds) {
+		if (periodSeconds <= 0) {
+			return;
+		}
+		ScheduledExecutorService watcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "config-reload");
+			thread.setDaemon(true);
+			return thread;
+		});
+		watcher.scheduleWithFixedDelay(() -> {
+			try {
+				reload();
+			} catch (RuntimeException e) {
+				e.printStackTrace();
+			}
+		}, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+	}
+
+	private static IllegalStateException invalid(String key, String value, String expected) {
+		return new IllegalStateException("Config key " + key + " must be " + expected + " but is '" + value + "'");
+	}
+
+	private static boolean isBoolean(String value) {
+		return "true".equalsIgnoreCase(value) || "false".equalsIgnoreCase(value);
+	}
+
+	private static Map<String, Check> checks() {
+		Map<String, Check> checks = new LinkedHashMap<>();
+		checks.put("base.url", ConfigManager::checkUrl);
+		checks.put("http.connectTimeoutMillis", atLeast(0));
+		checks.put("http.readTimeoutMillis", atLeast(0));
+		checks.put("http.callTimeoutMillis", atLeast(0));
+		checks.put("suite.deadlineSeconds", atLeast(0));
+		checks.put("http.retry.maxAttempts", atLeast(1));
+		checks.put("http.retry.baseDelayMillis", atLeast(0));
+		checks.put("http.retry.maxDelayMillis", atLeast(0));
+		checks.put("http.retry.budget", atLeast(0));
+		checks.put("cache.ttlSeconds", atLeast(1));
+		checks.put("cache.maxEntries", atLeast(1));
+		checks.put("circuit.failureThreshold", atLeast(0));
+		checks.put("circuit.openSeconds", atLeast(1));
+		checks.put("http.pool.maxTotal", atLeast(1));
+		checks.put("http.pool.maxPerRoute", atLeast(1));
+		checks.put("http.pool.idleTimeoutSeconds", atLeast(0));
+		checks.put("async.threads", atLeast(1));
+		checks.put("execution.virtualThreads", value -> isBoolean(value) ? null : "must be true or false");
+		checks.put("load.targetRps", ConfigManager::checkRate);
+		checks.put("load.durationSeconds", atLeast(1));
+		checks.put("load.maxInFlight", atLeast(1));
+		checks.put("auth.refreshAheadSeconds", atLeast(0));
+		checks.put("auth.retrySeconds", atLeast(1));
+		checks.put("results.publish.queueCapacity", atLeast(1));
+		checks.put("results.publish.maxBatch", atLeast(1));
+		checks.put("results.publish.lingerMillis", atLeast(0));
+		checks.put("log.body.maxBytes", atLeast(0));
+		checks.put("log.body.queueCapacity", atLeast(1));
+		checks.put("log.async.bufferSize", atLeast(1));
+		checks.put("config.reloadSeconds", atLeast(0));
+		return checks;
+	}
+
+	private static Check atLeast(final long minimum) {
+		return value -> {
+			try {
+				return Long.parseLong(value) >= minimum ? null : "must be at least " + minimum;
+			} catch (NumberFormatException e) {
+				return "must be an integer";
+			}
+		};
+	}
+
+	private static String checkRate(String value) {
+		try {
+			return Double.parseDouble(value) > 0 ? null : "must be greater than 0";
+		} catch (NumberFormatException e) {
+			return "must be a number";
+		}
+	}
+
+	private static String checkUrl(String value) {
+		try {
+			URI uri = new URI(value);
+			return uri.getScheme() != null && uri.getScheme().startsWith("http") && uri.getHost() != null ? null
+					: "must be an http(s) URL";
+		} catch (URISyntaxException e) {
+			return "must be an http(s) URL";
+		}
+	}
+
+	private interface Check {
+		// Null when the value is valid, otherwise what is wrong with it
+		String check(String value);
+	}
+
+	private static final class Snapshot {
+		private final Properties props;
+		private final long lastModified;
+		private final long length;
+
+		private Snapshot(Properties props, long lastModified, long length) {
+			this.props = props;
+			this.lastModified = lastModified;
+			this.length = length;
+		}
+
+		// A missing file is an empty layer; one that cannot be read is an error
+		private static Snapshot read(File file) {
+			long lastModified = file.lastModified();
+			long length = file.length();
+			Properties props = new Properties();
+			if (!file.isFile()) {
+				System.err.println("Config file " + file.getAbsolutePath()
+						+ " not found; only system properties and environment variables are used");
+				return new Snapshot(props, lastModified, length);
+			}
+			try (InputStream in = new FileInputStream(file)) {
+				props.load(in);
+			} catch (IOException e) {
+				throw new IllegalStateException("Cannot read " + file.getAbsolutePath(), e);
+			}
+			return new Snapshot(props, lastModified, length);
+		}
 	}
 }
@@ -0,0 +1,73 @@
+package coreUtilities.testlisteners;
+
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.ITestResult;
+import org.testng.TestListenerAdapter;
+import org.testng.TestNG;
+import org.testng.annotations.Test;
+
+import coreUtilities.testutils.LatencySla;
+import rest.metrics.LatencyRecorder;
+
+public class LatencySlaListenerTest {
+
+	private static final String TEMPLATE = "GET /Settings/Departments";
+
+	// Run by the tests below; package-private so TestNG does not run them on
+	// their own as nested classes of this one
+	static class FastCalls {
+		@Test(invocationCount = 22)
+		@LatencySla(endpoint = "/Settings/Departments", percentile = 95, maxMillis = 800)
+		public void call() {
+			LatencyRecorder.record(TEMPLATE, 5_000_000);
+		}
+	}
+
+	static class SlowCalls {
+		@Test(invocationCount = 22)
+		@LatencySla(endpoint = "/Settings/Departments", percentile = 95, maxMillis = 800)
+		public void call() {
+			LatencyRecorder.record(TEMPLATE, 900_000_000);
+		}
+	}
+
+	private static List<ITestResult> run(Class<?> testClass) {
+		TestNG testng = new TestNG(false);
+		testng.setTestClasses(new Class<?>[] { testClass });
+		testng.setOutputDirectory(System.getProperty("java.io.tmpdir") + "/latency-sla-listener-test");
+		TestListenerAdapter results = new TestListenerAdapter();
+		testng.addListener(new LatencySlaListener());
+		testng.addListener(results);
+		testng.run();
+		List<ITestResult> all = results.getPassedTests();
+		all.addAll(results.getFailedTests());
+		all.sort((a, b) -> Long.compare(a.getStartMillis(), b.getStartMillis()));
+		return all;
+	}
+
+	@Test(groups = { "unit" }, description = "A single-call test repeated warm-up plus calls times gets a verdict.")
+	public void repeatedTestIsEvaluated() {
+		List<ITestResult> results = run(FastCalls.class);
+		Assert.assertEquals(results.size(), 22);
+		for (ITestResult result : results.subList(0, 21)) {
+			Assert.assertFalse(LatencySlaListener.getVerdicts(result).get(0).isEvaluated());
+		}
+		LatencySlaListener.Verdict last = LatencySlaListener.getVerdicts(results.get(21)).get(0);
+		Assert.assertTrue(last.isEvaluated(), last.getMessage());
+		Assert.assertFalse(last.isBreached(), last.getMessage());
+		Assert.assertEquals(results.get(21).getStatus(), ITestResult.SUCCESS);
+	}
+
+	@Test(groups = { "unit" }, description = "A breach on the last invocation fails it.")
+	public void breachFailsLastInvocation() {
+		List<ITestResult> results = run(SlowCalls.class);
+		Assert.assertEquals(results.size(), 22);
+		ITestResult last = results.get(21);
+		Assert.assertTrue(LatencySlaListener.getVerdicts(last).get(0).isBreached());
+		Assert.assertEquals(last.getStatus(), ITestResult.FAILURE);
+		Assert.assertTrue(last.getThrowable().getMessage().startsWith("Latency SLA breached"),
+				last.getThrowable().getMessage());
+	}
+}
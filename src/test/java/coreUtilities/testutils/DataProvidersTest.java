@@ -0,0 +1,65 @@
+package coreUtilities.testutils;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import coreUtilities.utils.CloseableIterator;
+import coreUtilities.utils.FileOperations;
+
+public class DataProvidersTest {
+
+	private static final String JSON_FILE_PATH = "src/test/resources/testData/departments.json";
+	private static final String EXCEL_FILE_PATH = "src/test/resources/testData/departments.xlsx";
+	private static final Set<String> EXPECTED_CODES = new HashSet<>(Arrays.asList("CARD", "DERM", "RADI"));
+
+	private static final Set<String> jsonCodes = ConcurrentHashMap.newKeySet();
+	private static final Set<String> excelCodes = ConcurrentHashMap.newKeySet();
+
+	FileOperations fileOperations = new FileOperations();
+
+	@Test(groups = { "unit" }, dataProvider = DataProviders.RECORDS, dataProviderClass = DataProviders.class,
+			description = "Runs once per object of the JSON array.")
+	@TestData(path = JSON_FILE_PATH)
+	public void jsonRecords(Map<String, Object> department) {
+		Assert.assertNotNull(department.get("DepartmentName"), "DepartmentName should not be null.");
+		Assert.assertTrue(department.get("IsActive") instanceof Boolean, "IsActive should keep its JSON type.");
+		Assert.assertTrue(jsonCodes.add((String) department.get("DepartmentCode")), "Each record is passed once.");
+	}
+
+	@Test(groups = { "unit" }, dataProvider = DataProviders.RECORDS, dataProviderClass = DataProviders.class,
+			description = "Runs once per row below the header row of the sheet.")
+	@TestData(path = EXCEL_FILE_PATH, sheet = "Departments")
+	public void excelRecords(Map<String, String> department) {
+		Assert.assertNotNull(department.get("DepartmentName"), "DepartmentName should not be null.");
+		Assert.assertTrue(department.get("IsActive").matches("TRUE|FALSE"), "IsActive should be read as text.");
+		Assert.assertTrue(excelCodes.add(department.get("DepartmentCode")), "Each record is passed once.");
+	}
+
+	@Test(groups = { "unit" }, dependsOnMethods = { "jsonRecords",
+			"excelRecords" }, description = "Every record of both files was run.")
+	public void everyRecordRun() {
+		Assert.assertEquals(jsonCodes, EXPECTED_CODES);
+		Assert.assertEquals(excelCodes, EXPECTED_CODES);
+	}
+
+	@Test(groups = { "unit" }, description = "A stream closed before its last record stops there.")
+	public void closeBeforeLastRecord() throws Exception {
+		try (CloseableIterator<Map<String, Object>> records = fileOperations.streamJsonRecords(JSON_FILE_PATH)) {
+			Assert.assertEquals(records.next().get("DepartmentCode"), "CARD");
+			records.close();
+			Assert.assertFalse(records.hasNext(), "No record should be read after close.");
+		}
+		try (CloseableIterator<Map<String, String>> records = fileOperations.streamExcelRecords(EXCEL_FILE_PATH,
+				"Departments")) {
+			Assert.assertEquals(records.next().get("DepartmentCode"), "CARD");
+			records.close();
+			Assert.assertFalse(records.hasNext(), "No row should be read after close.");
+		}
+	}
+}
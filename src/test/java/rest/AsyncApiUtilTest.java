@@ -0,0 +1,85 @@
+package rest;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.logging.log4j.ThreadContext;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import coreUtilities.utils.Log;
+import rest.metrics.LatencyRecorder;
+import rest.metrics.LatencyRecorder.Sample;
+
+public class AsyncApiUtilTest {
+
+	private final ExecutorService executor = Executors.newSingleThreadExecutor();
+	private final AsyncApiUtil async = new AsyncApiUtil(new ApiUtil(), executor);
+
+	@AfterMethod
+	public void clearThread() {
+		LatencyRecorder.stopCapture();
+		ThreadContext.clearMap();
+	}
+
+	@AfterClass
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	@Test(groups = { "unit" }, description = "A submitted call runs with the caller's account, log context and capture.")
+	public void submitCarriesCallerContext() {
+		AuthUtil.setVirtualUser(41);
+		Log.startTest("submitCarriesCallerContext");
+		LatencyRecorder.startCapture();
+
+		String seen = async.submit(() -> {
+			LatencyRecorder.record("GET /Settings/Departments", 1_000_000);
+			return AuthUtil.getVirtualUser() + " " + ThreadContext.get(Log.MDC_TEST);
+		}).join();
+
+		Assert.assertEquals(seen, "41 submitCarriesCallerContext");
+		List<Sample> samples = LatencyRecorder.stopCapture();
+		Assert.assertEquals(samples.size(), 1, "The call's latency should count for the caller.");
+	}
+
+	@Test(groups = { "unit" }, description = "The worker gets its own state back after the call.")
+	public void workerStateIsRestored() throws Exception {
+		AuthUtil.setVirtualUser(7);
+		Log.startTest("workerStateIsRestored");
+		LatencyRecorder.startCapture();
+		async.submit(() -> null).join();
+
+		String after = executor.submit(() -> ThreadContext.get(Log.MDC_TEST) + " "
+				+ (LatencyRecorder.currentCapture() == null) + " " + AuthUtil.currentVirtualUser()).get();
+		Assert.assertEquals(after, "null true null", "The worker should not keep the test's state.");
+	}
+
+	@Test(groups = { "unit" }, description = "A prefetched call counts for the test that joins it.")
+	public void prefetchCountsForTheJoiningTest() {
+		LatencyRecorder.startCapture();
+		AsyncApiUtil.Prefetch<String> prefetch = async.prefetch(() -> {
+			LatencyRecorder.record("GET /Billing/ListUsers", 2_000_000);
+			return "done";
+		});
+		// The firing test does not see the call
+		LatencyRecorder.stopCapture();
+
+		LatencyRecorder.startCapture();
+		Assert.assertEquals(prefetch.join(), "done");
+		List<Sample> samples = LatencyRecorder.stopCapture();
+		Assert.assertEquals(samples.size(), 1);
+		Assert.assertEquals(samples.get(0).getTemplate(), "GET /Billing/ListUsers");
+	}
+
+	@Test(groups = { "unit" }, description = "A failed prefetch throws what the call threw.",
+			expectedExceptions = IllegalStateException.class, expectedExceptionsMessageRegExp = "no users")
+	public void prefetchFailureIsUnwrapped() {
+		async.<String>prefetch(() -> {
+			throw new IllegalStateException("no users");
+		}).join();
+	}
+}
@@ -0,0 +1,122 @@
+package rest;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import restConfig.ConfigManager;
+
+/**
+ * Compares API call throughput on the platform-thread pool and on virtual
+ * threads.
+ *
+ * @description Fires the same number of {@link ApiUtil} GETs through
+ *              {@link AsyncApiUtil} on three executors. The first is the
+ *              platform pool the suites use, at its configured size
+ *              ({@code async.threads}). The second is a virtual thread per
+ *              call, with a semaphore allowing {@code inFlight} calls at a
+ *              time. The third is a platform pool of {@code inFlight} threads,
+ *              which shows what the first pool would have to be sized to. Each
+ *              executor gets a shorter warm-up round before the measured one.
+ *              The HTTP pool is raised to {@value #BENCHMARK_POOL_SIZE} connections
+ *              per route and in total, so that it does not cap the in-flight
+ *              calls. Other sizes can be set with {@code -Dhttp.pool.maxPerRoute}
+ *              and {@code -Dhttp.pool.maxTotal}. Needs a JDK 21+ runtime for the
+ *              virtual-thread run. Usage:
+ *              {@code ExecutorThroughputBenchmark [endpoint] [calls] [inFlight]}.
+ */
+public class ExecutorThroughputBenchmark {
+
+	private static final String DEFAULT_ENDPOINT = "/Settings/Departments";
+	private static final int DEFAULT_CALLS = 5000;
+	private static final int BENCHMARK_POOL_SIZE = 500;
+
+	private ExecutorThroughputBenchmark() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		// Before HttpClientPool is loaded, which reads the sizes once
+		raisePoolSize("http.pool.maxPerRoute");
+		raisePoolSize("http.pool.maxTotal");
+
+		String endpoint = args.length > 0 ? args[0] : DEFAULT_ENDPOINT;
+		int calls = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CALLS;
+		int poolLimit = HttpClientPool.getMaxPerRoute();
+		int inFlight = args.length > 2 ? Integer.parseInt(args[2]) : poolLimit;
+		int asyncThreads = ConfigManager.getInt("async.threads", 16);
+
+		System.out.println(String.format(
+				"Java %s, %d CPUs; HTTP pool: %d per route, %d in total; async.threads %d, in-flight limit %d",
+				System.getProperty("java.version"), Runtime.getRuntime().availableProcessors(), poolLimit,
+				HttpClientPool.getStats().getMax(), asyncThreads, inFlight));
+
+		// The first round warms up the base spec, the JIT and each executor, and
+		// opens the pooled connections; the second one is measured
+		for (int round = 0; round < 2; round++) {
+			String prefix = round == 0 ? "warm-up, " : "";
+			int roundCalls = round == 0 ? Math.min(calls, inFlight * 2) : calls;
+			run(prefix + "platform threads (" + asyncThreads + ")",
+					ApiExecutors.newPlatformThreadExecutor("bench-platform-", asyncThreads), endpoint, roundCalls,
+					null);
+			if (ApiExecutors.virtualThreadsSupported()) {
+				run(prefix + "virtual threads (" + inFlight + " in flight)", ApiExecutors.newVirtualThreadExecutor(),
+						endpoint, roundCalls, new Semaphore(inFlight));
+			} else if (round == 0) {
+				System.out.println("Virtual threads are not available on Java " + System.getProperty("java.version"));
+			}
+			run(prefix + "platform threads (" + inFlight + ")",
+					ApiExecutors.newPlatformThreadExecutor("bench-platform-sized-", inFlight), endpoint, roundCalls,
+					null);
+		}
+		System.out.println(HttpClientPool.getStats());
+	}
+
+	private static void raisePoolSize(String key) {
+		if (System.getProperty(key) == null) {
+			System.setProperty(key, String.valueOf(BENCHMARK_POOL_SIZE));
+		}
+	}
+
+	// limit bounds the calls in flight when the executor itself does not
+	private static void run(String label, ExecutorService executor, String endpoint, int calls, Semaphore limit)
+			throws InterruptedException {
+		ApiUtil apiUtil = new ApiUtil();
+		AsyncApiUtil asyncApiUtil = new AsyncApiUtil(apiUtil, executor);
+		HttpClientPool.Stats before = HttpClientPool.getStats();
+		CompletableFuture<?>[] futures = new CompletableFuture<?>[calls];
+		long start = System.nanoTime();
+		for (int i = 0; i < calls; i++) {
+			if (limit == null) {
+				futures[i] = asyncApiUtil.getDepartmentsList(endpoint, null);
+			} else {
+				futures[i] = asyncApiUtil.submit(() -> {
+					limit.acquireUninterruptibly();
+					try {
+						return apiUtil.getDepartmentsList(endpoint, null);
+					} finally {
+						limit.release();
+					}
+				});
+			}
+		}
+		int failed = 0;
+		for (CompletableFuture<?> future : futures) {
+			try {
+				future.join();
+			} catch (RuntimeException e) {
+				failed++;
+			}
+		}
+		long elapsedNanos = System.nanoTime() - start;
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+
+		HttpClientPool.Stats after = HttpClientPool.getStats();
+		System.out.println(String.format(
+				"%-42s %d calls, %d failed, %.0f ms, %.1f calls/s, avg lease wait %.2f ms, %d connections opened",
+				label + ":", calls, failed, elapsedNanos / 1_000_000.0, calls / (elapsedNanos / 1_000_000_000.0),
+				(after.getTotalLeaseWaitMillis() - before.getTotalLeaseWaitMillis()) / (double) calls,
+				after.getConnectionsOpened() - before.getConnectionsOpened()));
+	}
+}
@@ -0,0 +1,55 @@
+package rest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ResponseBodyTest {
+
+	private static final String PATIENTS = "{\"Status\":\"OK\",\"Results\":["
+			+ "{\"PatientId\":114,\"ShortName\":\"Devid Roy\",\"Visits\":[{\"VisitId\":53},{\"VisitId\":54}]},"
+			+ "{\"PatientId\":7,\"ShortName\":null,\"Visits\":[{\"VisitId\":9}]},"
+			+ "{\"ShortName\":\"No Id\",\"Visits\":[]}]}";
+
+	private static ResponseBody parse(String json) {
+		return ResponseBody.parse(json.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test(groups = { "unit" }, description = "Fields and indexes of objects are read as before.")
+	public void objectPaths() {
+		ResponseBody body = parse(PATIENTS);
+		Assert.assertEquals(body.getString("Status"), "OK");
+		Assert.assertEquals(body.getInteger("Results[0].PatientId"), Integer.valueOf(114));
+		Assert.assertEquals(body.getString("Results[1].ShortName"), null);
+		Assert.assertEquals(body.getInteger("Results[-1].Visits[0].VisitId"), null);
+		Assert.assertEquals(body.getInteger("Results[-2].Visits[0].VisitId"), Integer.valueOf(9));
+		Assert.assertNull(body.get("Results[5].PatientId"));
+		Assert.assertNull(body.get("Missing.PatientId"));
+	}
+
+	@Test(groups = { "unit" }, description = "A field of an array is collected from each element, like GPath.")
+	public void fieldOfArrayIsCollected() {
+		ResponseBody body = parse(PATIENTS);
+		Assert.assertEquals(body.get("Results.PatientId"), Arrays.asList(114, 7, null));
+		Assert.assertEquals(body.getList("Results.ShortName"), Arrays.asList("Devid Roy", null, "No Id"));
+		Assert.assertEquals(body.get("Results.PatientId[1]"), 7);
+		// Nested arrays keep their shape
+		Assert.assertEquals(body.get("Results.Visits.VisitId"),
+				Arrays.asList(Arrays.asList(53, 54), Arrays.asList(9), Arrays.asList()));
+	}
+
+	@Test(groups = { "unit" }, description = "An unclosed index is rejected with the path in the message.",
+			expectedExceptions = IllegalArgumentException.class,
+			expectedExceptionsMessageRegExp = "Unclosed '\\[' in path Results\\[0")
+	public void unclosedIndex() {
+		parse(PATIENTS).get("Results[0");
+	}
+
+	@Test(groups = { "unit" }, description = "A non-numeric index is rejected.",
+			expectedExceptions = IllegalArgumentException.class)
+	public void nonNumericIndex() {
+		parse(PATIENTS).get("Results[first].PatientId");
+	}
+}
@@ -0,0 +1,53 @@
+package rest.metrics;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class EndpointTemplatesTest {
+
+	private static final String BASE = "http://localhost:8080/api";
+
+	@Test(groups = { "unit" }, description = "Numeric path segments are replaced, other segments are kept.")
+	public void numericPathSegments() {
+		Assert.assertEquals(EndpointTemplates.of("PUT", BASE + "/Appointment/AppointmentStatus/42", "/api"),
+				"PUT /Appointment/AppointmentStatus/{}");
+		Assert.assertEquals(EndpointTemplates.of("GET", BASE + "/DispensaryRequisition/Dispensary/1", "/api"),
+				"GET /DispensaryRequisition/Dispensary/{}");
+		Assert.assertEquals(EndpointTemplates.of("GET", BASE + "/Orders/12/Items/7", "/api"),
+				"GET /Orders/{}/Items/{}");
+		Assert.assertEquals(EndpointTemplates.of("GET", BASE + "/Billing/v2/Invoices", "/api"),
+				"GET /Billing/v2/Invoices");
+	}
+
+	@Test(groups = { "unit" }, description = "Query values are replaced, names and their order are kept.")
+	public void queryValues() {
+		Assert.assertEquals(EndpointTemplates.of("GET", BASE + "/Employee/Profile?empId=12", "/api"),
+				"GET /Employee/Profile?empId={}");
+		Assert.assertEquals(
+				EndpointTemplates.of("GET", BASE + "/Billing/Invoices?FromDate=2020-01-01&ToDate=2024-11-21", "/api"),
+				"GET /Billing/Invoices?FromDate={}&ToDate={}");
+		Assert.assertEquals(
+				EndpointTemplates.of("GET", BASE + "/Patient/IPDPatientSearch?search=Devid8%20Roy8&flag&&x=", "/api"),
+				"GET /Patient/IPDPatientSearch?search={}&flag={}&x={}");
+	}
+
+	@Test(groups = { "unit" }, description = "Calls that differ only in ids and values share one template.")
+	public void sameEndpointSameTemplate() {
+		String endpoint = BASE + "/PatientConsumption/PatientConsumptionInfo";
+		Assert.assertEquals(EndpointTemplates.of("GET", endpoint + "?PatientId=114&patientVisitId=53", "/api"),
+				EndpointTemplates.of("GET", endpoint + "?PatientId=7&patientVisitId=9", "/api"));
+		Assert.assertNotEquals(EndpointTemplates.of("GET", BASE + "/Settings/Department", "/api"),
+				EndpointTemplates.of("PUT", BASE + "/Settings/Department", "/api"));
+	}
+
+	@Test(groups = { "unit" }, description = "The base path is dropped only when it prefixes the request path.")
+	public void basePath() {
+		Assert.assertEquals(EndpointTemplates.of("GET", "http://localhost/api", "/api"), "GET /");
+		Assert.assertEquals(EndpointTemplates.of("GET", "http://localhost/Settings/Departments", null),
+				"GET /Settings/Departments");
+		Assert.assertEquals(EndpointTemplates.of("GET", "http://localhost/Settings/Departments", "/"),
+				"GET /Settings/Departments");
+		Assert.assertEquals(EndpointTemplates.of("GET", "http://localhost/other/Departments", "/api"),
+				"GET /other/Departments");
+	}
+}
@@ -0,0 +1,140 @@
+package rest.metrics;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class LatencyHistogramTest {
+
+	// Each power of two above 128us is split into 64 buckets
+	private static final double MAX_RELATIVE_ERROR = 1.0 / 64;
+
+	@Test(groups = {
+			"unit" }, description = "Values below 128us keep their own bucket; 128us starts the log-linear range.")
+	public void bucketBoundaries() {
+		Assert.assertEquals(LatencyHistogram.indexOf(0), 0);
+		Assert.assertEquals(LatencyHistogram.indexOf(127), 127);
+		Assert.assertEquals(LatencyHistogram.highestValueAt(127), 127);
+
+		// 128 and 129 share the first bucket two microseconds wide
+		Assert.assertEquals(LatencyHistogram.indexOf(128), 128);
+		Assert.assertEquals(LatencyHistogram.indexOf(129), 128);
+		Assert.assertEquals(LatencyHistogram.highestValueAt(128), 129);
+
+		// 255 closes the 128-255 range, 256 opens the next one with buckets
+		// four microseconds wide
+		Assert.assertEquals(LatencyHistogram.indexOf(254), 191);
+		Assert.assertEquals(LatencyHistogram.indexOf(255), 191);
+		Assert.assertEquals(LatencyHistogram.highestValueAt(191), 255);
+		Assert.assertEquals(LatencyHistogram.indexOf(256), 192);
+		Assert.assertEquals(LatencyHistogram.indexOf(259), 192);
+		Assert.assertEquals(LatencyHistogram.indexOf(260), 193);
+		Assert.assertEquals(LatencyHistogram.highestValueAt(192), 259);
+	}
+
+	@Test(groups = { "unit" }, description = "Every value maps to a bucket whose highest value covers it within 1.6%.")
+	public void bucketsCoverTheirValues() {
+		long previousIndex = -1;
+		for (long value = 0; value <= TimeUnit.HOURS.toMicros(1); value = value < 4096 ? value + 1 : value + value / 97) {
+			int index = LatencyHistogram.indexOf(value);
+			long highest = LatencyHistogram.highestValueAt(index);
+			Assert.assertTrue(index >= previousIndex, "Bucket index must not decrease at " + value);
+			Assert.assertTrue(highest >= value, "Bucket " + index + " must cover " + value);
+			Assert.assertTrue(highest - value <= value * MAX_RELATIVE_ERROR,
+					"Bucket " + index + " reports " + highest + " for " + value);
+			if (index > 0) {
+				Assert.assertTrue(LatencyHistogram.highestValueAt(index - 1) < value,
+						"Bucket " + (index - 1) + " must end below " + value);
+			}
+			previousIndex = index;
+		}
+	}
+
+	@Test(groups = { "unit" }, description = "Percentiles are reported within 1.6% of the exact sorted values.")
+	public void percentileError() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		long[] values = new long[10_000];
+		Random random = new Random(42);
+		for (int i = 0; i < values.length; i++) {
+			// Log-uniform between 1us and about 30s
+			values[i] = 1 + (long) Math.exp(random.nextDouble() * Math.log(30_000_000));
+			histogram.recordMicros(values[i]);
+		}
+		Arrays.sort(values);
+
+		for (double percentile : new double[] { 1, 25, 50, 90, 95, 99, 99.9, 100 }) {
+			long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+			long reported = histogram.getValueAtPercentile(percentile);
+			Assert.assertTrue(reported >= exact, "p" + percentile + " reported " + reported + " below " + exact);
+			Assert.assertTrue(reported - exact <= exact * MAX_RELATIVE_ERROR,
+					"p" + percentile + " reported " + reported + " for " + exact);
+		}
+		Assert.assertEquals(histogram.getValueAtPercentile(100), values[values.length - 1]);
+		Assert.assertEquals(histogram.getMaxMicros(), values[values.length - 1]);
+	}
+
+	@Test(groups = { "unit" }, description = "Merging two histograms gives the same counts as recording into one.")
+	public void mergeOfTwoHistograms() {
+		LatencyHistogram first = new LatencyHistogram();
+		LatencyHistogram second = new LatencyHistogram();
+		LatencyHistogram both = new LatencyHistogram();
+		for (long micros = 1; micros < 2_000_000; micros *= 3) {
+			first.recordMicros(micros);
+			both.recordMicros(micros);
+		}
+		for (long micros = 2; micros < 5_000_000; micros *= 5) {
+			second.record(micros, TimeUnit.MICROSECONDS);
+			both.recordMicros(micros);
+		}
+		long firstCount = first.getCount();
+
+		first.add(second);
+		Assert.assertEquals(first.getBucketCounts(), both.getBucketCounts());
+		Assert.assertEquals(first.getCount(), both.getCount());
+		Assert.assertEquals(first.getTotalMicros(), both.getTotalMicros());
+		Assert.assertEquals(first.getMaxMicros(), both.getMaxMicros());
+		Assert.assertEquals(first.getValueAtPercentile(50), both.getValueAtPercentile(50));
+		Assert.assertEquals(first.getValueAtPercentile(99), both.getValueAtPercentile(99));
+
+		// The merged-in histogram is left as it was
+		Assert.assertEquals(second.getCount(), both.getCount() - firstCount);
+	}
+
+	@Test(groups = { "unit" }, description = "A histogram restored from its bucket counts reports the same values.")
+	public void bucketCountsRoundTrip() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (long micros : new long[] { 0, 127, 128, 255, 256, 1_000, 1_000, 48_213, 2_500_000 }) {
+			histogram.recordMicros(micros);
+		}
+		// Beyond one hour goes into the last bucket, the exact maximum is kept
+		histogram.record(2, TimeUnit.HOURS);
+
+		Map<Integer, Long> buckets = histogram.getBucketCounts();
+		Assert.assertEquals(buckets.get(LatencyHistogram.indexOf(1_000)), Long.valueOf(2));
+		Assert.assertFalse(buckets.containsValue(0L), "Only non-empty buckets are persisted.");
+
+		LatencyHistogram restored = LatencyHistogram.fromBucketCounts(buckets, histogram.getTotalMicros(),
+				histogram.getMaxMicros());
+		Assert.assertEquals(restored.getBucketCounts(), buckets);
+		Assert.assertEquals(restored.getCount(), histogram.getCount());
+		Assert.assertEquals(restored.getTotalMicros(), histogram.getTotalMicros());
+		Assert.assertEquals(restored.getMaxMicros(), TimeUnit.HOURS.toMicros(2));
+		Assert.assertEquals(restored.getMeanMicros(), histogram.getMeanMicros());
+		for (double percentile : new double[] { 10, 50, 90, 99, 100 }) {
+			Assert.assertEquals(restored.getValueAtPercentile(percentile), histogram.getValueAtPercentile(percentile),
+					"p" + percentile);
+		}
+	}
+
+	@Test(groups = { "unit" }, description = "An empty histogram reports zero.")
+	public void emptyHistogram() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		Assert.assertEquals(histogram.getValueAtPercentile(99), 0);
+		Assert.assertEquals(histogram.getMeanMicros(), 0.0);
+		Assert.assertTrue(histogram.getBucketCounts().isEmpty());
+	}
+}
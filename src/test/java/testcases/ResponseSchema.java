@@ -0,0 +1,196 @@
+package testcases;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compiled response schema of one API method.
+ *
+ * @description All schemas are read once from
+ *              {@code src/main/resources/responseSchemas.json}, which maps a
+ *              method name to the fields its response object must contain.
+ *              Each field spec may give a {@code type} (object, array, string,
+ *              integer, number, boolean, null; any when omitted), a value it
+ *              {@code equals}, {@code nonZero}, {@code notEmpty},
+ *              {@code required: false} for optional fields, nested
+ *              {@code fields} of an object and an {@code items} spec applied to
+ *              every array element. A response is checked in one walk over its
+ *              parsed tree and every violation is reported, not just the first.
+ */
+final class ResponseSchema {
+
+	static final String SCHEMA_FILE = "src/main/resources/responseSchemas.json";
+
+	private static volatile Map<String, ResponseSchema> schemas;
+
+	private final FieldSpec root;
+
+	private ResponseSchema(FieldSpec root) {
+		this.root = root;
+	}
+
+	/**
+	 * @param methodName - The API method the response came from.
+	 * @return ResponseSchema - Its schema, or null when none is defined.
+	 */
+	static ResponseSchema forMethod(String methodName) {
+		Map<String, ResponseSchema> loaded = schemas;
+		if (loaded == null) {
+			synchronized (ResponseSchema.class) {
+				loaded = schemas;
+				if (loaded == null) {
+					loaded = load(new File(SCHEMA_FILE));
+					schemas = loaded;
+				}
+			}
+		}
+		return loaded.get(methodName);
+	}
+
+	/**
+	 * @param body - The parsed response body; null for an empty or non-JSON
+	 *             body.
+	 * @return List - One message per violation; empty when the body is valid.
+	 */
+	List<String> validate(JsonNode body) {
+		List<String> violations = new ArrayList<>();
+		if (body == null) {
+			violations.add("Response body is empty or not JSON.");
+		} else {
+			root.check("", body, violations);
+		}
+		return violations;
+	}
+
+	private static Map<String, ResponseSchema> load(File file) {
+		try {
+			JsonNode tree = new ObjectMapper().readTree(file);
+			Map<String, ResponseSchema> loaded = new LinkedHashMap<>();
+			Iterator<Map.Entry<String, JsonNode>> entries = tree.fields();
+			while (entries.hasNext()) {
+				Map.Entry<String, JsonNode> entry = entries.next();
+				Map<String, FieldSpec> fields = compileFields(entry.getValue(), entry.getKey());
+				loaded.put(entry.getKey(),
+						new ResponseSchema(new FieldSpec("object", null, false, false, true, fields, null)));
+			}
+			return Collections.unmodifiableMap(loaded);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot read response schemas from " + file.getPath(), e);
+		}
+	}
+
+	private static Map<String, FieldSpec> compileFields(JsonNode fields, String owner) {
+		if (!fields.isObject()) {
+			throw new IllegalStateException("Fields of " + owner + " in " + SCHEMA_FILE + " must be an object");
+		}
+		Map<String, FieldSpec> compiled = new LinkedHashMap<>();
+		Iterator<Map.Entry<String, JsonNode>> entries = fields.fields();
+		while (entries.hasNext()) {
+			Map.Entry<String, JsonNode> entry = entries.next();
+			compiled.put(entry.getKey(), compile(entry.getValue(), owner + "." + entry.getKey()));
+		}
+		return compiled;
+	}
+
+	private static FieldSpec compile(JsonNode spec, String owner) {
+		String type = spec.path("type").asText("any");
+		if (!FieldSpec.TYPES.contains(type)) {
+			throw new IllegalStateException("Unknown type '" + type + "' for " + owner + " in " + SCHEMA_FILE);
+		}
+		return new FieldSpec(type, spec.get("equals"), spec.path("nonZero").asBoolean(false),
+				spec.path("notEmpty").asBoolean(false), spec.path("required").asBoolean(true),
+				spec.has("fields") ? compileFields(spec.get("fields"), owner)
+						: Collections.<String, FieldSpec>emptyMap(),
+				spec.has("items") ? compile(spec.get("items"), owner + "[]") : null);
+	}
+
+	private static final class FieldSpec {
+		private static final List<String> TYPES = Arrays.asList("any", "object", "array", "string",
+				"integer", "number", "boolean", "null");
+
+		private final String type;
+		private final JsonNode equals;
+		private final boolean nonZero;
+		private final boolean notEmpty;
+		private final boolean required;
+		private final Map<String, FieldSpec> fields;
+		private final FieldSpec items;
+
+		private FieldSpec(String type, JsonNode equals, boolean nonZero, boolean notEmpty, boolean required,
+				Map<String, FieldSpec> fields, FieldSpec items) {
+			this.type = type;
+			this.equals = equals;
+			this.nonZero = nonZero;
+			this.notEmpty = notEmpty;
+			this.required = required;
+			this.fields = fields;
+			this.items = items;
+		}
+
+		private void check(String path, JsonNode node, List<String> violations) {
+			String name = path.isEmpty() ? "Response" : path;
+			if (!hasType(node)) {
+				violations.add(name + " should be " + type + " but was " + node.getNodeType().name().toLowerCase()
+						+ ".");
+				return;
+			}
+			if (equals != null && !equals.equals(node)) {
+				violations.add(name + " should be " + equals + " but was " + node + ".");
+			}
+			if (nonZero && node.asLong() == 0) {
+				violations.add(name + " should not be 0.");
+			}
+			if (notEmpty && node.size() == 0) {
+				violations.add(name + " is empty in the response.");
+			}
+			for (Map.Entry<String, FieldSpec> field : fields.entrySet()) {
+				JsonNode child = node.get(field.getKey());
+				String childPath = path.isEmpty() ? field.getKey() : path + "." + field.getKey();
+				if (child == null) {
+					if (field.getValue().required) {
+						violations.add("Missing field in response: " + childPath);
+					}
+				} else {
+					field.getValue().check(childPath, child, violations);
+				}
+			}
+			if (items != null && node.isArray()) {
+				for (int i = 0; i < node.size(); i++) {
+					items.check(path + "[" + i + "]", node.get(i), violations);
+				}
+			}
+		}
+
+		private boolean hasType(JsonNode node) {
+			switch (type) {
+			case "object":
+				return node.isObject();
+			case "array":
+				return node.isArray();
+			case "string":
+				return node.isTextual();
+			case "integer":
+				return node.isIntegralNumber();
+			case "number":
+				return node.isNumber();
+			case "boolean":
+				return node.isBoolean();
+			case "null":
+				return node.isNull();
+			default:
+				return true;
+			}
+		}
+	}
+}
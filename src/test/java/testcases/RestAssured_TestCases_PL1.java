@@ -1,6 +1,8 @@
 package testcases;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -9,9 +11,15 @@ import java.util.Set;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import coreUtilities.testutils.LatencySla;
 import coreUtilities.utils.FileOperations;
 import rest.ApiUtil;
+import rest.AsyncApiUtil;
 import rest.CustomResponse;
+import rest.models.BillingSummary;
+import rest.models.MainStore;
+import rest.models.PatientList;
+import rest.models.StockList;
 
 public class RestAssured_TestCases_PL1 {
 
@@ -20,9 +28,15 @@ public class RestAssured_TestCases_PL1 {
 	private final String FILEPATH = "src/main/java/rest/ApiUtil.java";
 	ApiUtil apiUtil;
 
-	@Test(priority = 1, groups = { "PL1" }, description = "1. Send a GET request to get list of stocks\n"
+	// The billing reference reads of tests 16 to 18 do not depend on each
+	// other, so the first of these tests fires all three and each joins its own
+	private static Map<String, AsyncApiUtil.Prefetch<CustomResponse>> billingReads;
+
+	@Test(priority = 1, invocationCount = 22, groups = {
+			"PL1" }, description = "1. Send a GET request to get list of stocks\n"
 			+ "2. Validate that all the ItemId, ItemName, and GenericName are not null.\n"
 			+ "3. Verify the response status code is 200.")
+	@LatencySla(endpoint = "/PharmacyStock/AllStockDetails", percentile = 95, maxMillis = 1500)
 	public void getAllStocksTest() throws IOException {
 		apiUtil = new ApiUtil();
 
@@ -46,24 +60,19 @@ public class RestAssured_TestCases_PL1 {
 		Assert.assertEquals(status, "OK", "Status should be OK.");
 
 		// Validate that ItemId, ItemName, and GenericName are not null
-		List<Object> itemIds = customResponse.getItemIds();
-		List<Object> itemNames = customResponse.getItemNames();
-		List<Object> genericNames = customResponse.getGenericNames();
+		StockList stocks = customResponse.getResults(StockList::bind);
+		Integer[] itemIds = stocks.getItemIds();
+		String[] itemNames = stocks.getItemNames();
+		String[] genericNames = stocks.getGenericNames();
 
-		Assert.assertFalse(itemIds.isEmpty(), "ItemId list should not be empty.");
-		Assert.assertFalse(itemNames.isEmpty(), "ItemName list should not be empty.");
-		Assert.assertFalse(genericNames.isEmpty(), "GenericName list should not be empty.");
+		Assert.assertTrue(stocks.size() > 0, "Stock list should not be empty.");
 
 		// Validate that none of the fields are null for each entry
-		for (int i = 0; i < itemIds.size(); i++) {
-			Assert.assertNotNull(itemIds.get(i), "ItemId at index " + i + " should not be null.");
-			Assert.assertNotNull(itemNames.get(i), "ItemName at index " + i + " should not be null.");
-			Assert.assertNotNull(genericNames.get(i), "GenericName at index " + i + " should not be null.");
+		for (int i = 0; i < stocks.size(); i++) {
+			Assert.assertNotNull(itemIds[i], "ItemId at index " + i + " should not be null.");
+			Assert.assertNotNull(itemNames[i], "ItemName at index " + i + " should not be null.");
+			Assert.assertNotNull(genericNames[i], "GenericName at index " + i + " should not be null.");
 		}
-
-		// Print response for debugging
-		System.out.println("All Stocks Response:");
-		customResponse.getResponse().prettyPrint();
 	}
 
 	@Test(priority = 2, groups = { "PL1" }, description = "1. Send a GET request to get details of main store\n"
@@ -89,13 +98,10 @@ public class RestAssured_TestCases_PL1 {
 		Assert.assertEquals(status, "OK", "Status should be OK.");
 
 		// Validate StoreId, Category, and IsActive fields are not null
-		Assert.assertNotNull(customResponse.getStoreId(), "StoreId should not be null.");
-		Assert.assertNotNull(customResponse.getCategory(), "Category should not be null.");
-		Assert.assertNotNull(customResponse.getIsActive(), "IsActive should not be null.");
-
-		// Print the response
-		System.out.println("Main Store Response:");
-		customResponse.getResponse().prettyPrint();
+		MainStore mainStore = customResponse.getResults(MainStore::bind);
+		Assert.assertNotNull(mainStore.getStoreId(), "StoreId should not be null.");
+		Assert.assertNotNull(mainStore.getCategory(), "Category should not be null.");
+		Assert.assertNotNull(customResponse.getBody().getBoolean("Results.IsActive"), "IsActive should not be null.");
 	}
 
 	@Test(priority = 3, groups = {
@@ -127,29 +133,23 @@ public class RestAssured_TestCases_PL1 {
 		Assert.assertEquals(status, "OK", "Status should be OK.");
 
 		// Validate requisition list fields
-		List<Object> requisitionNos = customResponse.getItemIds();
-		List<Object> requisitionStatuses = customResponse.getItemNames();
-		List<Object> requisitionIds = customResponse.getGenericNames();
+		String[] requisitionNos = customResponse.collectResultTexts("RequisitionNo");
+		String[] requisitionStatuses = customResponse.collectResultTexts("RequisitionStatus");
+		String[] requisitionIds = customResponse.collectResultTexts("RequisitionId");
 
 		// Validate that requisition fields are not null
-		Assert.assertFalse(requisitionNos.isEmpty(), "RequisitionNos list should not be empty.");
-		Assert.assertFalse(requisitionStatuses.isEmpty(), "RequisitionStatuses list should not be empty.");
-		Assert.assertFalse(requisitionIds.isEmpty(), "RequisitionIds list should not be empty.");
+		Assert.assertTrue(requisitionNos.length > 0, "RequisitionNos list should not be empty.");
 
 		// Validate that requisition IDs are unique
-		Set<Object> uniqueRequisitionIds = new HashSet<>(requisitionIds);
-		Assert.assertEquals(uniqueRequisitionIds.size(), requisitionIds.size(), "Requisition IDs should be unique.");
+		Set<String> uniqueRequisitionIds = new HashSet<>(Arrays.asList(requisitionIds));
+		Assert.assertEquals(uniqueRequisitionIds.size(), requisitionIds.length, "Requisition IDs should be unique.");
 
 		// Validate that RequisitionNo and RequisitionStatus are not null
-		for (int i = 0; i < requisitionNos.size(); i++) {
-			Assert.assertNotNull(requisitionNos.get(i), "RequisitionNo at index " + i + " should not be null.");
-			Assert.assertNotNull(requisitionStatuses.get(i),
+		for (int i = 0; i < requisitionNos.length; i++) {
+			Assert.assertNotNull(requisitionNos[i], "RequisitionNo at index " + i + " should not be null.");
+			Assert.assertNotNull(requisitionStatuses[i],
 					"RequisitionStatus at index " + i + " should not be null.");
 		}
-
-		// Print the response
-		System.out.println("Requisition Response:");
-		customResponse.getResponse().prettyPrint();
 	}
 
 	@Test(priority = 4, groups = { "PL1" }, description = "1. Send a GET request to get patient consumptions list\n"
@@ -177,26 +177,20 @@ public class RestAssured_TestCases_PL1 {
 		Assert.assertEquals(status, "OK", "Status should be OK.");
 
 		// Validate PatientId, HospitalNo, and PatientVisitId fields are not null
-		List<Object> patientIds = customResponse.getItemIds();
-		List<Object> hospitalNos = customResponse.getItemNames();
-		List<Object> patientVisitIds = customResponse.getGenericNames();
+		String[] patientIds = customResponse.collectResultTexts("PatientId");
+		String[] hospitalNos = customResponse.collectResultTexts("HospitalNo");
+		String[] patientVisitIds = customResponse.collectResultTexts("PatientVisitId");
 
 		// Validate that none of the fields are null
-		Assert.assertFalse(patientIds.isEmpty(), "PatientIds list should not be empty.");
-		Assert.assertFalse(hospitalNos.isEmpty(), "HospitalNos list should not be empty.");
-		Assert.assertFalse(patientVisitIds.isEmpty(), "PatientVisitIds list should not be empty.");
+		Assert.assertTrue(patientIds.length > 0, "PatientIds list should not be empty.");
 
 		// Validate that PatientId, HospitalNo, and PatientVisitId are not null for each
 		// patient
-		for (int i = 0; i < patientIds.size(); i++) {
-			Assert.assertNotNull(patientIds.get(i), "PatientId at index " + i + " should not be null.");
-			Assert.assertNotNull(hospitalNos.get(i), "HospitalNo at index " + i + " should not be null.");
-			Assert.assertNotNull(patientVisitIds.get(i), "PatientVisitId at index " + i + " should not be null.");
+		for (int i = 0; i < patientIds.length; i++) {
+			Assert.assertNotNull(patientIds[i], "PatientId at index " + i + " should not be null.");
+			Assert.assertNotNull(hospitalNos[i], "HospitalNo at index " + i + " should not be null.");
+			Assert.assertNotNull(patientVisitIds[i], "PatientVisitId at index " + i + " should not be null.");
 		}
-
-		// Print the response
-		System.out.println("Patient Consumptions Response:");
-		customResponse.getResponse().prettyPrint();
 	}
 
 	@Test(priority = 5, groups = {
@@ -227,13 +221,9 @@ public class RestAssured_TestCases_PL1 {
 		Assert.assertEquals(status, "OK", "Status should be OK.");
 
 		// Validate PatientName, HospitalNo, and StoreId fields are not null
-		Assert.assertNotNull(customResponse.getStoreId(), "PatientName should not be null.");
-		Assert.assertNotNull(customResponse.getCategory(), "HospitalNo should not be null.");
-		Assert.assertNotNull(customResponse.getIsActive(), "StoreId should not be null.");
-
-		// Print the response
-		System.out.println("Patient Consumption Info Response:");
-		customResponse.getResponse().prettyPrint();
+		Assert.assertNotNull(customResponse.getString("Results.PatientName"), "PatientName should not be null.");
+		Assert.assertNotNull(customResponse.getString("Results.HospitalNo"), "HospitalNo should not be null.");
+		Assert.assertNotNull(customResponse.getInteger("Results.StoreId"), "StoreId should not be null.");
 	}
 
 	@Test(priority = 6, groups = { "PL1" }, description = "Retrieve and validate Billing Scheme By Scheme ID.")
@@ -258,13 +248,10 @@ public class RestAssured_TestCases_PL1 {
 		Assert.assertEquals(customResponse.getStatus(), "OK", "Status should be OK.");
 
 		// Validate the extracted fields
-		Assert.assertNotNull(customResponse.getStoreId(), "SchemeCode should not be null.");
-		Assert.assertNotNull(customResponse.getCategory(), "SchemeName should not be null.");
-		Assert.assertEquals(String.valueOf(customResponse.getIsActive()), schemeId,
+		Assert.assertNotNull(customResponse.getString("Results.SchemeCode"), "SchemeCode should not be null.");
+		Assert.assertNotNull(customResponse.getString("Results.SchemeName"), "SchemeName should not be null.");
+		Assert.assertEquals(customResponse.getString("Results.SchemeId"), schemeId,
 				"SchemeId should match the requested value.");
-
-		System.out.println("Billing Scheme Response:");
-		customResponse.getResponse().prettyPrint();
 	}
 
 	@Test(priority = 7, groups = { "PL1" }, description = "Retrieve and validate Billing Summary By Patient ID.")
@@ -289,12 +276,10 @@ public class RestAssured_TestCases_PL1 {
 		Assert.assertEquals(customResponse.getStatus(), "OK", "Status should be OK.");
 
 		// Validate the extracted fields
-		Assert.assertEquals(String.valueOf(customResponse.getPatientId()), patientId,
+		BillingSummary summary = customResponse.getResults(BillingSummary::bind);
+		Assert.assertEquals(String.valueOf(summary.getPatientId()), patientId,
 				"PatientId should match the requested value.");
-		Assert.assertNotNull(customResponse.getTotalDue(), "TotalDue should not be null.");
-
-		System.out.println("Billing Summary Response:");
-		customResponse.getResponse().prettyPrint();
+		Assert.assertNotNull(customResponse.getString("Results.TotalDue"), "TotalDue should not be null.");
 	}
 
 	@Test(priority = 8, groups = {
@@ -322,18 +307,18 @@ public class RestAssured_TestCases_PL1 {
 		Assert.assertEquals(customResponse.getStatus(), "OK", "Status should be OK.");
 
 		// Validate the extracted fields
-		Assert.assertFalse(customResponse.getItemIds().isEmpty(), "PatientConsumptionIds list should not be empty.");
-		Assert.assertFalse(customResponse.getItemNames().isEmpty(), "ConsumptionReceiptNos list should not be empty.");
-		Assert.assertFalse(customResponse.getGenericNames().isEmpty(), "TotalAmounts list should not be empty.");
+		String[] consumptionIds = customResponse.collectResultTexts("PatientConsumptionId");
+		String[] receiptNos = customResponse.collectResultTexts("ConsumptionReceiptNo");
+		String[] totalAmounts = customResponse.collectResultTexts("TotalAmount");
+		Assert.assertTrue(consumptionIds.length > 0, "PatientConsumptionIds list should not be empty.");
+		for (int i = 0; i < consumptionIds.length; i++) {
+			Assert.assertNotNull(receiptNos[i], "ConsumptionReceiptNo should not be null.");
+			Assert.assertNotNull(totalAmounts[i], "TotalAmount should not be null.");
+		}
 
 		// Check for unique PatientConsumptionIds
-		Set<Object> uniqueIds = new HashSet<>(customResponse.getItemIds());
-		Assert.assertEquals(uniqueIds.size(), customResponse.getItemIds().size(),
-				"PatientConsumptionId values should be unique.");
-
-		// Print the response for debugging
-		System.out.println("Patient Consumptions List Response:");
-		customResponse.getResponse().prettyPrint();
+		Set<String> uniqueIds = new HashSet<>(Arrays.asList(consumptionIds));
+		Assert.assertEquals(uniqueIds.size(), consumptionIds.length, "PatientConsumptionId values should be unique.");
 	}
 
 	@Test(priority = 9, groups = { "PL1" }, description = "Retrieve and validate the return consumptions list.")
@@ -356,21 +341,17 @@ public class RestAssured_TestCases_PL1 {
 		Assert.assertEquals(customResponse.getStatus(), "OK", "Status should be OK.");
 
 		// Validate unique ConsumptionReturnReceiptNo and non-null PatientId
-		List<Object> consumptionReturnReceiptNos = customResponse.getItemIds();
-		List<Object> hospitalNos = customResponse.getItemNames();
-		List<Object> patientIds = customResponse.getGenericNames();
-
-		Set<Object> uniqueReceiptNos = new HashSet<>();
-		for (int i = 0; i < consumptionReturnReceiptNos.size(); i++) {
-			Assert.assertNotNull(consumptionReturnReceiptNos.get(i), "ConsumptionReturnReceiptNo should not be null.");
-			Assert.assertNotNull(patientIds.get(i), "PatientId should not be null.");
-			uniqueReceiptNos.add(consumptionReturnReceiptNos.get(i));
+		String[] consumptionReturnReceiptNos = customResponse.collectResultTexts("ConsumptionReturnReceiptNo");
+		String[] patientIds = customResponse.collectResultTexts("PatientId");
+
+		Set<String> uniqueReceiptNos = new HashSet<>();
+		for (int i = 0; i < consumptionReturnReceiptNos.length; i++) {
+			Assert.assertNotNull(consumptionReturnReceiptNos[i], "ConsumptionReturnReceiptNo should not be null.");
+			Assert.assertNotNull(patientIds[i], "PatientId should not be null.");
+			uniqueReceiptNos.add(consumptionReturnReceiptNos[i]);
 		}
-		Assert.assertEquals(uniqueReceiptNos.size(), consumptionReturnReceiptNos.size(),
+		Assert.assertEquals(uniqueReceiptNos.size(), consumptionReturnReceiptNos.length,
 				"ConsumptionReturnReceiptNo values should be unique.");
-
-		System.out.println("Return Consumptions List Response:");
-		customResponse.getResponse().prettyPrint();
 	}
 
 	@Test(priority = 10, groups = { "PL1" }, description = "Retrieve and validate the list of discharged patients.")
@@ -397,25 +378,21 @@ public class RestAssured_TestCases_PL1 {
 		Assert.assertEquals(customResponse.getStatus(), "OK", "Status should be OK.");
 
 		// Validate unique PatientVisitId and non-null PatientId
-		List<Object> visitCodes = customResponse.getItemIds();
-		List<Object> patientVisitIds = customResponse.getItemNames();
-		List<Object> patientIds = customResponse.getGenericNames();
-
-		Set<Object> uniqueVisitIds = new HashSet<>();
-		Set<Object> uniquePatientIds = new HashSet<>();
-
-		for (int i = 0; i < patientVisitIds.size(); i++) {
-			Assert.assertNotNull(patientVisitIds.get(i), "PatientVisitId should not be null.");
-			Assert.assertNotNull(patientIds.get(i), "PatientId should not be null.");
-			uniqueVisitIds.add(patientVisitIds.get(i));
-			uniquePatientIds.add(patientIds.get(i));
-		}
+		String[] patientVisitIds = customResponse.collectResultTexts("PatientVisitId");
+		String[] patientIds = customResponse.collectResultTexts("PatientId");
 
-		Assert.assertEquals(uniqueVisitIds.size(), patientVisitIds.size(), "PatientVisitId values should be unique.");
-		Assert.assertEquals(uniquePatientIds.size(), patientIds.size(), "PatientId values should be unique.");
+		Set<String> uniqueVisitIds = new HashSet<>();
+		Set<String> uniquePatientIds = new HashSet<>();
 
-		System.out.println("Discharged Patients Response:");
-		customResponse.getResponse().prettyPrint();
+		for (int i = 0; i < patientVisitIds.length; i++) {
+			Assert.assertNotNull(patientVisitIds[i], "PatientVisitId should not be null.");
+			Assert.assertNotNull(patientIds[i], "PatientId should not be null.");
+			uniqueVisitIds.add(patientVisitIds[i]);
+			uniquePatientIds.add(patientIds[i]);
+		}
+
+		Assert.assertEquals(uniqueVisitIds.size(), patientVisitIds.length, "PatientVisitId values should be unique.");
+		Assert.assertEquals(uniquePatientIds.size(), patientIds.length, "PatientId values should be unique.");
 	}
 
 	@Test(priority = 11, groups = { "PL1" }, description = "Retrieve and validate the list of admitted patients.")
@@ -443,27 +420,24 @@ public class RestAssured_TestCases_PL1 {
 
 		// Validate unique PatientId and VisitId, and non-null DischargeDate should be
 		// null for admitted patients
-		List<Object> patientIds = customResponse.getItemIds();
-		List<Object> visitIds = customResponse.getItemNames();
-		List<Object> dischargeDates = customResponse.getGenericNames();
+		String[] patientIds = customResponse.collectResultTexts("PatientId");
+		String[] visitIds = customResponse.collectResultTexts("VisitId");
+		String[] dischargeDates = customResponse.collectResultTexts("DischargeDate");
 
-		Set<Object> uniquePatientIds = new HashSet<>();
-		Set<Object> uniqueVisitIds = new HashSet<>();
+		Set<String> uniquePatientIds = new HashSet<>();
+		Set<String> uniqueVisitIds = new HashSet<>();
 
-		for (int i = 0; i < patientIds.size(); i++) {
-			Assert.assertNotNull(patientIds.get(i), "PatientId should not be null.");
-			Assert.assertNotNull(visitIds.get(i), "VisitId should not be null.");
-			Assert.assertNull(dischargeDates.get(i), "DischargeDate should be null for admitted patients.");
+		for (int i = 0; i < patientIds.length; i++) {
+			Assert.assertNotNull(patientIds[i], "PatientId should not be null.");
+			Assert.assertNotNull(visitIds[i], "VisitId should not be null.");
+			Assert.assertNull(dischargeDates[i], "DischargeDate should be null for admitted patients.");
 
-			uniquePatientIds.add(patientIds.get(i));
-			uniqueVisitIds.add(visitIds.get(i));
+			uniquePatientIds.add(patientIds[i]);
+			uniqueVisitIds.add(visitIds[i]);
 		}
 
-		Assert.assertEquals(uniquePatientIds.size(), patientIds.size(), "PatientId values should be unique.");
-		Assert.assertEquals(uniqueVisitIds.size(), visitIds.size(), "VisitId values should be unique.");
-
-		System.out.println("Admitted Patients Response:");
-		customResponse.getResponse().prettyPrint();
+		Assert.assertEquals(uniquePatientIds.size(), patientIds.length, "PatientId values should be unique.");
+		Assert.assertEquals(uniqueVisitIds.size(), visitIds.length, "VisitId values should be unique.");
 	}
 
 	@Test(priority = 12, groups = { "PL1" }, description = "Retrieve and validate IPD patients by patient name.")
@@ -488,26 +462,24 @@ public class RestAssured_TestCases_PL1 {
 		Assert.assertEquals(customResponse.getStatus(), "OK", "Status should be OK.");
 
 		// Validate non-null PatientId and PatientCode
-		List<Object> patientIds = customResponse.getPatientIds();
-		List<Object> patientCodes = customResponse.getPatientCodes();
+		PatientList patients = customResponse.getResults(PatientList::bind);
+		Integer[] patientIds = patients.getPatientIds();
+		String[] patientCodes = patients.getPatientCodes();
 
-		Set<Object> uniquePatientIds = new HashSet<>();
-		Set<Object> uniquePatientCodes = new HashSet<>();
+		Set<Integer> uniquePatientIds = new HashSet<>();
+		Set<String> uniquePatientCodes = new HashSet<>();
 
-		for (int i = 0; i < patientIds.size(); i++) {
-			Assert.assertNotNull(patientIds.get(i), "PatientId should not be null.");
-			Assert.assertNotNull(patientCodes.get(i), "PatientCode should not be null.");
+		for (int i = 0; i < patients.size(); i++) {
+			Assert.assertNotNull(patientIds[i], "PatientId should not be null.");
+			Assert.assertNotNull(patientCodes[i], "PatientCode should not be null.");
 
-			uniquePatientIds.add(patientIds.get(i));
-			uniquePatientCodes.add(patientCodes.get(i));
+			uniquePatientIds.add(patientIds[i]);
+			uniquePatientCodes.add(patientCodes[i]);
 		}
 
 		// Check uniqueness of PatientId and PatientCode
-		Assert.assertEquals(uniquePatientIds.size(), patientIds.size(), "PatientId values should be unique.");
-		Assert.assertEquals(uniquePatientCodes.size(), patientCodes.size(), "PatientCode values should be unique.");
-
-		System.out.println("IPD Patients Response:");
-		customResponse.getResponse().prettyPrint();
+		Assert.assertEquals(uniquePatientIds.size(), patients.size(), "PatientId values should be unique.");
+		Assert.assertEquals(uniquePatientCodes.size(), patients.size(), "PatientCode values should be unique.");
 	}
 
 	@Test(priority = 13, groups = { "PL1" }, description = "Retrieve and validate patients' provisional information.")
@@ -530,26 +502,24 @@ public class RestAssured_TestCases_PL1 {
 		Assert.assertEquals(customResponse.getStatus(), "OK", "Status should be OK.");
 
 		// Validate non-null PatientId and PatientCode
-		List<Object> patientIds = customResponse.getPatientIds();
-		List<Object> patientCodes = customResponse.getPatientCodes();
+		PatientList patients = customResponse.getResults(PatientList::bind);
+		Integer[] patientIds = patients.getPatientIds();
+		String[] patientCodes = patients.getPatientCodes();
 
-		Set<Object> uniquePatientIds = new HashSet<>();
-		Set<Object> uniquePatientCodes = new HashSet<>();
+		Set<Integer> uniquePatientIds = new HashSet<>();
+		Set<String> uniquePatientCodes = new HashSet<>();
 
-		for (int i = 0; i < patientIds.size(); i++) {
-			Assert.assertNotNull(patientIds.get(i), "PatientId should not be null.");
-			Assert.assertNotNull(patientCodes.get(i), "PatientCode should not be null.");
+		for (int i = 0; i < patients.size(); i++) {
+			Assert.assertNotNull(patientIds[i], "PatientId should not be null.");
+			Assert.assertNotNull(patientCodes[i], "PatientCode should not be null.");
 
-			uniquePatientIds.add(patientIds.get(i));
-			uniquePatientCodes.add(patientCodes.get(i));
+			uniquePatientIds.add(patientIds[i]);
+			uniquePatientCodes.add(patientCodes[i]);
 		}
 
 		// Check uniqueness of PatientId and PatientCode
-		Assert.assertEquals(uniquePatientIds.size(), patientIds.size(), "PatientId values should be unique.");
-		Assert.assertEquals(uniquePatientCodes.size(), patientCodes.size(), "PatientCode values should be unique.");
-
-		System.out.println("Provisional Information Response:");
-		customResponse.getResponse().prettyPrint();
+		Assert.assertEquals(uniquePatientIds.size(), patients.size(), "PatientId values should be unique.");
+		Assert.assertEquals(uniquePatientCodes.size(), patients.size(), "PatientCode values should be unique.");
 	}
 
 	@Test(priority = 14, groups = {
@@ -578,23 +548,19 @@ public class RestAssured_TestCases_PL1 {
 		Assert.assertEquals(customResponse.getStatus(), "OK", "Status should be OK.");
 
 		// Extract and validate results
-		List<Map<String, Object>> provisionalItems = customResponse.getListResults();
-		Assert.assertNotNull(provisionalItems, "ProvisionalItems list should not be null.");
-		Assert.assertTrue(provisionalItems.size() > 0, "ProvisionalItems list should not be empty.");
+		String[] itemPatientIds = customResponse.collectResultTexts("PatientId");
+		Assert.assertTrue(itemPatientIds.length > 0, "ProvisionalItems list should not be empty.");
 
 		// Validate PatientId consistency in ProvisionalItems
-		for (Map<String, Object> item : provisionalItems) {
-			Assert.assertEquals(item.get("PatientId"), Integer.parseInt(patientId),
+		for (String itemPatientId : itemPatientIds) {
+			Assert.assertEquals(itemPatientId, patientId,
 					"PatientId in ProvisionalItems should match the requested PatientId.");
 		}
-
-		// Print the response
-		System.out.println("Provisional Items List Response:");
-		customResponse.getResponse().prettyPrint();
 	}
 
-	@Test(priority = 15, groups = {
+	@Test(priority = 15, invocationCount = 22, groups = {
 			"PL1" }, description = "Retrieve and validate billing invoices within a specific date range.")
+	@LatencySla(endpoint = "/Billing/Invoices", percentile = 95, maxMillis = 800)
 	public void getInvoicesByDateRangeTest() throws IOException {
 		apiUtil = new ApiUtil();
 		String fromDate = "2020-01-01";
@@ -618,31 +584,26 @@ public class RestAssured_TestCases_PL1 {
 		Assert.assertEquals(customResponse.getStatus(), "OK", "Status should be OK.");
 
 		// Extract and validate results
-		List<Object> invoiceNumbers = customResponse.getPatientIds();
-		List<Object> invoiceCodes = customResponse.getPatientCodes();
+		String[] invoiceNumbers = customResponse.collectResultTexts("InvoiceNumber");
+		String[] invoiceCodes = customResponse.collectResultTexts("InvoiceCode");
 
-		Set<Object> uniqueInvoiceNumbers = new HashSet<>();
-		Set<Object> uniqueInvoiceCodes = new HashSet<>();
+		Set<String> uniqueInvoiceNumbers = new HashSet<>();
+		Set<String> uniqueInvoiceCodes = new HashSet<>();
 
 		// Validate non-null InvoiceNumber and InvoiceCode
-		for (int i = 0; i < invoiceNumbers.size(); i++) {
-			Assert.assertNotNull(invoiceNumbers.get(i), "InvoiceNumber should not be null.");
-			Assert.assertNotNull(invoiceCodes.get(i), "InvoiceCode should not be null.");
+		for (int i = 0; i < invoiceNumbers.length; i++) {
+			Assert.assertNotNull(invoiceNumbers[i], "InvoiceNumber should not be null.");
+			Assert.assertNotNull(invoiceCodes[i], "InvoiceCode should not be null.");
 
-			uniqueInvoiceNumbers.add(invoiceNumbers.get(i));
-			uniqueInvoiceCodes.add(invoiceCodes.get(i));
+			uniqueInvoiceNumbers.add(invoiceNumbers[i]);
+			uniqueInvoiceCodes.add(invoiceCodes[i]);
 		}
-
-		System.out.println("Billing Invoices Response:");
-		customResponse.getResponse().prettyPrint();
 	}
 
 	@Test(priority = 16, groups = { "PL1" }, description = "Retrieve and validate the list of providers.")
 	public void getProviderListTest() throws IOException {
-		apiUtil = new ApiUtil();
-
-		// API Call
-		CustomResponse customResponse = apiUtil.getProviderList("/Billing/GetProviderList", null);
+		// API Call, fired together with tests 17 and 18
+		CustomResponse customResponse = billingRead("/Billing/GetProviderList").join();
 
 		// Validate method implementation
 		boolean isValidationSuccessful = TestCodeValidator.validateTestMethodFromFile(FILEPATH, "getProviderList",
@@ -658,35 +619,30 @@ public class RestAssured_TestCases_PL1 {
 		Assert.assertEquals(customResponse.getStatus(), "OK", "Status should be OK.");
 
 		// Extract and validate results
-		List<Object> employeeIds = customResponse.getPatientIds();
-		List<Object> employeeNames = customResponse.getPatientCodes();
+		String[] employeeIds = customResponse.collectResultTexts("EmployeeId");
+		String[] employeeNames = customResponse.collectResultTexts("EmployeeName");
 
-		Set<Object> uniqueEmployeeIds = new HashSet<>();
-		Set<Object> uniqueEmployeeNames = new HashSet<>();
+		Set<String> uniqueEmployeeIds = new HashSet<>();
+		Set<String> uniqueEmployeeNames = new HashSet<>();
 
 		// Validate non-null EmployeeId and EmployeeName
-		for (int i = 0; i < employeeIds.size(); i++) {
-			Assert.assertNotNull(employeeIds.get(i), "EmployeeId should not be null.");
-			Assert.assertNotNull(employeeNames.get(i), "EmployeeName should not be null.");
+		for (int i = 0; i < employeeIds.length; i++) {
+			Assert.assertNotNull(employeeIds[i], "EmployeeId should not be null.");
+			Assert.assertNotNull(employeeNames[i], "EmployeeName should not be null.");
 
-			uniqueEmployeeIds.add(employeeIds.get(i));
-			uniqueEmployeeNames.add(employeeNames.get(i));
+			uniqueEmployeeIds.add(employeeIds[i]);
+			uniqueEmployeeNames.add(employeeNames[i]);
 		}
 
 		// Check uniqueness of EmployeeId and EmployeeName
-		Assert.assertEquals(uniqueEmployeeIds.size(), employeeIds.size(), "EmployeeId values should be unique.");
-		Assert.assertEquals(uniqueEmployeeNames.size(), employeeNames.size(), "EmployeeName values should be unique.");
-
-		System.out.println("Providers List Response:");
-		customResponse.getResponse().prettyPrint();
+		Assert.assertEquals(uniqueEmployeeIds.size(), employeeIds.length, "EmployeeId values should be unique.");
+		Assert.assertEquals(uniqueEmployeeNames.size(), employeeNames.length, "EmployeeName values should be unique.");
 	}
 
 	@Test(priority = 17, groups = { "PL1" }, description = "Retrieve and validate the list of users.")
 	public void getUsersListTest() throws IOException {
-		apiUtil = new ApiUtil();
-
-		// API Call
-		CustomResponse customResponse = apiUtil.getUsersList("/Billing/ListUsers", null);
+		// API Call, fired together with tests 16 and 18
+		CustomResponse customResponse = billingRead("/Billing/ListUsers").join();
 
 		// Validate method implementation
 		boolean isValidationSuccessful = TestCodeValidator.validateTestMethodFromFile(FILEPATH, "getUsersList",
@@ -702,39 +658,34 @@ public class RestAssured_TestCases_PL1 {
 		Assert.assertEquals(customResponse.getStatus(), "OK", "Status should be OK.");
 
 		// Extract and validate results
-		List<Object> userIds = customResponse.getItemIds();
-		List<Object> shortNames = customResponse.getItemNames();
-		List<Object> departmentNames = customResponse.getGenericNames();
+		String[] userIds = customResponse.collectResultTexts("UserId");
+		String[] shortNames = customResponse.collectResultTexts("ShortName");
+		String[] departmentNames = customResponse.collectResultTexts("DepartmentName");
 
-		Set<Object> uniqueUserIds = new HashSet<>();
-		Set<Object> uniqueShortNames = new HashSet<>();
-		Set<Object> uniqueDepartmentNames = new HashSet<>();
+		Set<String> uniqueUserIds = new HashSet<>();
+		Set<String> uniqueShortNames = new HashSet<>();
+		Set<String> uniqueDepartmentNames = new HashSet<>();
 
 		// Validate non-null UserId, ShortName, and DepartmentName
-		for (int i = 0; i < userIds.size(); i++) {
-			Assert.assertNotNull(userIds.get(i), "UserId should not be null.");
-			Assert.assertNotNull(shortNames.get(i), "ShortName should not be null.");
-			Assert.assertNotNull(departmentNames.get(i), "DepartmentName should not be null.");
-
-			uniqueUserIds.add(userIds.get(i));
-			uniqueShortNames.add(shortNames.get(i));
-			uniqueDepartmentNames.add(departmentNames.get(i));
+		for (int i = 0; i < userIds.length; i++) {
+			Assert.assertNotNull(userIds[i], "UserId should not be null.");
+			Assert.assertNotNull(shortNames[i], "ShortName should not be null.");
+			Assert.assertNotNull(departmentNames[i], "DepartmentName should not be null.");
+
+			uniqueUserIds.add(userIds[i]);
+			uniqueShortNames.add(shortNames[i]);
+			uniqueDepartmentNames.add(departmentNames[i]);
 		}
 
 		// Check uniqueness of UserId, ShortName, and DepartmentName
-		Assert.assertEquals(uniqueUserIds.size(), userIds.size(), "UserId values should be unique.");
-		Assert.assertEquals(uniqueShortNames.size(), shortNames.size(), "ShortName values should be unique.");
-
-		System.out.println("Users List Response:");
-		customResponse.getResponse().prettyPrint();
+		Assert.assertEquals(uniqueUserIds.size(), userIds.length, "UserId values should be unique.");
+		Assert.assertEquals(uniqueShortNames.size(), shortNames.length, "ShortName values should be unique.");
 	}
 
 	@Test(priority = 18, groups = { "PL1" }, description = "Retrieve and validate the current fiscal year details.")
 	public void getCurrentFiscalYearDetailsTest() throws IOException {
-		apiUtil = new ApiUtil();
-
-		// API Call
-		CustomResponse customResponse = apiUtil.getCurrentFiscalYearDetails("/Billing/CurrentFiscalYear", null);
+		// API Call, fired together with tests 16 and 17
+		CustomResponse customResponse = billingRead("/Billing/CurrentFiscalYear").join();
 
 		// Validate method implementation
 		boolean isValidationSuccessful = TestCodeValidator.validateTestMethodFromFile(FILEPATH,
@@ -750,16 +701,26 @@ public class RestAssured_TestCases_PL1 {
 		Assert.assertEquals(customResponse.getStatus(), "OK", "Status should be OK.");
 
 		// Extract and validate results
-		Object fiscalYearId = customResponse.getPatientId();
-		Object fiscalYearName = customResponse.getTotalDue();
+		Integer fiscalYearId = customResponse.getInteger("Results.FiscalYearId");
+		String fiscalYearName = customResponse.getString("Results.FiscalYearName");
 
 		// Validate FiscalYearId and FiscalYearName fields
 		Assert.assertNotNull(fiscalYearId, "FiscalYearId should not be null.");
 		Assert.assertNotNull(fiscalYearName, "FiscalYearName should not be null.");
+	}
 
-		// Print the response
-		System.out.println("Current Fiscal Year Response:");
-		customResponse.getResponse().prettyPrint();
+	private static synchronized AsyncApiUtil.Prefetch<CustomResponse> billingRead(String endpoint) {
+		if (billingReads == null) {
+			ApiUtil reader = new ApiUtil();
+			AsyncApiUtil async = new AsyncApiUtil();
+			billingReads = new HashMap<>();
+			billingReads.put("/Billing/GetProviderList",
+					async.prefetch(() -> reader.getProviderList("/Billing/GetProviderList", null)));
+			billingReads.put("/Billing/ListUsers", async.prefetch(() -> reader.getUsersList("/Billing/ListUsers", null)));
+			billingReads.put("/Billing/CurrentFiscalYear",
+					async.prefetch(() -> reader.getCurrentFiscalYearDetails("/Billing/CurrentFiscalYear", null)));
+		}
+		return billingReads.get(endpoint);
 	}
 
 }
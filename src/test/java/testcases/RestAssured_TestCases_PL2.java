@@ -6,9 +6,22 @@ import java.util.Map;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
+import apiRequests.AppointmentRequest;
+import apiRequests.DepartmentRequest;
+import coreUtilities.testutils.DataProviders;
+import coreUtilities.testutils.LatencySla;
+import coreUtilities.testutils.TestData;
 import coreUtilities.utils.FileOperations;
 import rest.ApiUtil;
 import rest.CustomResponse;
+import rest.PayloadWriter;
+import rest.models.AppointmentList;
+import rest.models.AppointmentResult;
+import rest.models.Departments;
+import rest.models.MainStore;
+import rest.models.PharmacyStores;
 
 public class RestAssured_TestCases_PL2 {
 
@@ -16,26 +29,22 @@ public class RestAssured_TestCases_PL2 {
 
 	private final String EXCEL_FILE_PATH = "src/main/resources/config.xlsx"; // Path to the Excel file
 	private final String FILEPATH = "src/main/java/rest/ApiUtil.java";
+	private static final String APPOINTMENT_DATA_PATH = "src/main/resources/testData/createAppointmentData.json";
 	ApiUtil apiUtil;
 
 	public static int appointmentId;
 
-	@Test(priority = 1, groups = { "PL2" }, description = "Precondition: Create an appointment via the API\n"
-			+ "1. Send POST request to create a new appointment with provided data\n"
-			+ "2. Verify the response status code is 200 OK\n" + "3. Validate the response contains 'Status' as 'OK'\n"
-			+ "4. Retrieve and validate the Appointment ID from the response")
-	public void createAppointmentTest() throws Exception {
-		String SHEET_NAME = "AddAppointmentData"; // Sheet name in the Excel file
-		Map<String, String> postData = fileOperations.readExcelPOI(EXCEL_FILE_PATH, SHEET_NAME);
-
-		// Construct the JSON payload as a string
-		String requestBody = "{ " + "\"FirstName\": \"" + postData.get("FirstName") + "\", " + "\"LastName\": \""
-				+ postData.get("LastName") + "\", " + "\"Gender\": \"" + postData.get("Gender") + "\", " + "\"Age\": \""
-				+ postData.get("Age") + "\", " + "\"ContactNumber\": \"" + postData.get("ContactNumber") + "\", "
-				+ "\"AppointmentDate\": \"" + postData.get("AppointmentDate") + "\", " + "\"AppointmentTime\": \""
-				+ postData.get("AppointmentTime") + "\", " + "\"PerformerName\": \"" + postData.get("PerformerName")
-				+ "\", " + "\"AppointmentType\": \"" + postData.get("AppointmentType") + "\", " + "\"DepartmentId\": "
-				+ postData.get("DepartmentId") + " }";
+	@Test(priority = 1, groups = { "PL2" }, dataProvider = DataProviders.RECORDS,
+			dataProviderClass = DataProviders.class, description = "Precondition: Create an appointment via the API\n"
+					+ "1. Send POST request to create a new appointment with provided data\n"
+					+ "2. Verify the response status code is 200 OK\n"
+					+ "3. Validate the response contains 'Status' as 'OK'\n"
+					+ "4. Retrieve and validate the Appointment ID from the response")
+	@TestData(path = APPOINTMENT_DATA_PATH)
+	public void createAppointmentTest(Map<String, Object> appointment) throws Exception {
+		// Write the JSON payload from the record's values; one appointment is
+		// created per record of the file
+		byte[] requestBody = PayloadWriter.write(AppointmentRequest.fromData(appointment));
 
 		apiUtil = new ApiUtil();
 		CustomResponse customResponse = apiUtil.createAppointmentWithAuth("/Appointment/AddAppointment", requestBody);
@@ -58,13 +67,9 @@ public class RestAssured_TestCases_PL2 {
 		Assert.assertEquals(status, "OK", "Status should be OK.");
 
 		// Validate the AppointmentId field
-		Integer appointmentIdd = customResponse.getAppointmentId();
-		appointmentId = appointmentIdd; 
-		Assert.assertNotNull(appointmentIdd, "Appointment ID should not be null.");
-
-		// Print the full response body for debugging
-		System.out.println("Create Appointment Response:");
-		customResponse.getResponse().prettyPrint();
+		Integer createdAppointmentId = customResponse.getResults(AppointmentResult::bind).getAppointmentId();
+		Assert.assertNotNull(createdAppointmentId, "Appointment ID should not be null.");
+		appointmentId = createdAppointmentId;
 	}
 
 	@Test(priority = 2, groups = {
@@ -102,17 +107,14 @@ public class RestAssured_TestCases_PL2 {
 		String resultMessage = cancelResponse.getResultMessage();
 		Assert.assertEquals(resultMessage, "Appointment information updated successfully.",
 				"Message should confirm the update.");
-
-		// Print the full response for debugging
-		System.out.println("Cancelled Appointment Response:");
-		cancelResponse.getResponse().prettyPrint();
 	}
 
-	@Test(priority = 3, groups = {
+	@Test(priority = 3, invocationCount = 22, groups = {
 			"PL2" }, description = "Precondition: Patients and Doctor must be created successfully.\n"
 					+ "1. Send a GET request to fetch whether an appointment for the same time is created for the same doctor.\n"
 					+ "2. Verify the response status code is 200.\n"
 					+ "3. Validate the response indicates successful display of all the users that contain the string in their name.")
+	@LatencySla(endpoint = "/Patient/SearchRegisteredPatient", percentile = 95, maxMillis = 1500)
 	public void searchPatientTest() throws Exception {
 		apiUtil = new ApiUtil();
 
@@ -124,9 +126,9 @@ public class RestAssured_TestCases_PL2 {
 		Assert.assertEquals(searchedResponse.getStatusCode(), 200, "Status code should be 200 OK.");
 
 		// Extract 'FirstName' and 'ShortName' from the first item in 'Results'
-		String firstName = searchedResponse.getResponse().jsonPath().getString("Results[0].FirstName");
-		String shortName = searchedResponse.getResponse().jsonPath().getString("Results[0].ShortName");
-		String lastName = searchedResponse.getResponse().jsonPath().getString("Results[0].LastName");
+		String firstName = searchedResponse.getString("Results[0].FirstName");
+		String shortName = searchedResponse.getString("Results[0].ShortName");
+		String lastName = searchedResponse.getString("Results[0].LastName");
 
 		// Print the values to verify
 		System.out.println("FirstName: " + firstName);
@@ -140,10 +142,6 @@ public class RestAssured_TestCases_PL2 {
 		// Validate the 'Status' field
 		String status = searchedResponse.getStatus();
 		Assert.assertEquals(status, "OK", "Status should be OK.");
-
-		// Print the full response for further verification if needed
-		System.out.println("Searched Patient Response:");
-		searchedResponse.getResponse().prettyPrint();
 	}
 
 	@Test(priority = 4, groups = {
@@ -174,14 +172,14 @@ public class RestAssured_TestCases_PL2 {
 		// Assert that the status code is 200 OK
 		Assert.assertEquals(updateResponse.getStatusCode(), 200, "Status code should be 200 OK.");
 
-		// Extract and print the 'Results' list and appointment dates
-		List<Map<String, Object>> results = updateResponse.getListResults();
-		System.out.println("Results: " + results);
+		// Bind the 'Results' list to the typed appointments model
+		AppointmentList appointments = updateResponse.getResults(AppointmentList::bind);
+		System.out.println("Appointments: " + appointments.size());
 
-		// Iterate over each result to print and verify the 'AppointmentDate'
-		for (Map<String, Object> result : results) {
-			String appointmentDateStr = result.get("AppointmentDate").toString().substring(0, 10); // Extract date
-																									// portion only
+		// Iterate over each appointment to print and verify the 'AppointmentDate'
+		for (String appointmentDateValue : appointments.getAppointmentDates()) {
+			Assert.assertNotNull(appointmentDateValue, "The AppointmentDate is null.");
+			String appointmentDateStr = appointmentDateValue.substring(0, 10); // Extract date portion only
 			System.out.println("Appointment Date: " + appointmentDateStr);
 
 			// Parse the 'AppointmentDate' to LocalDate for comparison
@@ -196,16 +194,13 @@ public class RestAssured_TestCases_PL2 {
 		// Validate the 'Status' field
 		String status = updateResponse.getStatus();
 		Assert.assertEquals(status, "OK", "Status should be OK.");
-
-		// Print the full response for further verification if needed
-		System.out.println("Searched appointment Response Within a Range:");
-		updateResponse.getResponse().prettyPrint();
 	}
 
-	@Test(priority = 5, groups = {
+	@Test(priority = 5, invocationCount = 22, groups = {
 			"PL2" }, description = "1. Send a GET request to fetch Main Store from the Pharmacy Settings.\n"
 					+ "2. Verify the response status code is 200.\n"
 					+ "3. Validate the response has an Id corresponding to the store along with the name and store description.")
+	@LatencySla(endpoint = "/PharmacySettings/MainStore", percentile = 95, maxMillis = 800)
 	public void MainStoreTest() {
 		apiUtil = new ApiUtil();
 
@@ -215,14 +210,14 @@ public class RestAssured_TestCases_PL2 {
 		// Assert that the status code is 200 OK
 		Assert.assertEquals(stockDetails.getStatusCode(), 200, "Status code should be 200 OK.");
 
-		// Extract 'Results' from the response
-		Map<String, Object> results = stockDetails.getMapResults();
-		System.out.println("Results: " + results);
+		// Bind 'Results' to the typed main store model
+		MainStore mainStore = stockDetails.getResults(MainStore::bind);
 
 		// Extract 'Name', 'StoreDescription', and 'StoreId'
-		String Name = (String) results.get("Name");
-		String storeDesc = (String) results.get("StoreDescription");
-		Integer StoreId = (Integer) results.get("StoreId");
+		String Name = mainStore.getName();
+		String storeDesc = mainStore.getStoreDescription();
+		Integer StoreId = mainStore.getStoreId();
+		System.out.println("StoreId: " + StoreId + ", Name: " + Name + ", StoreDescription: " + storeDesc);
 
 		// Assert that 'name', 'store description' and 'store Id' are not null
 		Assert.assertNotNull(Name, "The Name is null and the store doesn't exist.");
@@ -232,17 +227,14 @@ public class RestAssured_TestCases_PL2 {
 		// Validate the 'Status' field
 		String status = stockDetails.getStatus();
 		Assert.assertEquals(status, "OK", "Status should be OK.");
-
-		// Print the full response for further verification if needed
-		System.out.println("Fetched Main Store from the Pharmacy Settings:");
-		stockDetails.getResponse().prettyPrint();
 	}
 
-	@Test(priority = 6, groups = {
+	@Test(priority = 6, invocationCount = 22, groups = {
 			"PL2" }, description = "Precondition: Some Pharmacy Stores must be created already. \n"
 					+ "1. Send a GET request to fetch whether we are able to fetch the pharmacy stores or not.\n"
 					+ "2. Verify the response status code is 200.\n"
 					+ "3. Validate the response indicates successful display of name of the store along with Store Id.")
+	@LatencySla(endpoint = "/Dispensary/PharmacyStores", percentile = 95, maxMillis = 800)
 	public void PharmacyStoreTest() {
 		apiUtil = new ApiUtil();
 
@@ -252,30 +244,24 @@ public class RestAssured_TestCases_PL2 {
 		// Assert that the status code is 200 OK
 		Assert.assertEquals(pharmacyStoreResponse.getStatusCode(), 200, "Status code should be 200 OK.");
 
-		// Extract and print the 'Results' list
-		List<Map<String, Object>> results = pharmacyStoreResponse.getListResults();
-		System.out.println("Results: " + results);
-
-		// Iterate over each result to print and verify the 'StoreId' and 'Name'
-		for (Map<String, Object> result : results) {
-			Integer storeId = (Integer) result.get("StoreId");
-			String name = (String) result.get("Name");
+		// Bind the 'Results' list to the typed pharmacy stores model
+		PharmacyStores stores = pharmacyStoreResponse.getResults(PharmacyStores::bind);
+		Integer[] storeIds = stores.getStoreIds();
+		String[] names = stores.getNames();
 
-			System.out.println("StoreId: " + storeId);
-			System.out.println("Name: " + name);
+		// Iterate over each store to print and verify the 'StoreId' and 'Name'
+		for (int i = 0; i < stores.size(); i++) {
+			System.out.println("StoreId: " + storeIds[i]);
+			System.out.println("Name: " + names[i]);
 
 			// Assert that 'StoreId' and 'Name' are not null
-			Assert.assertNotNull(storeId, "The Store Id is null and the store doesn't exist.");
-			Assert.assertNotNull(name, "The Name is null and the store doesn't exist.");
+			Assert.assertNotNull(storeIds[i], "The Store Id is null and the store doesn't exist.");
+			Assert.assertNotNull(names[i], "The Name is null and the store doesn't exist.");
 		}
 
 		// Validate the 'Status' field
 		String status = pharmacyStoreResponse.getStatus();
 		Assert.assertEquals(status, "OK", "Status should be OK.");
-
-		// Print the full response for further verification if needed
-		System.out.println("The following are the Pharmacy Stores:");
-		pharmacyStoreResponse.getResponse().prettyPrint();
 	}
 
 	@Test(priority = 7, groups = {
@@ -300,13 +286,10 @@ public class RestAssured_TestCases_PL2 {
 		// Assert that the status code is 200 OK
 		Assert.assertEquals(activationResponse.getStatusCode(), 200, "Status code should be 200 OK.");
 
-		// Extract 'Results' from the response
-		Map<String, Object> results = activationResponse.getMapResults();
-		System.out.println("Results: " + results);
-
-		// Extract 'CounterName' and 'CounterId'
-		String counterNameResult = (String) results.get("CounterName");
-		Integer counterIdResult = (Integer) results.get("CounterId");
+		// Extract 'CounterName' and 'CounterId' from 'Results'
+		String counterNameResult = activationResponse.getString("Results.CounterName");
+		Integer counterIdResult = activationResponse.getInteger("Results.CounterId");
+		System.out.println("CounterId: " + counterIdResult + ", CounterName: " + counterNameResult);
 
 		// Assert that 'CounterName' and 'CounterId' are not null
 		Assert.assertNotNull(counterNameResult, "The Counter Name is null and the counter doesn't exist.");
@@ -315,10 +298,6 @@ public class RestAssured_TestCases_PL2 {
 		// Validate the 'Status' field
 		String status = activationResponse.getStatus();
 		Assert.assertEquals(status, "OK", "Status should be OK.");
-
-		// Print the full response for further verification if needed
-		System.out.println("Activated the pharmacy counter, Response :");
-		activationResponse.getResponse().prettyPrint();
 	}
 
 	@Test(priority = 8, groups = {
@@ -334,12 +313,8 @@ public class RestAssured_TestCases_PL2 {
 		// Assert that the status code is 200 OK
 		Assert.assertEquals(consumptionResponse.getStatusCode(), 200, "Status code should be 200 OK.");
 
-		// Extract 'Results' from the response
-		Map<String, Object> results = consumptionResponse.getMapResults();
-		System.out.println("Results: " + results);
-
 		// Extract 'StatusCode' from 'Results'
-		Integer statusCode = (Integer) results.get("StatusCode");
+		Integer statusCode = consumptionResponse.getInteger("Results.StatusCode");
 		System.out.println("statusCode");
 		System.out.println(statusCode);
 
@@ -349,10 +324,6 @@ public class RestAssured_TestCases_PL2 {
 		// Validate the 'Status' field
 		String status = consumptionResponse.getStatus();
 		Assert.assertEquals(status, "OK", "Status should be OK.");
-
-		// Print the full response for further verification if needed
-		System.out.println("Deactivated pharmacy counter: Response");
-		consumptionResponse.getResponse().prettyPrint();
 	}
 
 	@Test(priority = 9, groups = {
@@ -368,31 +339,25 @@ public class RestAssured_TestCases_PL2 {
 		// Assert that the status code is 200 OK
 		Assert.assertEquals(appointResponse.getStatusCode(), 200, "Status code should be 200 OK.");
 
-		// Extract and print the 'Results' list
-		List<Map<String, Object>> results = appointResponse.getListResults();
-		System.out.println("Results: " + results);
+		// Bind the 'Results' list to the typed departments model
+		Departments departments = appointResponse.getResults(Departments::bind);
+		Integer[] departmentIds = departments.getDepartmentIds();
+		String[] departmentNames = departments.getDepartmentNames();
 
 		// Iterate over each department to validate 'DepartmentId' and 'DepartmentName'
-		for (Map<String, Object> result : results) {
-			Integer departmentId = (Integer) result.get("DepartmentId");
-			String departmentName = (String) result.get("DepartmentName");
-
-			System.out.println("DepartmentId: " + departmentId);
-			System.out.println("DepartmentName: " + departmentName);
+		for (int i = 0; i < departments.size(); i++) {
+			System.out.println("DepartmentId: " + departmentIds[i]);
+			System.out.println("DepartmentName: " + departmentNames[i]);
 			System.out.println("\n");
 
 			// Assert that 'DepartmentId' and 'DepartmentName' are not null
-			Assert.assertNotNull(departmentId, "The Department Id is null and the department doesn't exist.");
-			Assert.assertNotNull(departmentName, "The Department Name is null and the department doesn't exist.");
+			Assert.assertNotNull(departmentIds[i], "The Department Id is null and the department doesn't exist.");
+			Assert.assertNotNull(departmentNames[i], "The Department Name is null and the department doesn't exist.");
 		}
 
 		// Validate the 'Status' field
 		String status = appointResponse.getStatus();
 		Assert.assertEquals(status, "OK", "Status should be OK.");
-
-		// Print the full response for further verification if needed
-		System.out.println("The following is the list of Appointment Applicable Departments, Response:");
-		appointResponse.getResponse().prettyPrint();
 	}
 
 	@Test(priority = 10, groups = {
@@ -409,35 +374,32 @@ public class RestAssured_TestCases_PL2 {
 		// Assert that the status code is 200 OK
 		Assert.assertEquals(admittedPatientResponse.getStatusCode(), 200, "Status code should be 200 OK.");
 
-		// Extract and print the 'Results' list
-		List<Map<String, Object>> results = admittedPatientResponse.getListResults();
-		System.out.println("Results: " + results);
-
-		// Iterate over each result to validate 'PatientId', 'AdmittedDate' and
-		// 'DischargedDate'
-		for (Map<String, Object> result : results) {
-			Integer patientId = (Integer) result.get("PatientId");
-			String admittedDate = (String) result.get("AdmittedDate");
+		// Stream each result to validate 'PatientId', 'AdmittedDate' and
+		// 'DischargedDate' without materializing the whole list
+		int admittedCount = admittedPatientResponse.forEachResult(result -> {
+			JsonNode patientId = result.get("PatientId");
+			JsonNode admittedDate = result.get("AdmittedDate");
+			JsonNode dischargedDate = result.get("DischargedDate");
 
 			System.out.println("PatientId: " + patientId);
-			System.out.println("AdmittedDate: " + admittedDate);
+			System.out.println("AdmittedDate: " + (admittedDate == null ? null : admittedDate.asText()));
 			System.out.println("\n");
 
 			// Assert that 'PatientId' and 'AdmittedDate' are not null
-			Assert.assertNotNull(patientId, "The Patient Id is null and the patient doesn't exist.");
-			Assert.assertNotNull(admittedDate, "The Admitted Date is null and the patient doesn't exist.");
+			Assert.assertTrue(patientId != null && patientId.isInt(),
+					"The Patient Id is null and the patient doesn't exist.");
+			Assert.assertTrue(admittedDate != null && admittedDate.isTextual(),
+					"The Admitted Date is null and the patient doesn't exist.");
 
 			// Verify that DischargedDate is null
-			Assert.assertNull(result.get("DischargedDate"), "DischargedDate should be null for admitted patients.");
-		}
+			Assert.assertTrue(dischargedDate == null || dischargedDate.isNull(),
+					"DischargedDate should be null for admitted patients.");
+		});
+		System.out.println("Admitted patients validated: " + admittedCount);
 
 		// Validate the 'Status' field
 		String status = admittedPatientResponse.getStatus();
 		Assert.assertEquals(status, "OK", "Status should be OK.");
-
-		// Print the full response for further verification if needed
-		System.out.println("The following is the list of Admitted Patients Data, Response:");
-		admittedPatientResponse.getResponse().prettyPrint();
 	}
 
 	@Test(priority = 11, groups = { "PL2" }, description = "1. Send a GET request to fetch profile details.\n"
@@ -463,17 +425,14 @@ public class RestAssured_TestCases_PL2 {
 		// Assert that the status code is 200 OK
 		Assert.assertEquals(profileDetailsWithIdResponse.getStatusCode(), 200, "Status code should be 200 OK.");
 
-		// Extract 'Results' from the response
-		Map<String, Object> results = profileDetailsWithIdResponse.getMapResults();
-		System.out.println("Results: " + results);
-
 		// Extract fields from 'Results'
-		Integer employeeId = (Integer) results.get("EmployeeId");
-		String actualFirstName = (String) results.get("FirstName");
-		String actualLastName = (String) results.get("LastName");
-		String actualDob = (String) results.get("DateOfBirth");
-		String actualEmailAddress = (String) results.get("Email");
-		String actualUserName = (String) results.get("UserName");
+		Integer employeeId = profileDetailsWithIdResponse.getInteger("Results.EmployeeId");
+		String actualFirstName = profileDetailsWithIdResponse.getString("Results.FirstName");
+		String actualLastName = profileDetailsWithIdResponse.getString("Results.LastName");
+		String actualDob = profileDetailsWithIdResponse.getString("Results.DateOfBirth");
+		String actualEmailAddress = profileDetailsWithIdResponse.getString("Results.Email");
+		String actualUserName = profileDetailsWithIdResponse.getString("Results.UserName");
+		System.out.println("EmployeeId: " + employeeId + ", UserName: " + actualUserName);
 
 		// Assert employee ID is not null
 		Assert.assertNotNull(employeeId, "The Employee Id is null.");
@@ -485,10 +444,6 @@ public class RestAssured_TestCases_PL2 {
 		Assert.assertEquals(actualEmailAddress, expectedEmailAddress,
 				"The email address does not match with expected data.");
 		Assert.assertEquals(actualUserName, expectedUserName, "The Username does not match with expected data.");
-
-		// Print the full response for further verification if needed
-		System.out.println("The following is the response of profile details, Response:");
-		profileDetailsWithIdResponse.getResponse().prettyPrint();
 	}
 
 	@Test(priority = 12, groups = {
@@ -509,10 +464,11 @@ public class RestAssured_TestCases_PL2 {
 		String expectedDepartmentCode = code.toString();
 		String expectedDepartmentName = "Department " + expectedDepartmentCode;
 
-		// Construct the JSON payload as a string
-		String requestBody = String.format(
-				"{\n" + "    \"DepartmentCode\": \"%s\",\n" + "    \"DepartmentName\": \"%s\"\n" + "}",
-				expectedDepartmentCode, expectedDepartmentName);
+		// Write the JSON payload
+		DepartmentRequest department = new DepartmentRequest();
+		department.setDepartmentCode(expectedDepartmentCode);
+		department.setDepartmentName(expectedDepartmentName);
+		byte[] requestBody = PayloadWriter.write(department);
 
 		// Send request and get response
 		CustomResponse addANewDepartmentResponse = apiUtil.addDepartment("/Settings/Department", requestBody);
@@ -520,14 +476,11 @@ public class RestAssured_TestCases_PL2 {
 		// Assert that the status code is 200 OK
 		Assert.assertEquals(addANewDepartmentResponse.getStatusCode(), 200, "Status code should be 200 OK.");
 
-		// Extract 'Results' from the response
-		Map<String, Object> results = addANewDepartmentResponse.getMapResults();
-		System.out.println("Results: " + results);
-
 		// Extract fields from 'Results'
-		Integer actualDepartmentId = (Integer) results.get("DepartmentId");
-		String actualDepartmentCode = (String) results.get("DepartmentCode");
-		String actualDepartmentName = (String) results.get("DepartmentName");
+		Integer actualDepartmentId = addANewDepartmentResponse.getInteger("Results.DepartmentId");
+		String actualDepartmentCode = addANewDepartmentResponse.getString("Results.DepartmentCode");
+		String actualDepartmentName = addANewDepartmentResponse.getString("Results.DepartmentName");
+		System.out.println("DepartmentId: " + actualDepartmentId + ", DepartmentCode: " + actualDepartmentCode);
 
 		// Assert that 'DepartmentId' is not null
 		Assert.assertNotNull(actualDepartmentId, "The Department Id is null.");
@@ -537,14 +490,12 @@ public class RestAssured_TestCases_PL2 {
 		// Assert that the 'DepartmentName' matches the expected name
 		Assert.assertEquals(actualDepartmentName, expectedDepartmentName,
 				"The Department Name does not match with the expected data.");
-
-		// Print the full response for further verification if needed
-		System.out.println("The following is the response after adding the department, Response:");
-		addANewDepartmentResponse.getResponse().prettyPrint();
 	}
 
-	@Test(priority = 13, groups = { "PL2" }, description = "1. Send a GET request to get the list of departments.\n"
+	@Test(priority = 13, invocationCount = 22, groups = {
+			"PL2" }, description = "1. Send a GET request to get the list of departments.\n"
 			+ "2. Verify the response status code is 200.\n" + "3. Verify the department codes are unique.\n")
+	@LatencySla(endpoint = "/Settings/Departments", percentile = 95, maxMillis = 800)
 	public void GetDepartments() throws Exception {
 		apiUtil = new ApiUtil();
 
@@ -554,34 +505,26 @@ public class RestAssured_TestCases_PL2 {
 		// Assert that the status code is 200 OK
 		Assert.assertEquals(departmentsListResponse.getStatusCode(), 200, "Status code should be 200 OK.");
 
-		// Extract and print the 'Results' list
-		List<Map<String, Object>> results = departmentsListResponse.getListResults();
-		System.out.println("Results: " + results);
-
-		Set<String> departmentCodes = new HashSet<>(); // To check for uniqueness of department codes
+		// Bind the 'Results' list to the typed departments model
+		Departments departments = departmentsListResponse.getResults(Departments::bind);
+		Integer[] departmentIds = departments.getDepartmentIds();
+		String[] departmentNames = departments.getDepartmentNames();
+		String[] departmentCodes = departments.getDepartmentCodes();
 
-		for (Map<String, Object> result : results) {
-			Integer departmentId = (Integer) result.get("DepartmentId");
-			String departmentName = (String) result.get("DepartmentName");
-			String departmentCode = (String) result.get("DepartmentCode");
-
-			System.out.println("DepartmentId: " + departmentId);
-			System.out.println("DepartmentName: " + departmentName);
-			System.out.println("DepartmentCode: " + departmentCode);
+		for (int i = 0; i < departments.size(); i++) {
+			System.out.println("DepartmentId: " + departmentIds[i]);
+			System.out.println("DepartmentName: " + departmentNames[i]);
+			System.out.println("DepartmentCode: " + departmentCodes[i]);
 			System.out.println("\n");
 
 			// Assert that 'DepartmentId' and 'DepartmentName' are not null
-			Assert.assertNotNull(departmentId, "The Department Id is null.");
-			Assert.assertNotNull(departmentName, "The Department Name is null.");
+			Assert.assertNotNull(departmentIds[i], "The Department Id is null.");
+			Assert.assertNotNull(departmentNames[i], "The Department Name is null.");
 		}
 
 		// Validate the 'Status' field
 		String status = departmentsListResponse.getStatus();
 		Assert.assertEquals(status, "OK", "Status should be OK.");
-
-		// Print the full response for further verification if needed
-		System.out.println("The following is the list of Departments, Response:");
-		departmentsListResponse.getResponse().prettyPrint();
 	}
 
 	@Test(priority = 14, groups = { "PL2" }, description = "1. Send a PUT request to edit the department details.\n"
@@ -654,13 +597,9 @@ public class RestAssured_TestCases_PL2 {
 		// Assert that the status code is 200 OK
 		Assert.assertEquals(editDepartmentResponse.getStatusCode(), 200, "Status code should be 200 OK.");
 
-		// Extract 'Results' from the response
-		Map<String, Object> results = editDepartmentResponse.getMapResults();
-		System.out.println("Results: " + results);
-
-		// Extract individual values from the result map
-		String departmentCode14 = (String) results.get("DepartmentCode");
-		String departmentName14 = (String) results.get("DepartmentName");
+		// Extract individual values from 'Results'
+		String departmentCode14 = editDepartmentResponse.getString("Results.DepartmentCode");
+		String departmentName14 = editDepartmentResponse.getString("Results.DepartmentName");
 
 		System.out.println("DepartmentCode From Response: " + departmentCode14);
 		System.out.println("DepartmentName From Response: " + departmentName14);
@@ -677,14 +616,12 @@ public class RestAssured_TestCases_PL2 {
 
 		String status = editDepartmentResponse.getStatus();
 		Assert.assertEquals(status, "OK", "Status should be OK.");
-
-		// Print the full response for further verification if needed
-		System.out.println("The following is the Data of Department, Response:");
-		editDepartmentResponse.getResponse().prettyPrint();
 	}
 
-	@Test(priority = 15, groups = { "PL2" }, description = "1. Send a GET request to get imaging types.\n"
+	@Test(priority = 15, invocationCount = 22, groups = {
+			"PL2" }, description = "1. Send a GET request to get imaging types.\n"
 			+ "2. Verify the response status code is 200.\n")
+	@LatencySla(endpoint = "/RadiologySettings/ImagingTypes", percentile = 95, maxMillis = 800)
 	public void GetImagingTypes() throws Exception {
 		apiUtil = new ApiUtil();
 
@@ -694,13 +631,13 @@ public class RestAssured_TestCases_PL2 {
 		// Assert that the status code is 200 OK
 		Assert.assertEquals(imagingTypesResponse.getStatusCode(), 200, "Status code should be 200 OK.");
 
-		// Extract and print the 'Results' list
-		List<Map<String, Object>> results = imagingTypesResponse.getListResults();
-		System.out.println("Results: " + results);
+		// Extract the 'ImagingTypeId' and 'ImagingTypeName' of each result
+		String[] imagingTypeIds = imagingTypesResponse.collectResultTexts("ImagingTypeId");
+		String[] imagingTypeNames = imagingTypesResponse.collectResultTexts("ImagingTypeName");
 
-		for (Map<String, Object> result : results) {
-			Integer imagingTypeId = (Integer) result.get("ImagingTypeId");
-			String imagingTypeName = (String) result.get("ImagingTypeName");
+		for (int i = 0; i < imagingTypeIds.length; i++) {
+			String imagingTypeId = imagingTypeIds[i];
+			String imagingTypeName = imagingTypeNames[i];
 
 			System.out.println("ImagingTypeId: " + imagingTypeId);
 			System.out.println("ImagingTypeName: " + imagingTypeName);
@@ -714,10 +651,6 @@ public class RestAssured_TestCases_PL2 {
 		// Validate the 'Status' field
 		String status = imagingTypesResponse.getStatus();
 		Assert.assertEquals(status, "OK", "Status should be OK.");
-
-		// Print the full response for further verification if needed
-		System.out.println("The following is the list of Imaging Types, Response:");
-		imagingTypesResponse.getResponse().prettyPrint();
 	}
 
 	@Test(priority = 16, groups = { "PL2" }, description = "1. Send a GET request to get signatories by department.\n"
@@ -733,14 +666,15 @@ public class RestAssured_TestCases_PL2 {
 		// Assert that the status code is 200 OK
 		Assert.assertEquals(signDetailsFromDeptResponse.getStatusCode(), 200, "Status code should be 200 OK.");
 
-		// Extract and print the 'Results' list
-		List<Map<String, Object>> results = signDetailsFromDeptResponse.getListResults();
-		System.out.println("Results: " + results);
+		// Extract the 'EmployeeId', 'FirstName' and 'LastName' of each result
+		String[] employeeIds = signDetailsFromDeptResponse.collectResultTexts("EmployeeId");
+		String[] firstNames = signDetailsFromDeptResponse.collectResultTexts("FirstName");
+		String[] lastNames = signDetailsFromDeptResponse.collectResultTexts("LastName");
 
-		for (Map<String, Object> result : results) {
-			Integer employeeId = (Integer) result.get("EmployeeId");
-			String firstName = (String) result.get("FirstName");
-			String lastName = (String) result.get("LastName");
+		for (int i = 0; i < employeeIds.length; i++) {
+			String employeeId = employeeIds[i];
+			String firstName = firstNames[i];
+			String lastName = lastNames[i];
 
 			System.out.println("EmployeeId: " + employeeId);
 			System.out.println("FirstName: " + firstName);
@@ -756,10 +690,6 @@ public class RestAssured_TestCases_PL2 {
 		// Validate the 'Status' field
 		String status = signDetailsFromDeptResponse.getStatus();
 		Assert.assertEquals(status, "OK", "Status should be OK.");
-
-		// Print the full response for further verification if needed
-		System.out.println("The following are the details of Signatories, Response:");
-		signDetailsFromDeptResponse.getResponse().prettyPrint();
 	}
 
 }
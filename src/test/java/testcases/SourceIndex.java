@@ -0,0 +1,272 @@
+package testcases;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.lang.model.element.Modifier;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.JavacTask;
+import com.sun.source.util.SourcePositions;
+import com.sun.source.util.TreeScanner;
+import com.sun.source.util.Trees;
+
+/**
+ * Method index of a parsed Java source file, shared by all source checks.
+ *
+ * @description Each file is parsed once with the JDK compiler's tree API and
+ *              its methods are indexed by name with their source text and the
+ *              names of the methods they call. The index is cached per file and
+ *              only rebuilt when the file's modification time or size changes.
+ *              On a runtime without the system compiler a scanner that skips
+ *              comments, strings and character literals is used instead, so
+ *              braces are still matched correctly.
+ */
+final class SourceIndex {
+
+	private static final Map<String, SourceIndex> cache = new ConcurrentHashMap<>();
+	private static final Pattern SIGNATURE = Pattern
+			.compile("\\b(public|protected|private)\\s+(?:static\\s+|final\\s+)*([\\w.<>\\[\\], ]+?)\\s+(\\w+)\\s*\\(");
+	private static final Pattern CALL = Pattern.compile("\\b(\\w+)\\s*\\(");
+
+	private final long lastModified;
+	private final long length;
+	private final Map<String, List<MethodSource>> methods;
+
+	private SourceIndex(long lastModified, long length, Map<String, List<MethodSource>> methods) {
+		this.lastModified = lastModified;
+		this.length = length;
+		this.methods = methods;
+	}
+
+	/**
+	 * @param filePath - Path of a Java source file.
+	 * @return SourceIndex - The cached index of the file, rebuilt if it changed.
+	 */
+	static SourceIndex of(String filePath) throws IOException {
+		File file = new File(filePath).getAbsoluteFile();
+		String key = file.getPath();
+		SourceIndex index = cache.get(key);
+		if (index == null || index.lastModified != file.lastModified() || index.length != file.length()) {
+			synchronized (SourceIndex.class) {
+				index = cache.get(key);
+				if (index == null || index.lastModified != file.lastModified() || index.length != file.length()) {
+					index = parse(file);
+					cache.put(key, index);
+				}
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * @param name        - Method name.
+	 * @param returnTypes - Accepted simple or qualified return types.
+	 * @return MethodSource - The first public method in the file with that name
+	 *         and one of the return types, or null when there is none.
+	 */
+	MethodSource find(String name, String... returnTypes) {
+		for (MethodSource method : methods.getOrDefault(name, Collections.<MethodSource>emptyList())) {
+			if (!method.isPublic) {
+				continue;
+			}
+			for (String returnType : returnTypes) {
+				if (method.returnType.equals(returnType) || method.returnType.endsWith("." + returnType)) {
+					return method;
+				}
+			}
+		}
+		return null;
+	}
+
+	private static SourceIndex parse(File file) throws IOException {
+		long lastModified = file.lastModified();
+		long length = file.length();
+		// Line endings are normalized so bodies read the same as before
+		String source = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).replace("\r\n", "\n");
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		Map<String, List<MethodSource>> methods = compiler != null ? parseTree(compiler, file, source)
+				: scan(source);
+		return new SourceIndex(lastModified, length, methods);
+	}
+
+	private static Map<String, List<MethodSource>> parseTree(JavaCompiler compiler, File file, final String source)
+			throws IOException {
+		JavaFileObject fileObject = new SimpleJavaFileObject(URI.create("string:///" + file.getName()),
+				JavaFileObject.Kind.SOURCE) {
+			@Override
+			public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+				return source;
+			}
+		};
+		// Parse only; unresolved imports do not matter here
+		JavacTask task = (JavacTask) compiler.getTask(null, null, diagnostic -> {
+		}, null, null, Collections.singletonList(fileObject));
+		final SourcePositions positions = Trees.instance(task).getSourcePositions();
+		final Map<String, List<MethodSource>> methods = new LinkedHashMap<>();
+		for (final CompilationUnitTree unit : task.parse()) {
+			new TreeScanner<Void, Void>() {
+				@Override
+				public Void visitMethod(MethodTree method, Void unused) {
+					if (method.getBody() != null && method.getReturnType() != null) {
+						Set<String> calls = new HashSet<>();
+						new TreeScanner<Void, Void>() {
+							@Override
+							public Void visitMethodInvocation(MethodInvocationTree invocation, Void unused) {
+								Tree select = invocation.getMethodSelect();
+								if (select instanceof IdentifierTree) {
+									calls.add(((IdentifierTree) select).getName().toString());
+								} else if (select instanceof MemberSelectTree) {
+									calls.add(((MemberSelectTree) select).getIdentifier().toString());
+								}
+								return super.visitMethodInvocation(invocation, unused);
+							}
+						}.scan(method.getBody(), null);
+						int start = (int) positions.getStartPosition(unit, method);
+						int end = (int) positions.getEndPosition(unit, method);
+						add(methods, new MethodSource(method.getName().toString(),
+								method.getReturnType().toString(),
+								method.getModifiers().getFlags().contains(Modifier.PUBLIC), lines(source, start, end),
+								calls));
+					}
+					return super.visitMethod(method, unused);
+				}
+			}.scan(unit, null);
+		}
+		return methods;
+	}
+
+	private static Map<String, List<MethodSource>> scan(String source) {
+		String code = blankCommentsAndLiterals(source);
+		Map<String, List<MethodSource>> methods = new LinkedHashMap<>();
+		Matcher signature = SIGNATURE.matcher(code);
+		int from = 0;
+		while (from < code.length() && signature.find(from)) {
+			int open = code.indexOf('{', signature.end());
+			int semicolon = code.indexOf(';', signature.end());
+			if (open < 0 || (semicolon >= 0 && semicolon < open)) {
+				// Abstract or interface method
+				from = signature.end();
+				continue;
+			}
+			int close = matchingBrace(code, open);
+			Set<String> calls = new HashSet<>();
+			Matcher call = CALL.matcher(code.substring(open, close));
+			while (call.find()) {
+				calls.add(call.group(1));
+			}
+			add(methods, new MethodSource(signature.group(3), signature.group(2).trim(),
+					"public".equals(signature.group(1)), lines(source, signature.start(), close + 1), calls));
+			from = signature.end();
+		}
+		return methods;
+	}
+
+	private static int matchingBrace(String code, int open) {
+		int depth = 0;
+		for (int i = open; i < code.length(); i++) {
+			char c = code.charAt(i);
+			if (c == '{') {
+				depth++;
+			} else if (c == '}' && --depth == 0) {
+				return i;
+			}
+		}
+		return code.length() - 1;
+	}
+
+	// Replaces comments and string/char literals with spaces, keeping offsets
+	private static String blankCommentsAndLiterals(String source) {
+		char[] code = source.toCharArray();
+		int i = 0;
+		while (i < code.length) {
+			char c = code[i];
+			char next = i + 1 < code.length ? code[i + 1] : 0;
+			int end;
+			if (c == '/' && next == '/') {
+				end = source.indexOf('\n', i);
+				end = end < 0 ? code.length : end;
+			} else if (c == '/' && next == '*') {
+				end = source.indexOf("*/", i + 2);
+				end = end < 0 ? code.length : end + 2;
+			} else if (c == '"' || c == '\'') {
+				end = i + 1;
+				while (end < code.length && code[end] != c && code[end] != '\n') {
+					end += code[end] == '\\' ? 2 : 1;
+				}
+				end = Math.min(end + 1, code.length);
+			} else {
+				i++;
+				continue;
+			}
+			for (int j = i; j < end; j++) {
+				if (code[j] != '\n') {
+					code[j] = ' ';
+				}
+			}
+			i = end;
+		}
+		return new String(code);
+	}
+
+	// Whole lines from the one containing start to the one containing end
+	private static String lines(String source, int start, int end) {
+		int from = source.lastIndexOf('\n', Math.max(0, start - 1)) + 1;
+		int to = source.indexOf('\n', Math.max(0, end - 1));
+		return source.substring(from, to < 0 ? source.length() : to) + "\n";
+	}
+
+	private static void add(Map<String, List<MethodSource>> methods, MethodSource method) {
+		methods.computeIfAbsent(method.name, name -> new ArrayList<>()).add(method);
+	}
+
+	/**
+	 * A method declaration with its source text and the methods it calls.
+	 */
+	static final class MethodSource {
+		private final String name;
+		private final String returnType;
+		private final boolean isPublic;
+		private final String body;
+		private final Set<String> calls;
+
+		private MethodSource(String name, String returnType, boolean isPublic, String body, Set<String> calls) {
+			this.name = name;
+			this.returnType = returnType;
+			this.isPublic = isPublic;
+			this.body = body;
+			this.calls = Collections.unmodifiableSet(calls);
+		}
+
+		// Declaration lines, from the signature to the closing brace
+		String getBody() {
+			return body;
+		}
+
+		boolean calls(String methodName) {
+			return calls.contains(methodName);
+		}
+	}
+}